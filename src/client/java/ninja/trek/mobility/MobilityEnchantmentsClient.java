@@ -1,10 +1,30 @@
 package ninja.trek.mobility;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import ninja.trek.mobility.client.AirJumpDetector;
+import ninja.trek.mobility.client.RemoteGlideSmoother;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.network.GlideKeyframePayload;
 
 public class MobilityEnchantmentsClient implements ClientModInitializer {
 	@Override
 	public void onInitializeClient() {
-		// This entrypoint is suitable for setting up client-specific logic, such as rendering.
+		if (MobilityModules.airJump()) {
+			ClientTickEvents.END_CLIENT_TICK.register(AirJumpDetector::onEndClientTick);
+		}
+		if (MobilityModules.glide()) {
+			// Registering the receiver tells the server this client extrapolates remote glides
+			ClientPlayNetworking.registerGlobalReceiver(GlideKeyframePayload.ID, RemoteGlideSmoother::onKeyframe);
+			ClientTickEvents.END_WORLD_TICK.register(RemoteGlideSmoother::onEndWorldTick);
+		}
+		if (MobilityModules.SWOOPING) {
+			// Chunk data packets replace whole chunks without block updates
+			ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> LiftField.of(world).invalidate(chunk.getPos()));
+			ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> LiftField.of(world).invalidate(chunk.getPos()));
+		}
 	}
-}
\ No newline at end of file
+}
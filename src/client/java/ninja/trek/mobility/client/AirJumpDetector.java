@@ -0,0 +1,47 @@
+package ninja.trek.mobility.client;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.EquipmentSlot;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.network.AbilityActivationPayload;
+
+/**
+ * Detects jump presses in mid-air on the client and asks the server to fire the
+ * chestplate's air-jump ability.
+ *
+ * <p>The client sees every tick of its own input, so a plain rising-edge check is exact
+ * here; the server only validates and applies the request.</p>
+ */
+public final class AirJumpDetector {
+    private static boolean lastJumpInput = false;
+    private static int clientTick = 0;
+
+    private AirJumpDetector() {
+    }
+
+    public static void onEndClientTick(MinecraftClient client) {
+        clientTick++;
+
+        ClientPlayerEntity player = client.player;
+        if (player == null) {
+            lastJumpInput = false;
+            return;
+        }
+
+        boolean jump = player.input.playerInput.jump();
+        boolean risingEdge = jump && !lastJumpInput;
+        lastJumpInput = jump;
+
+        if (!risingEdge || player.isOnGround() || player.hasVehicle() || player.getAbilities().flying) {
+            return;
+        }
+
+        MobilityAbility ability = MobilityAbilities.forStack(player.getEquippedStack(EquipmentSlot.CHEST));
+        if (ability.hasAirJump() && ClientPlayNetworking.canSend(AbilityActivationPayload.ID)) {
+            ClientPlayNetworking.send(new AbilityActivationPayload(ability.id(), clientTick));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ninja.trek.mobility.client;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.ability.GlideAbility;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.mixin.LivingEntityAccessor;
+import ninja.trek.mobility.network.GlideKeyframePayload;
+
+/**
+ * Extrapolate-and-blend model for other players gliding with Elytra or Swooping.
+ *
+ * <p>Remote players are normally moved by the server's position updates and hold the last
+ * velocity it sent, which stutters once velocity updates are sparse. Every
+ * {@link GlideKeyframePayload} here restarts a model from the exact velocity of the server's
+ * glide step; on the ticks in between the model runs the same glide physics the server
+ * runs, from the remote player's synced pitch and yaw. A new keyframe rarely matches the
+ * extrapolation exactly (rotations arrive quantised), so the difference is blended out over
+ * {@link MobilityConfig#REMOTE_GLIDE_BLEND_TICKS} ticks instead of snapping. When the
+ * server's position updates run dry between ticks, the player is carried on along the
+ * modelled velocity, and vanilla's interpolation blends back onto the next update.</p>
+ *
+ * <p>Gliders only get a model once the server sends them keyframes, so on a server without
+ * the mod remote players are left to vanilla. A keyframe for the local player is its own
+ * exact velocity, sent in place of vanilla's quantised update; it is applied as is, and the
+ * client's glide prediction continues from it. Everything here runs on the client thread.</p>
+ */
+public final class RemoteGlideSmoother {
+    private static final Int2ObjectOpenHashMap<RemoteGlide> GLIDERS = new Int2ObjectOpenHashMap<>();
+    private static ClientWorld lastWorld;
+
+    private static final class RemoteGlide {
+        // Velocity the server would have now, extrapolated from the last keyframe
+        Vec3d physics;
+        // Shown minus extrapolated velocity when the last keyframe arrived, blended to zero
+        Vec3d error = Vec3d.ZERO;
+        int blendTicks;
+        boolean fresh;
+        Vec3d shown;
+        double lastX;
+        double lastY;
+        double lastZ;
+    }
+
+    private RemoteGlideSmoother() {
+    }
+
+    public static void onKeyframe(GlideKeyframePayload payload, ClientPlayNetworking.Context context) {
+        Entity self = context.player();
+        if (self != null && payload.entityId() == self.getId()) {
+            self.setVelocity(payload.velocity());
+            return;
+        }
+
+        RemoteGlide glide = GLIDERS.get(payload.entityId());
+        if (glide == null) {
+            glide = new RemoteGlide();
+            GLIDERS.put(payload.entityId(), glide);
+        }
+
+        Vec3d velocity = payload.velocity();
+        glide.error = glide.shown == null ? Vec3d.ZERO : glide.shown.subtract(velocity);
+        glide.blendTicks = MobilityConfig.REMOTE_GLIDE_BLEND_TICKS;
+        glide.physics = velocity;
+        // Already the velocity of the server's latest tick, so not stepped again this tick
+        glide.fresh = true;
+    }
+
+    public static void onEndWorldTick(ClientWorld world) {
+        if (world != lastWorld) {
+            GLIDERS.clear();
+            lastWorld = world;
+        }
+
+        Entity self = MinecraftClient.getInstance().player;
+        ObjectIterator<Int2ObjectMap.Entry<RemoteGlide>> iterator = GLIDERS.int2ObjectEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Int2ObjectMap.Entry<RemoteGlide> entry = iterator.next();
+            Entity entity = world.getEntityById(entry.getIntKey());
+            if (!(entity instanceof AbstractClientPlayerEntity player) || player == self || !player.isGliding()
+                || !(MobilityAbilities.forStack(player.getEquippedStack(EquipmentSlot.CHEST)) instanceof GlideAbility glide)) {
+                iterator.remove();
+                continue;
+            }
+            step(player, glide, entry.getValue());
+        }
+    }
+
+    private static void step(AbstractClientPlayerEntity player, GlideAbility glide, RemoteGlide model) {
+        if (model.fresh) {
+            model.fresh = false;
+        } else {
+            double gravity = ((LivingEntityAccessor) player).invokeGetEffectiveGravity();
+            model.physics = glide.predict(player, model.physics, gravity);
+        }
+
+        Vec3d shown = model.physics;
+        if (model.blendTicks > 0) {
+            model.blendTicks--;
+            shown = shown.add(model.error.multiply((double) model.blendTicks / MobilityConfig.REMOTE_GLIDE_BLEND_TICKS));
+        }
+        model.shown = shown;
+        player.setVelocity(shown);
+
+        // Nothing moved the player this tick: the last position update has been reached
+        if (player.getX() == model.lastX && player.getY() == model.lastY && player.getZ() == model.lastZ) {
+            player.setPosition(player.getX() + shown.x, player.getY() + shown.y, player.getZ() + shown.z);
+        }
+        model.lastX = player.getX();
+        model.lastY = player.getY();
+        model.lastZ = player.getZ();
+    }
+}
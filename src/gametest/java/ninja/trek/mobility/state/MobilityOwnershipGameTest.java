@@ -0,0 +1,162 @@
+package ninja.trek.mobility.state;
+
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.test.TestContext;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.GameMode;
+import ninja.trek.mobility.ability.AbilityDispatcher;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.api.MobilityEvents;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.server.MobilityWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ownership of mobility state through the real entry points, on a running server.
+ *
+ * <p>Run with {@code ./gradlew runGameTest}; the task is part of {@code check}. Where
+ * {@code MobilityStateStress} checks the {@link MobilityWorldContext} model with simulated
+ * worlds, this drives the game's own paths: mock players with Swooping and Double Jump
+ * chestplates are ticked through {@code ServerPlayerEntity.playerTick}, the way their
+ * connection ticks them after the worlds, and their glide starts and air jumps are handed
+ * over with {@link MobilityWorld#execute} and run by {@link AbilityDispatcher}, as the packet
+ * receivers do. Listeners on {@code PRE_ACTIVATION} and {@code GLIDE_TICK} check that the
+ * dispatcher and the glide physics run on the thread holding the player's world.</p>
+ *
+ * <p>The test fails unless every observed activation and glide tick held the world, the
+ * player tick handed the world back, nothing was left queued, and a hand-off from a thread
+ * other than the server thread was rejected.</p>
+ */
+public final class MobilityOwnershipGameTest {
+    private static final int PLAYERS = 16;
+    private static final int TICKS = 60;
+    private static final double START_HEIGHT = 80.0D;
+
+    // Only written on the server thread
+    private static int observed;
+    private static int glideTicks;
+    private static int activations;
+    private static int unowned;
+
+    static {
+        MobilityEvents.PRE_ACTIVATION.register(event -> {
+            activations++;
+            observe(event.player());
+        });
+        MobilityEvents.GLIDE_TICK.register(event -> {
+            if (event.entity() instanceof ServerPlayerEntity player) {
+                glideTicks++;
+                observe(player);
+            }
+        });
+    }
+
+    @GameTest(maxTicks = TICKS + 20)
+    public void playerTicksOwnTheirWorld(TestContext context) {
+        ServerWorld world = context.getWorld();
+        MobilityWorldContext mobility = MobilityWorld.context(world);
+        observed = 0;
+        glideTicks = 0;
+        activations = 0;
+        unowned = 0;
+
+        List<ServerPlayerEntity> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            ServerPlayerEntity player = (ServerPlayerEntity) context.createMockPlayer(GameMode.SURVIVAL);
+            player.equipStack(EquipmentSlot.CHEST,
+                chestplate(world, i % 2 == 0 ? ModEnchantments.SWOOPING : ModEnchantments.DOUBLE_JUMP));
+            Vec3d start = context.getAbsolute(new Vec3d(0.5D + i % 4, START_HEIGHT, 0.5D + i / 4));
+            player.refreshPositionAndAngles(start.x, start.y, start.z, 0.0F, 0.0F);
+            players.add(player);
+        }
+
+        for (int tick = 1; tick <= TICKS; tick++) {
+            int clientTick = tick;
+            context.runAtTick(tick, () -> tickPlayers(context, mobility, players, clientTick));
+        }
+        context.runAtTick(TICKS + 1, () -> {
+            context.assertTrue(glideTicks > 0, Text.literal("No glide tick ran"));
+            context.assertTrue(activations > 0, Text.literal("No activation reached the dispatcher"));
+            context.assertTrue(unowned == 0,
+                Text.literal(unowned + " of " + observed + " activations and glide ticks ran without holding the world"));
+            context.assertTrue(mobility.pending() == 0, Text.literal(mobility.pending() + " tasks left queued"));
+            context.complete();
+        });
+    }
+
+    /**
+     * What the server does for these players in one tick: the receivers hand their packets
+     * over, then the connection ticks the player.
+     */
+    private static void tickPlayers(TestContext context, MobilityWorldContext mobility, List<ServerPlayerEntity> players,
+                                    int clientTick) {
+        context.assertTrue(!mobility.isHeldByCurrentThread(), Text.literal("Test ran inside the world's tick"));
+        for (ServerPlayerEntity player : players) {
+            if (player.isRemoved()) {
+                continue;
+            }
+            if (MobilityAbilities.forStack(player.getEquippedStack(EquipmentSlot.CHEST)) == MobilityAbilities.SWOOPING) {
+                if (!player.isGliding()) {
+                    MobilityWorld.execute(player, () -> AbilityDispatcher.glideStart(player));
+                }
+            } else {
+                MobilityWorld.execute(player,
+                    () -> AbilityDispatcher.airJump(player, MobilityAbilities.DOUBLE_JUMP.id(), clientTick));
+            }
+            player.playerTick();
+            context.assertTrue(!mobility.isHeldByCurrentThread(), Text.literal("Player tick kept holding the world"));
+        }
+
+        if (clientTick == 1) {
+            checkForeignHandOff(context, players.get(0));
+        }
+    }
+
+    /**
+     * A network thread must go through the server thread, even to an idle world.
+     */
+    private static void checkForeignHandOff(TestContext context, ServerPlayerEntity player) {
+        AtomicReference<Throwable> result = new AtomicReference<>();
+        Thread network = new Thread(() -> {
+            try {
+                MobilityWorld.execute(player, () -> AbilityDispatcher.glideStart(player));
+            } catch (Throwable t) {
+                result.set(t);
+            }
+        }, "Mobility Game Test Network");
+        network.start();
+        try {
+            network.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        context.assertTrue(result.get() instanceof IllegalStateException,
+            Text.literal("Hand-off from a network thread was not rejected: " + result.get()));
+    }
+
+    private static ItemStack chestplate(ServerWorld world, RegistryKey<Enchantment> enchantment) {
+        ItemStack stack = new ItemStack(Items.IRON_CHESTPLATE);
+        stack.addEnchantment(world.getRegistryManager().getOrThrow(RegistryKeys.ENCHANTMENT).getOrThrow(enchantment), 1);
+        return stack;
+    }
+
+    private static void observe(LivingEntity entity) {
+        observed++;
+        if (!MobilityWorld.context(entity.getEntityWorld()).isHeldByCurrentThread()) {
+            unowned++;
+        }
+    }
+}
@@ -1,6 +1,30 @@
 package ninja.trek.mobility;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import ninja.trek.mobility.audit.ActivationLog;
+import ninja.trek.mobility.command.MobilityCommands;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.config.MobilityProfiles;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.metrics.MetricsExporter;
+import ninja.trek.mobility.network.MobilityNetworking;
+import ninja.trek.mobility.recorder.FlightRecorder;
+import ninja.trek.mobility.server.GlideChunkPrefetcher;
+import ninja.trek.mobility.server.GlideSpeedGovernor;
+import ninja.trek.mobility.server.GlideSystem;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityWorldContext;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.zone.ZoneIndex;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,5 +47,68 @@ public class MobilityEnchantments implements ModInitializer {
 
 		// Initialize enchantments (data-driven in 1.21+)
 		ninja.trek.mobility.enchantment.ModEnchantments.initialize();
+
+		MobilityNetworking.initialize();
+
+		// Only the server thread and world tick threads may hand work to a world (SERVER_STARTING runs on the server thread)
+		ServerLifecycleEvents.SERVER_STARTING.register(server -> MobilityWorldContext.bindServerThread(Thread.currentThread()));
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> MobilityWorldContext.bindServerThread(null));
+		// Each world's tick thread owns its entities' mobility state for the duration of the tick.
+		// Registered first so every other world-tick listener runs inside the window.
+		ServerTickEvents.START_WORLD_TICK.register(world -> MobilityWorld.context(world).enter(world.getServer().getTicks()));
+		ServerTickEvents.END_WORLD_TICK.register(world -> MobilityWorld.context(world).exit());
+		// Running cooldowns and hunger flushes follow the player into the new world's timing wheel
+		ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+			MobilityWorld.moveTimers(player, destination));
+
+		// Balance profiles depend on the world, so they are resolved whenever that can change
+		ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> MobilityProfiles.apply(handler.player));
+		ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> MobilityProfiles.apply(player));
+		ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> MobilityProfiles.apply(newPlayer));
+
+		// Ability zones are saved per dimension
+		ServerWorldEvents.LOAD.register(ZoneIndex::onWorldLoad);
+
+		ServerTickEvents.END_SERVER_TICK.register(MetricsExporter::onEndServerTick);
+		ServerLifecycleEvents.SERVER_STARTED.register(MetricsExporter::onServerStarted);
+		ServerLifecycleEvents.SERVER_STOPPED.register(MetricsExporter::onServerStopped);
+
+		// Glide services are only needed when a glide ability is enabled
+		if (MobilityModules.glide()) {
+			GlideChunkPrefetcher.initialize();
+			ServerTickEvents.END_SERVER_TICK.register(GlideSpeedGovernor::onEndServerTick);
+			ServerTickEvents.END_SERVER_TICK.register(GlideChunkPrefetcher::onEndServerTick);
+			ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> GlideChunkPrefetcher.release(handler.player));
+			ServerLifecycleEvents.SERVER_STOPPED.register(server -> GlideChunkPrefetcher.clear());
+
+			// Mobs and armour stands wearing glide chestplates
+			ServerTickEvents.START_WORLD_TICK.register(GlideSystem::onStartWorldTick);
+			ServerEntityEvents.ENTITY_LOAD.register(GlideSystem::onEntityLoad);
+			ServerEntityEvents.ENTITY_UNLOAD.register(GlideSystem::onEntityUnload);
+			ServerEntityEvents.EQUIPMENT_CHANGE.register(GlideSystem::onEquipmentChange);
+		}
+
+		if (MobilityModules.SWOOPING) {
+			ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> LiftField.of(world).invalidate(chunk.getPos()));
+		}
+
+		if (MobilityModules.AUDIT_LOG) {
+			ServerLifecycleEvents.SERVER_STARTED.register(ActivationLog::start);
+			ServerLifecycleEvents.SERVER_STOPPED.register(server -> ActivationLog.stop());
+		}
+
+		if (MobilityModules.FLIGHT_STATS) {
+			ServerLifecycleEvents.SERVER_STARTED.register(FlightStats::open);
+			ServerLifecycleEvents.SERVER_STOPPED.register(server -> FlightStats.close());
+			ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> FlightStats.onJoin(handler.player));
+			ServerTickEvents.END_SERVER_TICK.register(FlightStats::onEndServerTick);
+		}
+
+		if (MobilityModules.FLIGHT_RECORDER) {
+			ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> FlightRecorder.onDisconnect(handler.player));
+			ServerLifecycleEvents.SERVER_STOPPED.register(server -> FlightRecorder.shutdown());
+		}
+
+		CommandRegistrationCallback.EVENT.register(MobilityCommands::register);
 	}
 }
\ No newline at end of file
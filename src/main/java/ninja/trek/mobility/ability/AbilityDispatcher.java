@@ -0,0 +1,178 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import ninja.trek.mobility.api.ActivationInput;
+import ninja.trek.mobility.api.MobilityEventHooks;
+import ninja.trek.mobility.audit.ActivationLog;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.server.MovementEnvelope;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.GlideHeatmap;
+import ninja.trek.mobility.wall.WallContact;
+import ninja.trek.mobility.zone.ZoneIndex;
+
+/**
+ * Routes player input and ticks to the ability granted by the player's chestplate.
+ *
+ * <p>The ability is looked up through {@link MobilityAbilities#forEntity}, so each entry
+ * point is one cached array lookup followed by one virtual call. Zones that forbid the
+ * ability are checked through {@link ZoneIndex} before it is reached.</p>
+ */
+public final class AbilityDispatcher {
+
+    private AbilityDispatcher() {
+    }
+
+    /**
+     * Send a debug message to the player's chat. Callers check
+     * {@link MobilityConfig#ACTIVATION_DEBUG_MESSAGES} first, so the message is not even built
+     * while it is off.
+     */
+    public static void debug(ServerPlayerEntity player, String message) {
+        if (MobilityMetrics.ENABLED) {
+            MobilityMetrics.DEBUG_MESSAGES.increment();
+        }
+        player.sendMessage(Text.literal("[Mobility Debug] " + message), false);
+    }
+
+    /**
+     * Air jump requested by the client through {@code AbilityActivationPayload}.
+     *
+     * <p>The request is rejected if it is older than the last accepted one, if the server
+     * sees the player on the ground, or if the requested ability is not the one the
+     * chestplate grants (e.g. it was swapped while the packet was in flight). Packets on a
+     * connection are processed in order, and this runs as soon as the player's world is
+     * idle, so the server's ground state here already reflects the movement the client sent
+     * before pressing jump.</p>
+     *
+     * <p>Like every entry point here, must be called by the owner of the player's world;
+     * see {@link ninja.trek.mobility.state.MobilityWorldContext}.</p>
+     */
+    public static ActivationOutcome airJump(ServerPlayerEntity player, int abilityId, int clientTick) {
+        MobilityState state = MobilityState.of(player);
+
+        if (MobilityConfig.ACTIVATION_DEBUG_MESSAGES) {
+            debug(player, "Air jump requested (client tick " + clientTick + ") - checking enchantments...");
+        }
+
+        MobilityAbility ability = MobilityAbilities.forEntity(player, state);
+
+        // Subtraction keeps the comparison correct if the client's counter wraps
+        if (state.mobility$hasActivationTick() && clientTick - state.mobility$getLastActivationTick() <= 0) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.STALE_REQUEST);
+        }
+        state.mobility$setLastActivationTick(clientTick);
+
+        if (player.isOnGround()) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.ON_GROUND);
+        }
+
+        int cooldown = state.mobility$getCooldown(ability.id());
+        if (cooldown > 0) {
+            if (MobilityConfig.ACTIVATION_DEBUG_MESSAGES) {
+                debug(player, "FAILED: Cooldown active (" + cooldown + " ticks remaining)");
+            }
+            MobilityMetrics.recordOutcome(ability, ActivationOutcome.COOLDOWN);
+            ActivationLog.record(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.COOLDOWN);
+            return ActivationOutcome.COOLDOWN;
+        }
+
+        if (ability == MobilityAbilities.NONE) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.NO_ABILITY);
+        }
+        if (ability.id() != abilityId) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.ABILITY_MISMATCH);
+        }
+        if (ZoneIndex.forbids(player, state, ability)) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.FORBIDDEN_ZONE);
+        }
+
+        if (!MobilityEventHooks.preActivation(player, ability, ActivationInput.AIR_JUMP)) {
+            return report(player, ability, ActivationInput.AIR_JUMP, ActivationOutcome.CANCELLED);
+        }
+
+        if (MobilityConfig.ACTIVATION_DEBUG_MESSAGES) {
+            debug(player, "Attempting to activate: " + ability.name());
+        }
+        ActivationOutcome outcome = ability.onAirJump(player, state);
+        MobilityEventHooks.postActivation(player, ability, ActivationInput.AIR_JUMP, outcome);
+        return report(player, ability, ActivationInput.AIR_JUMP, outcome);
+    }
+
+    /**
+     * Vanilla's start-fall-flying request.
+     *
+     * @return the outcome
+     */
+    public static ActivationOutcome glideStart(ServerPlayerEntity player) {
+        MobilityState state = MobilityState.of(player);
+        MobilityAbility ability = MobilityAbilities.forEntity(player, state);
+        if (ability.canGlide() && ZoneIndex.forbids(player, state, ability)) {
+            return report(player, ability, ActivationInput.GLIDE_START, ActivationOutcome.FORBIDDEN_ZONE);
+        }
+        if (ability.canGlide() && !MobilityEventHooks.preActivation(player, ability, ActivationInput.GLIDE_START)) {
+            return report(player, ability, ActivationInput.GLIDE_START, ActivationOutcome.CANCELLED);
+        }
+
+        ActivationOutcome outcome = ability.onGlideStart(player, state);
+        if (outcome != ActivationOutcome.NOT_APPLICABLE) {
+            MobilityEventHooks.postActivation(player, ability, ActivationInput.GLIDE_START, outcome);
+        }
+        return report(player, ability, ActivationInput.GLIDE_START, outcome);
+    }
+
+    /**
+     * Run the per-tick hook of the player's ability and drop state left behind by any
+     * ability the player no longer has (e.g. a chestplate swapped mid-glide). A glide or wall
+     * jump that carries the player into a zone forbidding it ends here.
+     *
+     * @return the {@code FlightRecord.PHYSICS_*} constant of the glide physics that ran
+     */
+    public static byte tick(ServerPlayerEntity player, MobilityState state, MobilityAbility ability) {
+        if (ability != MobilityAbilities.ELYTRA) {
+            MobilityAbilities.ELYTRA.release(player, state);
+        }
+        if (ability != MobilityAbilities.SWOOPING) {
+            MobilityAbilities.SWOOPING.release(player, state);
+        }
+        if (ability != MobilityAbilities.WALL_JUMP) {
+            if (state.mobility$isWallJumping()) {
+                state.mobility$setWallJumping(false);
+            }
+            WallContact.release(player, state);
+        }
+
+        if ((player.isGliding() && ability.canGlide() || state.mobility$isWallJumping())
+            && ZoneIndex.forbids(player, state, ability)) {
+            // The glide ability's tick sees the glide has ended and releases it
+            player.stopGliding();
+            state.mobility$setWallJumping(false);
+        }
+
+        return ability.tick(player, state);
+    }
+
+    private static ActivationOutcome report(ServerPlayerEntity player, MobilityAbility ability, ActivationInput input, ActivationOutcome outcome) {
+        if (outcome != ActivationOutcome.NOT_APPLICABLE) {
+            MobilityMetrics.recordOutcome(ability, outcome);
+            ActivationLog.record(player, ability, input, outcome);
+        }
+
+        if (outcome == ActivationOutcome.SUCCESS) {
+            MovementEnvelope.open(player, ability);
+            if (input == ActivationInput.AIR_JUMP) {
+                GlideHeatmap.countAirJump(player, ability);
+            }
+        }
+        if (MobilityConfig.ACTIVATION_DEBUG_MESSAGES) {
+            if (outcome == ActivationOutcome.SUCCESS) {
+                debug(player, "SUCCESS: " + ability.name() + " activated");
+            } else if (outcome != ActivationOutcome.NOT_APPLICABLE) {
+                debug(player, "FAILED: " + outcome.message());
+            }
+        }
+        return outcome;
+    }
+}
@@ -0,0 +1,37 @@
+package ninja.trek.mobility.ability;
+
+/**
+ * Result of trying to activate an ability.
+ */
+public enum ActivationOutcome {
+    SUCCESS("Activated"),
+    NOT_APPLICABLE("Ability does not react to this input"),
+    NO_ABILITY("No mobility enchantment on chestplate"),
+    ABILITY_MISMATCH("Requested ability does not match chestplate"),
+    STALE_REQUEST("Activation request older than the last one"),
+    COOLDOWN("Cooldown active"),
+    NOT_ENOUGH_HUNGER("Not enough hunger"),
+    NO_WALL("No wall nearby"),
+    ALREADY_GLIDING("Already gliding"),
+    ON_GROUND("Must be airborne"),
+    RIDING("Cannot glide while riding"),
+    IN_WATER("Cannot glide while touching water"),
+    LEVITATING("Levitation prevents gliding"),
+    CHESTPLATE_BREAKING("Chestplate would break on glide start"),
+    CANCELLED("Cancelled by another mod"),
+    FORBIDDEN_ZONE("Not allowed in this zone");
+
+    private final String message;
+
+    ActivationOutcome(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public boolean succeeded() {
+        return this == SUCCESS;
+    }
+}
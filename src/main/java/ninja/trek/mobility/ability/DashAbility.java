@@ -0,0 +1,67 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.config.MobilityProfiles;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.util.EnchantmentUtil;
+
+/**
+ * Dash enchantment: air jump launches the player along their look direction.
+ */
+public final class DashAbility implements MobilityAbility {
+    private final int id;
+
+    DashAbility(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public RegistryKey<Enchantment> enchantment() {
+        return ModEnchantments.DASH;
+    }
+
+    @Override
+    public boolean hasAirJump() {
+        return true;
+    }
+
+    @Override
+    public int cooldownTicks() {
+        return MobilityConfig.DASH_COOLDOWN_TICKS;
+    }
+
+    @Override
+    public double maxDisplacement() {
+        return MobilityProfiles.max(profile -> profile.dashVelocity);
+    }
+
+    @Override
+    public ActivationOutcome onAirJump(ServerPlayerEntity player, MobilityState state) {
+        MobilityProfile profile = state.mobility$getProfile();
+        if (!EnchantmentUtil.consumeHunger(player, profile.dashHungerCost)) {
+            return ActivationOutcome.NOT_ENOUGH_HUNGER;
+        }
+
+        Vec3d lookDirection = player.getRotationVector();
+        player.setVelocity(lookDirection.multiply(profile.dashVelocity));
+        player.velocityModified = true; // Mark velocity as modified so it syncs to client
+        MobilityMetrics.countVelocitySync();
+
+        startCooldown(player, state);
+        FlightStats.countDash(state);
+        return ActivationOutcome.SUCCESS;
+    }
+}
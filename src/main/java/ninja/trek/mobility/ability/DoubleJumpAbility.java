@@ -0,0 +1,68 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.config.MobilityProfiles;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.util.EnchantmentUtil;
+
+/**
+ * Double Jump enchantment: air jump resets vertical velocity to a fixed upward boost.
+ * Unlimited uses, paid for from the food bar.
+ */
+public final class DoubleJumpAbility implements MobilityAbility {
+    private final int id;
+
+    DoubleJumpAbility(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public RegistryKey<Enchantment> enchantment() {
+        return ModEnchantments.DOUBLE_JUMP;
+    }
+
+    @Override
+    public boolean hasAirJump() {
+        return true;
+    }
+
+    @Override
+    public int cooldownTicks() {
+        return MobilityConfig.DOUBLE_JUMP_COOLDOWN_TICKS;
+    }
+
+    @Override
+    public double maxDisplacement() {
+        return MobilityProfiles.max(profile -> profile.doubleJumpVelocity);
+    }
+
+    @Override
+    public ActivationOutcome onAirJump(ServerPlayerEntity player, MobilityState state) {
+        MobilityProfile profile = state.mobility$getProfile();
+        if (!EnchantmentUtil.consumeHunger(player, profile.doubleJumpHungerCost)) {
+            return ActivationOutcome.NOT_ENOUGH_HUNGER;
+        }
+
+        Vec3d velocity = player.getVelocity();
+        player.setVelocity(velocity.x, profile.doubleJumpVelocity, velocity.z);
+        player.velocityModified = true; // Mark velocity as modified so it syncs to client
+        MobilityMetrics.countVelocitySync();
+
+        startCooldown(player, state);
+        FlightStats.countDoubleJump(state);
+        return ActivationOutcome.SUCCESS;
+    }
+}
@@ -0,0 +1,67 @@
+package ninja.trek.mobility.ability;
+
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.ScalarGlideKernel;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.server.GlideSpeedGovernor;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * Elytra enchantment: vanilla-style elytra flight from a chestplate.
+ */
+public final class ElytraAbility extends GlideAbility {
+
+    ElytraAbility(int id) {
+        super(id, ModEnchantments.ELYTRA);
+    }
+
+    @Override
+    public int cooldownTicks() {
+        return MobilityConfig.ELYTRA_COOLDOWN_TICKS;
+    }
+
+    @Override
+    public double speedLimit(MobilityState state) {
+        return GlideSpeedGovernor.elytraSpeedLimit(state);
+    }
+
+    @Override
+    protected byte physicsType() {
+        return FlightRecord.PHYSICS_ELYTRA;
+    }
+
+    /**
+     * Uncapped: the governor only caps Elytra flight while throttling.
+     */
+    @Override
+    public double baseSpeedLimit() {
+        return 0.0D;
+    }
+
+    @Override
+    public int glideStep(GlideBatch batch, MobilityProfile profile, double vx, double vy, double vz, float pitch,
+                         float yaw, double gravity, double speedLimit) {
+        int index = batch.addElytra(vx, vy, vz, gravity, pitch, yaw);
+        batch.speedLimit[index] = speedLimit;
+        ScalarGlideKernel.stepElytra(batch, index, profile.elytraLiftMultiplier);
+        return index;
+    }
+
+    @Override
+    protected boolean clientPredicts(MobilityProfile profile) {
+        return profile.elytraLiftMultiplier == MobilityProfile.DEFAULT.elytraLiftMultiplier;
+    }
+
+    @Override
+    protected boolean isGliding(MobilityState state) {
+        return state.mobility$isElytraGliding();
+    }
+
+    @Override
+    protected void setGliding(MobilityState state, boolean gliding) {
+        state.mobility$setElytraGliding(gliding);
+    }
+}
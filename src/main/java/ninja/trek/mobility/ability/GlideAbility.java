@@ -0,0 +1,315 @@
+package ninja.trek.mobility.ability;
+
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.api.MobilityEventHooks;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.mixin.EntityAccessor;
+import ninja.trek.mobility.mixin.LivingEntityAccessor;
+import ninja.trek.mobility.network.GlideKeyframePayload;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.GlideMath;
+import ninja.trek.mobility.physics.ScalarGlideKernel;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.stats.GlideHeatmap;
+
+/**
+ * Shared behaviour of the enchantments that turn a chestplate into a glider: the
+ * start-fall-flying checks, hunger drain and the hand-off to a physics model.
+ */
+public abstract class GlideAbility implements MobilityAbility {
+    // Entity.GLIDING_FLAG_INDEX; mobs have no startGliding/stopGliding of their own
+    private static final int GLIDING_FLAG = 7;
+    // One-glider batch each single step is worked out in; per thread, as client and worlds step on their own
+    private static final ThreadLocal<GlideBatch> STEP = ThreadLocal.withInitial(() -> new GlideBatch(1));
+
+    private final int id;
+    private final RegistryKey<Enchantment> enchantment;
+
+    protected GlideAbility(int id, RegistryKey<Enchantment> enchantment) {
+        this.id = id;
+        this.enchantment = enchantment;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public RegistryKey<Enchantment> enchantment() {
+        return enchantment;
+    }
+
+    @Override
+    public boolean canGlide() {
+        return true;
+    }
+
+    /**
+     * The ungoverned speed cap; an uncapped glide gets no allowance beyond vanilla's own for gliding.
+     */
+    @Override
+    public double maxDisplacement() {
+        return Math.max(0.0D, baseSpeedLimit());
+    }
+
+    @Override
+    public ActivationOutcome onGlideStart(ServerPlayerEntity player, MobilityState state) {
+        if (player.isGliding()) {
+            return ActivationOutcome.ALREADY_GLIDING;
+        }
+        if (player.isOnGround()) {
+            return ActivationOutcome.ON_GROUND;
+        }
+        if (player.hasVehicle()) {
+            return ActivationOutcome.RIDING;
+        }
+        if (player.isTouchingWater()) {
+            return ActivationOutcome.IN_WATER;
+        }
+        if (player.hasStatusEffect(StatusEffects.LEVITATION)) {
+            return ActivationOutcome.LEVITATING;
+        }
+        ItemStack chestplate = player.getEquippedStack(EquipmentSlot.CHEST);
+        if (isNearlyBroken(chestplate)) {
+            return ActivationOutcome.CHESTPLATE_BREAKING;
+        }
+
+        if (!MobilityEventHooks.glideStart(player, this)) {
+            return ActivationOutcome.CANCELLED;
+        }
+
+        player.startGliding();
+        onStarted(player);
+        setGliding(state, true);
+        startCooldown(player, state);
+        state.mobility$setWallJumping(false);
+        return ActivationOutcome.SUCCESS;
+    }
+
+    @Override
+    public byte tick(ServerPlayerEntity player, MobilityState state) {
+        if (player.isGliding() && shouldForceStopGlide(player)) {
+            player.stopGliding();
+        }
+
+        if (!player.isGliding()) {
+            release(player, state);
+            return FlightRecord.PHYSICS_NONE;
+        }
+
+        setGliding(state, true);
+        state.mobility$setWallJumping(false);
+        GlideHunger.of(player, state).start(this);
+
+        Vec3d preTickVelocity = state.mobility$getPreTickVelocity();
+        double lift = environmentalLift(player);
+        state.mobility$setGlideLift(lift);
+        double gravity = ((LivingEntityAccessor) player).invokeGetEffectiveGravity() - lift;
+        double speedLimit = speedLimit(state);
+        GlideBatch batch = STEP.get();
+        batch.clear();
+        int index = glideStep(batch, state.mobility$getProfile(), preTickVelocity.x, preTickVelocity.y, preTickVelocity.z,
+            player.getPitch(), player.getYaw(), gravity, speedLimit);
+        boolean substituted = MobilityEventHooks.glideTick(player, this, batch, index);
+        // The one vector of the step: the entity's own velocity
+        player.setVelocity(batch.velX[index], batch.velY[index], batch.velZ[index]);
+        Vec3d velocity = player.getVelocity();
+
+        // A listener's substitute is something the client cannot predict
+        if (substituted || needsSync(player, state, preTickVelocity, speedLimit)) {
+            player.velocityModified = true;
+            MobilityMetrics.countVelocitySync();
+        } else {
+            MobilityMetrics.countGlideSyncSkipped();
+        }
+        state.mobility$setLastGlideVelocity(velocity);
+        double speed = velocity.length();
+        FlightStats.addGlideDistance(state, speed);
+        GlideHeatmap.countGlideTick(player, speed);
+        return physicsType();
+    }
+
+    /**
+     * Per-tick glide control for a non-player wearer, run by {@code GlideSystem}.
+     *
+     * <p>Mobs cannot ask to glide, so the glide deploys by itself once the wearer falls faster
+     * than {@link MobilityConfig#MOB_GLIDE_DEPLOY_FALL_SPEED}, and ends on the same conditions
+     * that end a player's glide. There is no hunger drain and no cooldown.</p>
+     *
+     * @return true if the entity glides this tick
+     */
+    public boolean updateNonPlayer(LivingEntity entity, MobilityState state) {
+        if (entity.isGliding()) {
+            if (shouldForceStopGlide(entity)) {
+                ((EntityAccessor) entity).invokeSetFlag(GLIDING_FLAG, false);
+            }
+        } else if (entity.getVelocity().y < -MobilityConfig.MOB_GLIDE_DEPLOY_FALL_SPEED
+            && !shouldForceStopGlide(entity)
+            && !isNearlyBroken(entity.getEquippedStack(EquipmentSlot.CHEST))
+            && MobilityEventHooks.glideStart(entity, this)) {
+            ((EntityAccessor) entity).invokeSetFlag(GLIDING_FLAG, true);
+        }
+
+        if (!entity.isGliding()) {
+            release(entity, state);
+            return false;
+        }
+        setGliding(state, true);
+        return true;
+    }
+
+    /**
+     * One glide step under the entity's current speed cap. Batched gliders get the same
+     * result from a {@code GlideKernel}; this is the one-off path.
+     */
+    public Vec3d step(LivingEntity entity, MobilityState state, Vec3d oldVelocity, double gravity) {
+        return singleStep(entity, state.mobility$getProfile(), oldVelocity, gravity - environmentalLift(entity),
+            speedLimit(state));
+    }
+
+    /**
+     * The velocity a client running deterministic physics computes for its own glide.
+     * Uses the ungoverned speed cap and the default profile, since the client knows neither
+     * the server's scale nor its profiles.
+     */
+    public Vec3d predict(LivingEntity entity, Vec3d oldVelocity, double gravity) {
+        return singleStep(entity, MobilityProfile.DEFAULT, oldVelocity, gravity - environmentalLift(entity),
+            baseSpeedLimit());
+    }
+
+    private Vec3d singleStep(LivingEntity entity, MobilityProfile profile, Vec3d oldVelocity, double gravity,
+                             double speedLimit) {
+        GlideBatch batch = STEP.get();
+        batch.clear();
+        int index = glideStep(batch, profile, oldVelocity.x, oldVelocity.y, oldVelocity.z, entity.getPitch(),
+            entity.getYaw(), gravity, speedLimit);
+        return new Vec3d(batch.velX[index], batch.velY[index], batch.velZ[index]);
+    }
+
+    /**
+     * Decide whether the client must be sent this tick's velocity.
+     *
+     * <p>With deterministic physics the client computes the same step itself, so a packet
+     * is only needed when the two sides can actually disagree: the velocity was changed by
+     * something other than the last glide step (impulse, knockback, glide start), the
+     * client reported a collision, the governor is capping below what the client assumes,
+     * the player's profile changes the physics, or a periodic keyframe is due to bound any
+     * drift that was not detected.</p>
+     *
+     * <p>That only holds because the sync reaches the client exactly: a client running the
+     * mod is sent its velocity as a {@link GlideKeyframePayload} rather than vanilla's
+     * quantised update (see {@code VelocityBroadcastPolicy}), so it predicts on from the
+     * very value the server compares against here. A client without the mod does not
+     * predict at all and is sent every tick.</p>
+     */
+    private boolean needsSync(ServerPlayerEntity player, MobilityState state, Vec3d preTickVelocity, double speedLimit) {
+        if (!GlideMath.DETERMINISTIC) {
+            return true;
+        }
+
+        Vec3d last = state.mobility$getLastGlideVelocity();
+        return last == null
+            || !ServerPlayNetworking.canSend(player, GlideKeyframePayload.ID)
+            || !last.equals(preTickVelocity)
+            || player.horizontalCollision
+            || player.verticalCollision
+            || speedLimit != baseSpeedLimit()
+            || !clientPredicts(state.mobility$getProfile())
+            || player.age % MobilityConfig.GLIDE_KEYFRAME_INTERVAL_TICKS == 0;
+    }
+
+    /**
+     * End this ability's glide, if it was gliding: clear the flag, charge the hunger of the
+     * glide so far and fire {@code GLIDE_STOP}.
+     */
+    public void release(LivingEntity entity, MobilityState state) {
+        // Landing clears the flag before the glide is released, so the hunger is checked regardless
+        if (state.mobility$getHungerTimer() instanceof GlideHunger hunger) {
+            hunger.stop(this);
+        }
+        if (isGliding(state)) {
+            setGliding(state, false);
+            state.mobility$setLastGlideVelocity(null);
+            MobilityEventHooks.glideStop(entity, this);
+        }
+    }
+
+    /**
+     * @return true if the glide must end regardless of the wearer's input
+     */
+    private static boolean shouldForceStopGlide(LivingEntity entity) {
+        return entity.isOnGround()
+            || entity.isTouchingWater()
+            || entity.hasVehicle()
+            || entity.hasStatusEffect(StatusEffects.LEVITATION);
+    }
+
+    /**
+     * @return true if the stack is one use away from breaking, which vanilla also refuses to glide on
+     */
+    public static boolean isNearlyBroken(ItemStack stack) {
+        return stack.isDamageable() && stack.getDamage() >= stack.getMaxDamage() - 1;
+    }
+
+    /**
+     * @return false if the profile changes this ability's physics from what a client predicts
+     */
+    protected boolean clientPredicts(MobilityProfile profile) {
+        return true;
+    }
+
+    /**
+     * Hook for a one-off effect when the glide starts.
+     */
+    protected void onStarted(ServerPlayerEntity player) {
+    }
+
+    /**
+     * @return the {@code FlightRecord.PHYSICS_*} constant of this ability's physics
+     */
+    protected abstract byte physicsType();
+
+    /**
+     * @return the glide speed cap before the speed governor scales it ({@code <= 0} if uncapped)
+     */
+    public abstract double baseSpeedLimit();
+
+    /**
+     * @return upward acceleration from the entity's surroundings, taken off gravity before
+     *         {@link #glideStep}; none unless the physics has environmental lift
+     */
+    protected double environmentalLift(LivingEntity entity) {
+        return 0.0D;
+    }
+
+    /**
+     * One glide step on primitives: add the glider to {@code batch} and advance it there with
+     * {@link ScalarGlideKernel}, as the batched mob gliders are. Needs no entity and builds no
+     * vectors, so the player glide tick allocates nothing for its physics, and client
+     * prediction, replays and the server all run the very same arithmetic.
+     *
+     * @param pitch   the glider's pitch in degrees, as stored on the entity
+     * @param yaw     the glider's yaw in degrees
+     * @param gravity gravity with any {@link #environmentalLift} already taken off
+     * @return the glider's index in {@code batch}, where its new velocity is
+     */
+    public abstract int glideStep(GlideBatch batch, MobilityProfile profile, double vx, double vy, double vz,
+                                  float pitch, float yaw, double gravity, double speedLimit);
+
+    protected abstract boolean isGliding(MobilityState state);
+
+    protected abstract void setGliding(MobilityState state, boolean gliding);
+}
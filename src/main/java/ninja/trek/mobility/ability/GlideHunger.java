@@ -0,0 +1,105 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.schedule.TimingWheel;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+
+/**
+ * Glide hunger of one player, charged in batches from the world's timing wheel.
+ *
+ * <p>Exhaustion accrues at a fixed rate for every gliding tick, so nothing has to happen
+ * per tick: every {@link MobilityConfig#GLIDE_HUNGER_FLUSH_TICKS} the timer charges the
+ * ticks glided since the last flush in a single write and schedules itself again. Ending
+ * the glide charges the partial interval.</p>
+ */
+final class GlideHunger extends Timer {
+    // Exhaustion is 4 per hunger point; spread evenly over the configured interval
+    private static final float EXHAUSTION_PER_TICK =
+        (float) (MobilityConfig.ELYTRA_HUNGER_PER_15S * 4.0D / MobilityConfig.ELYTRA_HUNGER_TICK_INTERVAL);
+
+    private final ServerPlayerEntity player;
+    private GlideAbility ability;
+    // Last tick already charged for
+    private long chargedThrough;
+
+    private GlideHunger(ServerPlayerEntity player) {
+        this.player = player;
+    }
+
+    /**
+     * @return the player's hunger timer, attached to their state on first use
+     */
+    static GlideHunger of(ServerPlayerEntity player, MobilityState state) {
+        if (state.mobility$getHungerTimer() instanceof GlideHunger hunger) {
+            return hunger;
+        }
+        GlideHunger hunger = new GlideHunger(player);
+        state.mobility$setHungerTimer(hunger);
+        return hunger;
+    }
+
+    /**
+     * Charge from the current tick on for {@code glide}. Cheap when already running for it,
+     * which is the case on every tick of a glide but the first.
+     */
+    void start(GlideAbility glide) {
+        if (isScheduled() && ability == glide) {
+            return;
+        }
+
+        TimingWheel timers = timers();
+        if (isScheduled()) {
+            charge(timers.now());
+        }
+        ability = glide;
+        chargedThrough = timers.now() - 1L;
+        timers.schedule(this, MobilityConfig.GLIDE_HUNGER_FLUSH_TICKS);
+    }
+
+    /**
+     * Charge the partial interval and stop, if running for {@code glide}.
+     */
+    void stop(GlideAbility glide) {
+        if (isScheduled() && ability == glide) {
+            charge(timers().now());
+            cancel();
+        }
+    }
+
+    @Override
+    protected void expire(long tick) {
+        if (player.isRemoved()) {
+            return;
+        }
+        charge(tick);
+        timers().schedule(this, MobilityConfig.GLIDE_HUNGER_FLUSH_TICKS);
+    }
+
+    /**
+     * Charge every tick up to but excluding {@code tick}, which is charged by the next flush.
+     */
+    private void charge(long tick) {
+        long ticks = tick - 1L - chargedThrough;
+        chargedThrough = tick - 1L;
+        if (ticks <= 0L || EXHAUSTION_PER_TICK <= 0.0F || player.isCreative() || player.isSpectator()) {
+            return;
+        }
+        MobilityState state = MobilityState.of(player);
+        float exhaustion = (float) (EXHAUSTION_PER_TICK * ticks * state.mobility$getProfile().glideHungerMultiplier);
+        if (exhaustion <= 0.0F) {
+            return;
+        }
+        player.addExhaustion(exhaustion);
+        MobilityMetrics.countExhaustionWrite();
+        FlightStats.addHungerSpent(state, exhaustion / 4.0D);
+    }
+
+    private TimingWheel timers() {
+        return MobilityWorld.context(player.getEntityWorld()).timers();
+    }
+}
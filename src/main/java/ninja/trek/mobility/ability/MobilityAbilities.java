@@ -0,0 +1,128 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Registry of {@link MobilityAbility} implementations, indexed by a small integer id.
+ *
+ * <p>Id {@code 0} is always {@link #NONE}. Abilities switched off in {@link MobilityModules}
+ * are still registered but never resolved from a chestplate. Resolving a chestplate walks its enchantments
+ * once and maps the first registered one to its ability; the result is cached on the
+ * wearer's {@link MobilityState} together with the enchantment component it came from,
+ * so it is only recomputed when the chestplate or its enchantments change.</p>
+ */
+public final class MobilityAbilities {
+    // Replaced on registration, read from every world's tick thread
+    private static volatile MobilityAbility[] byId = new MobilityAbility[0];
+    private static final Map<RegistryKey<Enchantment>, MobilityAbility> BY_ENCHANTMENT = new HashMap<>();
+
+    public static final MobilityAbility NONE = register(NoAbility::new);
+    public static final SwoopingAbility SWOOPING = register(SwoopingAbility::new);
+    public static final DashAbility DASH = register(DashAbility::new);
+    public static final DoubleJumpAbility DOUBLE_JUMP = register(DoubleJumpAbility::new);
+    public static final ElytraAbility ELYTRA = register(ElytraAbility::new);
+    public static final WallJumpAbility WALL_JUMP = register(WallJumpAbility::new);
+
+    private MobilityAbilities() {
+    }
+
+    /**
+     * Add an ability. The factory receives the id assigned to it.
+     */
+    public static synchronized <A extends MobilityAbility> A register(IntFunction<A> factory) {
+        int id = byId.length;
+        A ability = factory.apply(id);
+        if (ability.id() != id) {
+            throw new IllegalStateException("Ability " + ability.name() + " ignored its assigned id " + id);
+        }
+
+        // Disabled abilities keep their id, so ids stay in sync with clients, but their
+        // enchantment no longer resolves to them
+        RegistryKey<Enchantment> enchantment = ability.enchantment();
+        if (enchantment != null && MobilityModules.isEnabled(ability.name())
+            && BY_ENCHANTMENT.putIfAbsent(enchantment, ability) != null) {
+            throw new IllegalStateException("Enchantment " + enchantment.getValue() + " already has an ability");
+        }
+
+        byId = Arrays.copyOf(byId, id + 1);
+        byId[id] = ability;
+        return ability;
+    }
+
+    /**
+     * @return the ability with the given id
+     */
+    public static MobilityAbility byId(int id) {
+        return byId[id];
+    }
+
+    /**
+     * @return number of registered abilities, including {@link #NONE}
+     */
+    public static int count() {
+        return byId.length;
+    }
+
+    /**
+     * Resolve the ability a stack grants by walking its enchantments once. Mobility
+     * enchantments share an exclusive set, so the first match is the only one.
+     */
+    public static MobilityAbility forStack(ItemStack stack) {
+        return forEnchantments(stack.getEnchantments());
+    }
+
+    /**
+     * The ability granted by the entity's chestplate, served from the cache on {@code state}
+     * unless the chestplate's enchantments changed since the last call.
+     */
+    public static MobilityAbility forEntity(LivingEntity entity, MobilityState state) {
+        ItemEnchantmentsComponent enchantments = entity.getEquippedStack(EquipmentSlot.CHEST).getEnchantments();
+        if (enchantments != state.mobility$getAbilitySource()) {
+            state.mobility$setAbilityId(forEnchantments(enchantments).id());
+            state.mobility$setAbilitySource(enchantments);
+        }
+        return byId[state.mobility$getAbilityId()];
+    }
+
+    private static MobilityAbility forEnchantments(ItemEnchantmentsComponent enchantments) {
+        if (enchantments.isEmpty()) {
+            return NONE;
+        }
+
+        for (RegistryEntry<Enchantment> entry : enchantments.getEnchantments()) {
+            if (entry instanceof RegistryEntry.Reference<Enchantment> reference) {
+                MobilityAbility ability = BY_ENCHANTMENT.get(reference.registryKey());
+                if (ability != null) {
+                    return ability;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    private record NoAbility(int id) implements MobilityAbility {
+        @Override
+        public RegistryKey<Enchantment> enchantment() {
+            return null;
+        }
+
+        @Override
+        public ActivationOutcome onAirJump(ServerPlayerEntity player, MobilityState state) {
+            return ActivationOutcome.NO_ABILITY;
+        }
+    }
+}
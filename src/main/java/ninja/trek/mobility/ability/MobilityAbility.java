@@ -0,0 +1,109 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * One mobility ability, granted by a chestplate enchantment.
+ *
+ * <p>Abilities are registered in {@link MobilityAbilities}, which hands out a small integer
+ * id. A player's chestplate is resolved to an id once (and again only when its enchantments
+ * change), so every dispatch afterwards is a single array lookup. Each hook has a no-op
+ * default; an ability only implements the ones it reacts to.</p>
+ */
+public interface MobilityAbility {
+
+    /**
+     * @return registry index of this ability, assigned by {@link MobilityAbilities}
+     */
+    int id();
+
+    /**
+     * @return the enchantment that grants this ability, or {@code null} for {@link MobilityAbilities#NONE}
+     */
+    RegistryKey<Enchantment> enchantment();
+
+    /**
+     * @return short name used in debug output
+     */
+    default String name() {
+        RegistryKey<Enchantment> key = enchantment();
+        return key == null ? "none" : key.getValue().getPath();
+    }
+
+    /**
+     * @return true if a chestplate with this ability lets its wearer glide like an elytra
+     */
+    default boolean canGlide() {
+        return false;
+    }
+
+    /**
+     * @return true if this ability reacts to jump pressed in mid-air; the client only sends
+     *         activation requests for such abilities
+     */
+    default boolean hasAirJump() {
+        return false;
+    }
+
+    /**
+     * @return ticks after a successful activation before this ability can be used again
+     */
+    default int cooldownTicks() {
+        return MobilityConfig.ABILITY_COOLDOWN_TICKS;
+    }
+
+    /**
+     * Start this ability's cooldown in the wearer's world. The cooldown is a timer in the
+     * world's timing wheel, so nothing runs for the wearer until it is checked again.
+     */
+    default void startCooldown(LivingEntity entity, MobilityState state) {
+        MobilityWorld.context(entity.getEntityWorld()).timers()
+            .schedule(state.mobility$getCooldownTimer(id()), cooldownTicks());
+    }
+
+    /**
+     * @return the furthest this ability can move its wearer in one tick, used to widen
+     *         vanilla's movement check after activation or while gliding; 0 if never needed
+     */
+    default double maxDisplacement() {
+        return 0.0D;
+    }
+
+    /**
+     * Jump pressed while airborne. Cooldown and ground state have already been checked.
+     */
+    default ActivationOutcome onAirJump(ServerPlayerEntity player, MobilityState state) {
+        return ActivationOutcome.NOT_APPLICABLE;
+    }
+
+    /**
+     * Vanilla's start-fall-flying request. {@link ActivationOutcome#NOT_APPLICABLE} lets
+     * vanilla handle the packet; any other outcome consumes it.
+     */
+    default ActivationOutcome onGlideStart(ServerPlayerEntity player, MobilityState state) {
+        return ActivationOutcome.NOT_APPLICABLE;
+    }
+
+    /**
+     * Called every server tick for the wearer, after vanilla's own tick.
+     *
+     * @return the {@code FlightRecord.PHYSICS_*} constant of the glide physics that ran, if any
+     */
+    default byte tick(ServerPlayerEntity player, MobilityState state) {
+        return FlightRecord.PHYSICS_NONE;
+    }
+
+    /**
+     * @return speed cap the ability's glide physics currently uses, {@code <= 0} if uncapped
+     */
+    default double speedLimit(MobilityState state) {
+        return 0.0D;
+    }
+}
@@ -0,0 +1,97 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.ScalarGlideKernel;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.server.GlideSpeedGovernor;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * Swooping enchantment: a steady glide that follows the current velocity rather than the
+ * look direction, started with a small horizontal push.
+ */
+public final class SwoopingAbility extends GlideAbility {
+
+    SwoopingAbility(int id) {
+        super(id, ModEnchantments.SWOOPING);
+    }
+
+    @Override
+    public int cooldownTicks() {
+        return MobilityConfig.SWOOPING_COOLDOWN_TICKS;
+    }
+
+    @Override
+    public double speedLimit(MobilityState state) {
+        return GlideSpeedGovernor.swoopingSpeedLimit(state);
+    }
+
+    @Override
+    protected void onStarted(ServerPlayerEntity player) {
+        Vec3d currentVelocity = player.getVelocity();
+        double horizontalSpeed = Math.sqrt(currentVelocity.x * currentVelocity.x + currentVelocity.z * currentVelocity.z);
+
+        double dirX;
+        double dirZ;
+        if (horizontalSpeed < 1.0e-5) {
+            // Standing still in the air: push towards where the player is looking
+            Vec3d look = player.getRotationVector();
+            double lookLength = Math.sqrt(look.x * look.x + look.z * look.z);
+            if (lookLength * lookLength <= 1.0e-5) {
+                return;
+            }
+            dirX = look.x / lookLength;
+            dirZ = look.z / lookLength;
+        } else {
+            dirX = currentVelocity.x / horizontalSpeed;
+            dirZ = currentVelocity.z / horizontalSpeed;
+        }
+
+        player.setVelocity(currentVelocity.add(dirX * MobilityConfig.SWOOPING_START_IMPULSE, 0.0D,
+            dirZ * MobilityConfig.SWOOPING_START_IMPULSE));
+        player.velocityModified = true;
+        MobilityMetrics.countVelocitySync();
+    }
+
+    @Override
+    protected byte physicsType() {
+        return FlightRecord.PHYSICS_SWOOPING;
+    }
+
+    @Override
+    public double baseSpeedLimit() {
+        return MobilityConfig.SWOOPING_SPEED_LIMIT;
+    }
+
+    @Override
+    protected double environmentalLift(LivingEntity entity) {
+        return LiftField.sample(entity);
+    }
+
+    @Override
+    public int glideStep(GlideBatch batch, MobilityProfile profile, double vx, double vy, double vz, float pitch,
+                         float yaw, double gravity, double speedLimit) {
+        int index = batch.addSwooping(vx, vy, vz, gravity);
+        batch.speedLimit[index] = speedLimit;
+        ScalarGlideKernel.stepSwooping(batch, index);
+        return index;
+    }
+
+    @Override
+    protected boolean isGliding(MobilityState state) {
+        return state.mobility$isSwoopingGliding();
+    }
+
+    @Override
+    protected void setGliding(MobilityState state, boolean gliding) {
+        state.mobility$setSwoopingGliding(gliding);
+    }
+}
@@ -0,0 +1,143 @@
+package ninja.trek.mobility.ability;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.enchantment.ModEnchantments;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.util.EnchantmentUtil;
+import ninja.trek.mobility.wall.WallContact;
+import ninja.trek.mobility.zone.ZoneIndex;
+
+/**
+ * Wall Jump enchantment: air jump next to a wall kicks the player away from it at 45°,
+ * after which horizontal speed is capped until landing. A player falling against a wall
+ * runs along it while sprinting, for a while, and otherwise slides down it slowly.
+ *
+ * <p>Wall contact is needed every airborne tick for that, so it comes from the player's
+ * {@link WallContact} cache, which only probes blocks again when the player crosses a block
+ * boundary or a block next to them changes.</p>
+ */
+public final class WallJumpAbility implements MobilityAbility {
+    private static final double HORIZONTAL_SCALE = MobilityConfig.WALL_JUMP_VELOCITY * Math.cos(Math.PI / 4);
+    private static final double VERTICAL_SCALE = MobilityConfig.WALL_JUMP_VELOCITY * Math.sin(Math.PI / 4);
+
+    private final int id;
+
+    WallJumpAbility(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public RegistryKey<Enchantment> enchantment() {
+        return ModEnchantments.WALL_JUMP;
+    }
+
+    @Override
+    public boolean hasAirJump() {
+        return true;
+    }
+
+    @Override
+    public int cooldownTicks() {
+        return MobilityConfig.WALL_JUMP_COOLDOWN_TICKS;
+    }
+
+    @Override
+    public double maxDisplacement() {
+        return MobilityConfig.WALL_JUMP_VELOCITY;
+    }
+
+    @Override
+    public ActivationOutcome onAirJump(ServerPlayerEntity player, MobilityState state) {
+        WallContact wall = WallContact.of(player, state);
+        if (!wall.update(player)) {
+            return ActivationOutcome.NO_WALL;
+        }
+
+        if (!EnchantmentUtil.consumeHunger(player, state.mobility$getProfile().wallJumpHungerCost)) {
+            return ActivationOutcome.NOT_ENOUGH_HUNGER;
+        }
+
+        state.mobility$setWallJumping(true);
+        player.setVelocity(wall.normalX() * HORIZONTAL_SCALE, VERTICAL_SCALE, wall.normalZ() * HORIZONTAL_SCALE);
+        player.velocityModified = true; // Mark velocity as modified so it syncs to client
+        MobilityMetrics.countVelocitySync();
+        startCooldown(player, state);
+        FlightStats.countWallJump(state);
+        return ActivationOutcome.SUCCESS;
+    }
+
+    /**
+     * Wall run or slide while airborne against a wall, then, while wall jumping, cap
+     * horizontal speed. Air control itself is handled in {@code PlayerEntityMixin}.
+     */
+    @Override
+    public byte tick(ServerPlayerEntity player, MobilityState state) {
+        if (player.isOnGround() || player.isGliding() || player.hasVehicle() || player.getAbilities().flying
+            || player.isTouchingWater() || player.isClimbing()) {
+            WallContact.release(player, state);
+        } else {
+            WallContact wall = WallContact.of(player, state);
+            if (wall.update(player) && !ZoneIndex.forbids(player, state, this)) {
+                holdOnWall(player, wall);
+            }
+        }
+
+        if (!state.mobility$isWallJumping()) {
+            return FlightRecord.PHYSICS_NONE;
+        }
+
+        Vec3d velocity = player.getVelocity();
+        double horizontalSpeed = Math.sqrt(velocity.x * velocity.x + velocity.z * velocity.z);
+        if (horizontalSpeed > MobilityConfig.WALL_JUMP_SPEED_LIMIT) {
+            double scale = MobilityConfig.WALL_JUMP_SPEED_LIMIT / horizontalSpeed;
+            player.setVelocity(velocity.x * scale, velocity.y, velocity.z * scale);
+            player.velocityModified = true; // Mark velocity as modified so it syncs to client
+            MobilityMetrics.countVelocitySync();
+        }
+        return FlightRecord.PHYSICS_NONE;
+    }
+
+    /**
+     * Limit the fall of a player touching a wall: a sprinting player moving along the wall
+     * fast enough runs on it for up to {@link MobilityConfig#WALL_RUN_MAX_TICKS}, anyone else
+     * slides down it. A held fall is a controlled descent, so it builds up no fall damage.
+     * The clamped velocity is only sent when it differs from the one sent last, so a steady
+     * slide costs no more packets than a free fall.
+     */
+    private static void holdOnWall(ServerPlayerEntity player, WallContact wall) {
+        Vec3d velocity = player.getVelocity();
+        // Horizontal velocity less its part into or away from the wall
+        double into = velocity.x * wall.normalX() + velocity.z * wall.normalZ();
+        double alongX = velocity.x - into * wall.normalX();
+        double alongZ = velocity.z - into * wall.normalZ();
+        boolean running = player.isSprinting() && wall.runTicks < MobilityConfig.WALL_RUN_MAX_TICKS
+            && alongX * alongX + alongZ * alongZ >= MobilityConfig.WALL_RUN_MIN_SPEED * MobilityConfig.WALL_RUN_MIN_SPEED;
+        double minFall = running ? -MobilityConfig.WALL_RUN_MAX_FALL_SPEED : -MobilityConfig.WALL_SLIDE_MAX_FALL_SPEED;
+        if (velocity.y >= minFall) {
+            wall.stopHolding();
+            return;
+        }
+
+        if (running) {
+            wall.runTicks++;
+        }
+        player.setVelocity(velocity.x, minFall, velocity.z);
+        player.fallDistance = 0;
+        if (wall.hold(velocity.x, minFall, velocity.z)) {
+            player.velocityModified = true; // Mark velocity as modified so it syncs to client
+            MobilityMetrics.countVelocitySync();
+        }
+    }
+}
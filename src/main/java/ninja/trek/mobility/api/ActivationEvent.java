@@ -0,0 +1,96 @@
+package ninja.trek.mobility.api;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.ability.ActivationOutcome;
+import ninja.trek.mobility.ability.MobilityAbility;
+
+/**
+ * An ability activation attempt, passed to {@link MobilityEvents#PRE_ACTIVATION} and
+ * {@link MobilityEvents#POST_ACTIVATION}.
+ *
+ * <p>The object is reused for every attempt on the same thread, so listeners must not keep
+ * a reference to it after returning.</p>
+ */
+public final class ActivationEvent {
+    ServerPlayerEntity player;
+    MobilityAbility ability;
+    ActivationInput input;
+    ActivationOutcome outcome;
+    boolean cancelled;
+    double impulseX;
+    double impulseY;
+    double impulseZ;
+    boolean impulseChanged;
+    // Set while listeners run, so a nested attempt gets its own event
+    boolean inUse;
+
+    ActivationEvent() {
+    }
+
+    /**
+     * Hand the object back after dispatch, dropping references to the game.
+     */
+    void release() {
+        inUse = false;
+        player = null;
+        ability = null;
+        outcome = null;
+    }
+
+    public ServerPlayerEntity player() {
+        return player;
+    }
+
+    public MobilityAbility ability() {
+        return ability;
+    }
+
+    public ActivationInput input() {
+        return input;
+    }
+
+    /**
+     * @return the ability's outcome; null before activation
+     */
+    public ActivationOutcome outcome() {
+        return outcome;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Before activation: stop the ability from running. The attempt is reported as
+     * {@link ActivationOutcome#CANCELLED}. Has no effect after activation.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return after a successful activation, the velocity the ability left the player with
+     */
+    public double impulseX() {
+        return impulseX;
+    }
+
+    public double impulseY() {
+        return impulseY;
+    }
+
+    public double impulseZ() {
+        return impulseZ;
+    }
+
+    /**
+     * After a successful activation: replace the velocity the ability gave the player.
+     * The new velocity is sent to the client.
+     */
+    public void setImpulse(double x, double y, double z) {
+        this.impulseX = x;
+        this.impulseY = y;
+        this.impulseZ = z;
+        this.impulseChanged = true;
+    }
+}
@@ -0,0 +1,11 @@
+package ninja.trek.mobility.api;
+
+/**
+ * The player input an activation attempt came from.
+ */
+public enum ActivationInput {
+    /** Jump pressed in mid-air, sent by the client as an {@code ability_activation} payload */
+    AIR_JUMP,
+    /** Vanilla's start-fall-flying command */
+    GLIDE_START
+}
@@ -0,0 +1,79 @@
+package ninja.trek.mobility.api;
+
+import net.minecraft.entity.LivingEntity;
+import ninja.trek.mobility.ability.GlideAbility;
+
+/**
+ * A glide of a player, mob or armour stand, passed to {@link MobilityEvents#GLIDE_START},
+ * {@link MobilityEvents#GLIDE_TICK} and {@link MobilityEvents#GLIDE_STOP}.
+ *
+ * <p>The object is reused for every glide event on the same thread, so listeners must not
+ * keep a reference to it after returning.</p>
+ */
+public final class GlideEvent {
+    LivingEntity entity;
+    GlideAbility ability;
+    boolean cancelled;
+    double velocityX;
+    double velocityY;
+    double velocityZ;
+    boolean velocityChanged;
+    // Set while listeners run, so a nested glide event gets its own object
+    boolean inUse;
+
+    GlideEvent() {
+    }
+
+    /**
+     * Hand the object back after dispatch, dropping references to the game.
+     */
+    void release() {
+        inUse = false;
+        entity = null;
+        ability = null;
+    }
+
+    public LivingEntity entity() {
+        return entity;
+    }
+
+    public GlideAbility ability() {
+        return ability;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * On glide start: keep the entity from gliding. Has no effect on other glide events.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return on glide tick, the velocity the glide physics produced for this tick
+     */
+    public double velocityX() {
+        return velocityX;
+    }
+
+    public double velocityY() {
+        return velocityY;
+    }
+
+    public double velocityZ() {
+        return velocityZ;
+    }
+
+    /**
+     * On glide tick: replace this tick's glide velocity.
+     */
+    public void setVelocity(double x, double y, double z) {
+        this.velocityX = x;
+        this.velocityY = y;
+        this.velocityZ = z;
+        this.velocityChanged = true;
+    }
+}
@@ -0,0 +1,139 @@
+package ninja.trek.mobility.api;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.ability.ActivationOutcome;
+import ninja.trek.mobility.ability.GlideAbility;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.physics.GlideBatch;
+
+/**
+ * Fires {@link MobilityEvents} from the mod's own code. Not part of the API.
+ *
+ * <p>Each thread reuses one event object per kind. Only a listener that triggers another
+ * event of the same kind from inside its callback causes a fresh object to be made.</p>
+ */
+public final class MobilityEventHooks {
+    private static final ThreadLocal<ActivationEvent> ACTIVATION = ThreadLocal.withInitial(ActivationEvent::new);
+    private static final ThreadLocal<GlideEvent> GLIDE = ThreadLocal.withInitial(GlideEvent::new);
+
+    private MobilityEventHooks() {
+    }
+
+    /**
+     * @return false if a listener cancelled the activation
+     */
+    public static boolean preActivation(ServerPlayerEntity player, MobilityAbility ability, ActivationInput input) {
+        ActivationEvent event = activation(player, ability, input, null);
+        try {
+            MobilityEvents.PRE_ACTIVATION.invoker().onPreActivation(event);
+            return !event.cancelled;
+        } finally {
+            event.release();
+        }
+    }
+
+    /**
+     * Report the outcome and, after a success, apply any velocity a listener substituted.
+     */
+    public static void postActivation(ServerPlayerEntity player, MobilityAbility ability, ActivationInput input,
+                                      ActivationOutcome outcome) {
+        ActivationEvent event = activation(player, ability, input, outcome);
+        try {
+            Vec3d velocity = player.getVelocity();
+            event.impulseX = velocity.x;
+            event.impulseY = velocity.y;
+            event.impulseZ = velocity.z;
+            MobilityEvents.POST_ACTIVATION.invoker().onPostActivation(event);
+            if (event.impulseChanged && outcome.succeeded()) {
+                player.setVelocity(event.impulseX, event.impulseY, event.impulseZ);
+                player.velocityModified = true;
+                MobilityMetrics.countVelocitySync();
+            }
+        } finally {
+            event.release();
+        }
+    }
+
+    /**
+     * @return false if a listener kept the entity from gliding
+     */
+    public static boolean glideStart(LivingEntity entity, GlideAbility ability) {
+        GlideEvent event = glide(entity, ability);
+        try {
+            MobilityEvents.GLIDE_START.invoker().onGlideStart(event);
+            return !event.cancelled;
+        } finally {
+            event.release();
+        }
+    }
+
+    public static void glideStop(LivingEntity entity, GlideAbility ability) {
+        GlideEvent event = glide(entity, ability);
+        try {
+            MobilityEvents.GLIDE_STOP.invoker().onGlideStop(event);
+        } finally {
+            event.release();
+        }
+    }
+
+    /**
+     * Glide tick for a glider stepped in a batch; a substituted velocity is written back into the batch.
+     *
+     * @return true if a listener substituted the velocity
+     */
+    public static boolean glideTick(LivingEntity entity, GlideAbility ability, GlideBatch batch, int index) {
+        GlideEvent event = glide(entity, ability);
+        try {
+            event.velocityX = batch.velX[index];
+            event.velocityY = batch.velY[index];
+            event.velocityZ = batch.velZ[index];
+            MobilityEvents.GLIDE_TICK.invoker().onGlideTick(event);
+            if (event.velocityChanged) {
+                batch.velX[index] = event.velocityX;
+                batch.velY[index] = event.velocityY;
+                batch.velZ[index] = event.velocityZ;
+            }
+            return event.velocityChanged;
+        } finally {
+            event.release();
+        }
+    }
+
+    private static ActivationEvent activation(ServerPlayerEntity player, MobilityAbility ability, ActivationInput input,
+                                              ActivationOutcome outcome) {
+        ActivationEvent event = ACTIVATION.get();
+        if (event.inUse) {
+            event = new ActivationEvent();
+        }
+        event.inUse = true;
+        event.player = player;
+        event.ability = ability;
+        event.input = input;
+        event.outcome = outcome;
+        event.cancelled = false;
+        event.impulseX = 0.0D;
+        event.impulseY = 0.0D;
+        event.impulseZ = 0.0D;
+        event.impulseChanged = false;
+        return event;
+    }
+
+    private static GlideEvent glide(LivingEntity entity, GlideAbility ability) {
+        GlideEvent event = GLIDE.get();
+        if (event.inUse) {
+            event = new GlideEvent();
+        }
+        event.inUse = true;
+        event.entity = entity;
+        event.ability = ability;
+        event.cancelled = false;
+        event.velocityX = 0.0D;
+        event.velocityY = 0.0D;
+        event.velocityZ = 0.0D;
+        event.velocityChanged = false;
+        return event;
+    }
+}
@@ -0,0 +1,113 @@
+package ninja.trek.mobility.api;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Events other mods can listen to instead of patching the mod's hot paths.
+ *
+ * <p>Each event is a Fabric array-backed {@link Event}: registering copies the listener
+ * array once, and firing is a loop over that array with a single reused event object, so no
+ * allocation or reflection happens per event. All events fire on the thread that owns the
+ * entity's world (see {@code MobilityWorldContext}); listeners may touch the entity but
+ * should not block.</p>
+ *
+ * <pre>{@code
+ * MobilityEvents.PRE_ACTIVATION.register(event -> {
+ *     if (inLobby(event.player())) {
+ *         event.cancel();
+ *     }
+ * });
+ * }</pre>
+ */
+public final class MobilityEvents {
+
+    /**
+     * Before an ability runs for an air jump or a glide start. Cancelling stops the ability;
+     * later listeners are skipped.
+     */
+    public static final Event<PreActivation> PRE_ACTIVATION = EventFactory.createArrayBacked(PreActivation.class,
+        listeners -> event -> {
+            for (PreActivation listener : listeners) {
+                listener.onPreActivation(event);
+                if (event.isCancelled()) {
+                    return;
+                }
+            }
+        });
+
+    /**
+     * After an ability ran, whatever the outcome. On success, listeners may replace the
+     * velocity it applied.
+     */
+    public static final Event<PostActivation> POST_ACTIVATION = EventFactory.createArrayBacked(PostActivation.class,
+        listeners -> event -> {
+            for (PostActivation listener : listeners) {
+                listener.onPostActivation(event);
+            }
+        });
+
+    /**
+     * A glide is about to start: a player's accepted start-fall-flying request, or a mob
+     * about to deploy its chestplate (asked again every tick until it does). Cancelling keeps
+     * the entity from gliding; later listeners are skipped.
+     */
+    public static final Event<GlideStart> GLIDE_START = EventFactory.createArrayBacked(GlideStart.class,
+        listeners -> event -> {
+            for (GlideStart listener : listeners) {
+                listener.onGlideStart(event);
+                if (event.isCancelled()) {
+                    return;
+                }
+            }
+        });
+
+    /**
+     * Every tick of a glide, with the velocity the glide physics computed. Listeners may
+     * replace it.
+     */
+    public static final Event<GlideTick> GLIDE_TICK = EventFactory.createArrayBacked(GlideTick.class,
+        listeners -> event -> {
+            for (GlideTick listener : listeners) {
+                listener.onGlideTick(event);
+            }
+        });
+
+    /**
+     * A glide ended, for any reason: landing, water, input, chestplate change or removal.
+     */
+    public static final Event<GlideStop> GLIDE_STOP = EventFactory.createArrayBacked(GlideStop.class,
+        listeners -> event -> {
+            for (GlideStop listener : listeners) {
+                listener.onGlideStop(event);
+            }
+        });
+
+    private MobilityEvents() {
+    }
+
+    @FunctionalInterface
+    public interface PreActivation {
+        void onPreActivation(ActivationEvent event);
+    }
+
+    @FunctionalInterface
+    public interface PostActivation {
+        void onPostActivation(ActivationEvent event);
+    }
+
+    @FunctionalInterface
+    public interface GlideStart {
+        void onGlideStart(GlideEvent event);
+    }
+
+    @FunctionalInterface
+    public interface GlideTick {
+        void onGlideTick(GlideEvent event);
+    }
+
+    @FunctionalInterface
+    public interface GlideStop {
+        void onGlideStop(GlideEvent event);
+    }
+}
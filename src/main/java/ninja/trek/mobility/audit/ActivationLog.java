@@ -0,0 +1,278 @@
+package ninja.trek.mobility.audit;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.World;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.ability.ActivationOutcome;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.api.ActivationInput;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit log of every ability activation attempt: who, which ability, what happened, where and when.
+ *
+ * <p>The tick and packet paths only claim a slot in a lock-free {@link RecordRing} and fill
+ * in eight longs, so recording never blocks, allocates or touches the disk. A background
+ * thread drains the ring in batches, formats each record as one JSON line and appends it to
+ * {@code <world>/mobility-audit/activations.log}, rotating the file once it reaches
+ * {@link MobilityConfig#AUDIT_LOG_MAX_FILE_BYTES}. If the writer falls a whole ring behind,
+ * new records are dropped and counted rather than slowing the server down.</p>
+ */
+public final class ActivationLog {
+    public static final String DIRECTORY = "mobility-audit";
+    public static final String FILE_NAME = "activations";
+    public static final String EXTENSION = ".log";
+
+    private static final ActivationInput[] INPUTS = ActivationInput.values();
+    private static final ActivationOutcome[] OUTCOMES = ActivationOutcome.values();
+
+    // Epoch millis, server tick, UUID (2), packed ids, x, y, z
+    private static final int RECORD_LONGS = 8;
+    private static final int BATCH_RECORDS = 256;
+
+    private static final RecordRing RING = new RecordRing(MobilityConfig.AUDIT_LOG_BUFFER_RECORDS, RECORD_LONGS);
+    // Resolved by the writer; records only carry the UUID and a world index
+    private static final Map<UUID, String> NAMES = new ConcurrentHashMap<>();
+    private static final List<RegistryKey<World>> WORLDS = new CopyOnWriteArrayList<>();
+
+    private static volatile Writer writer;
+
+    private ActivationLog() {
+    }
+
+    /**
+     * Start the writer for a server. Called when the server has started.
+     */
+    public static synchronized void start(MinecraftServer server) {
+        if (writer != null) {
+            return;
+        }
+        Writer started = new Writer(server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY));
+        started.start();
+        writer = started;
+    }
+
+    /**
+     * Write out everything recorded so far and stop the writer. Called on shutdown.
+     */
+    public static synchronized void stop() {
+        Writer stopping = writer;
+        if (stopping == null) {
+            return;
+        }
+        writer = null;
+        stopping.running = false;
+        LockSupport.unpark(stopping);
+        try {
+            stopping.join(5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (stopping.isAlive()) {
+            MobilityEnchantments.LOGGER.warn("Activation log did not finish writing before shutdown");
+        }
+    }
+
+    /**
+     * Record one activation attempt. Safe to call from any thread.
+     */
+    public static void record(ServerPlayerEntity player, MobilityAbility ability, ActivationInput input, ActivationOutcome outcome) {
+        if (writer == null) {
+            return;
+        }
+
+        long position = RING.claim();
+        if (position < 0L) {
+            MobilityMetrics.countAuditRecordDropped();
+            return;
+        }
+
+        UUID uuid = player.getUuid();
+        String name = player.getNameForScoreboard();
+        if (!name.equals(NAMES.get(uuid))) {
+            NAMES.put(uuid, name);
+        }
+
+        long[] data = RING.data();
+        int offset = RING.offset(position);
+        data[offset] = System.currentTimeMillis();
+        data[offset + 1] = player.getEntityWorld().getServer().getTicks();
+        data[offset + 2] = uuid.getMostSignificantBits();
+        data[offset + 3] = uuid.getLeastSignificantBits();
+        data[offset + 4] = (long) worldIndex(player.getEntityWorld().getRegistryKey()) << 32
+            | (long) (ability.id() & 0xFFFF) << 16
+            | (long) outcome.ordinal() << 8
+            | input.ordinal();
+        data[offset + 5] = Double.doubleToRawLongBits(player.getX());
+        data[offset + 6] = Double.doubleToRawLongBits(player.getY());
+        data[offset + 7] = Double.doubleToRawLongBits(player.getZ());
+        RING.publish(position);
+    }
+
+    private static int worldIndex(RegistryKey<World> world) {
+        int index = WORLDS.indexOf(world);
+        if (index < 0) {
+            // Only the first record from each dimension gets here
+            synchronized (WORLDS) {
+                index = WORLDS.indexOf(world);
+                if (index < 0) {
+                    WORLDS.add(world);
+                    index = WORLDS.size() - 1;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The background writer. Owns the ring's consumer side and the log file.
+     */
+    private static final class Writer extends Thread {
+        private final Path directory;
+        private final Path file;
+        private final long[] record = new long[RECORD_LONGS];
+        private final StringBuilder batch = new StringBuilder();
+        private volatile boolean running = true;
+        private FileChannel channel;
+        private long size;
+
+        private Writer(Path directory) {
+            super("Mobility Activation Log");
+            setDaemon(true);
+            this.directory = directory;
+            this.file = directory.resolve(FILE_NAME + EXTENSION);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                // Read before draining, so a final drain always follows the stop request
+                boolean stopping = !running;
+                int count = drain();
+                if (count > 0) {
+                    write();
+                } else if (stopping) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this, MobilityConfig.AUDIT_LOG_FLUSH_MILLIS * 1_000_000L);
+                }
+            }
+            close();
+        }
+
+        private int drain() {
+            int count = 0;
+            while (count < BATCH_RECORDS && RING.poll(record)) {
+                format(record);
+                count++;
+            }
+            return count;
+        }
+
+        private void format(long[] record) {
+            UUID uuid = new UUID(record[2], record[3]);
+            long packed = record[4];
+            RegistryKey<World> world = WORLDS.get((int) (packed >>> 32));
+            MobilityAbility ability = MobilityAbilities.byId((int) (packed >>> 16) & 0xFFFF);
+            ActivationOutcome outcome = OUTCOMES[(int) (packed >>> 8) & 0xFF];
+
+            batch.append("{\"time\":\"").append(Instant.ofEpochMilli(record[0]))
+                .append("\",\"tick\":").append(record[1])
+                .append(",\"player\":\"").append(NAMES.getOrDefault(uuid, ""))
+                .append("\",\"uuid\":\"").append(uuid)
+                .append("\",\"ability\":\"").append(ability.name())
+                .append("\",\"input\":\"").append(INPUTS[(int) packed & 0xFF].name().toLowerCase(Locale.ROOT))
+                .append("\",\"outcome\":\"").append(outcome.name().toLowerCase(Locale.ROOT))
+                .append("\",\"world\":\"").append(world.getValue())
+                .append("\",\"x\":").append(Double.longBitsToDouble(record[5]))
+                .append(",\"y\":").append(Double.longBitsToDouble(record[6]))
+                .append(",\"z\":").append(Double.longBitsToDouble(record[7]))
+                .append("}\n");
+        }
+
+        private void write() {
+            byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+            batch.setLength(0);
+            try {
+                if (channel != null && size > 0L && size + bytes.length > MobilityConfig.AUDIT_LOG_MAX_FILE_BYTES) {
+                    rotate();
+                }
+                if (channel == null) {
+                    open();
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                size += bytes.length;
+            } catch (IOException e) {
+                MobilityEnchantments.LOGGER.warn("Failed to write activation log {}", file, e);
+                close();
+            }
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            size = channel.size();
+        }
+
+        /**
+         * Shift {@code activations.N.log} up by one, dropping the oldest, and start a new file.
+         */
+        private void rotate() throws IOException {
+            close();
+            int keep = MobilityConfig.AUDIT_LOG_KEEP_FILES;
+            if (keep <= 0) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Files.deleteIfExists(rotated(keep));
+            for (int i = keep - 1; i >= 1; i--) {
+                Path older = rotated(i);
+                if (Files.exists(older)) {
+                    Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private Path rotated(int index) {
+            return directory.resolve(FILE_NAME + "." + index + EXTENSION);
+        }
+
+        private void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                MobilityEnchantments.LOGGER.warn("Failed to close activation log {}", file, e);
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ninja.trek.mobility.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of fixed-size records made of longs, for many producers and one
+ * consumer.
+ *
+ * <p>Each slot carries a sequence number. A producer claims the next position with a CAS on
+ * the tail, writes its longs into the slot and then publishes it by advancing the slot's
+ * sequence; the consumer only reads slots whose sequence says they are published, and hands
+ * them back by moving the sequence one lap ahead. Nothing blocks and nothing allocates. When
+ * the consumer falls a full ring behind, new records are refused rather than waiting.</p>
+ */
+final class RecordRing {
+    private final int recordLongs;
+    private final int mask;
+    private final long[] data;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Consumer-only
+    private long head;
+
+    /**
+     * @param capacity    number of records, rounded up to a power of two
+     * @param recordLongs longs per record
+     */
+    RecordRing(int capacity, int recordLongs) {
+        int slots = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.recordLongs = recordLongs;
+        this.mask = slots - 1;
+        this.data = new long[slots * recordLongs];
+        this.sequences = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claim a slot for a new record.
+     *
+     * @return the claimed position, or -1 if the ring is full; write the record at
+     *         {@link #offset(long)} and then pass the position to {@link #publish(long)}
+     */
+    long claim() {
+        while (true) {
+            long position = tail.get();
+            long sequence = sequences.get((int) (position & mask));
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1L)) {
+                    return position;
+                }
+            } else if (sequence < position) {
+                return -1L;
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    /**
+     * @return index of the first long of the record at a claimed position
+     */
+    int offset(long position) {
+        return (int) (position & mask) * recordLongs;
+    }
+
+    long[] data() {
+        return data;
+    }
+
+    /**
+     * Make a written record visible to the consumer.
+     */
+    void publish(long position) {
+        sequences.set((int) (position & mask), position + 1L);
+    }
+
+    /**
+     * Consumer only: copy the oldest published record into {@code out} and free its slot.
+     *
+     * @return false if no published record is waiting
+     */
+    boolean poll(long[] out) {
+        int slot = (int) (head & mask);
+        if (sequences.get(slot) != head + 1L) {
+            return false;
+        }
+        System.arraycopy(data, slot * recordLongs, out, 0, recordLongs);
+        sequences.set(slot, head + mask + 1L);
+        head++;
+        return true;
+    }
+}
@@ -0,0 +1,345 @@
+package ninja.trek.mobility.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.recorder.FlightRecorder;
+import ninja.trek.mobility.recorder.FlightReplayer;
+import ninja.trek.mobility.server.GlideChunkPrefetcher;
+import ninja.trek.mobility.server.GlideSpeedGovernor;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.server.VelocityBroadcastPolicy;
+import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.stats.FlightStats;
+import ninja.trek.mobility.stats.GlideHeatmap;
+import ninja.trek.mobility.zone.Zone;
+import ninja.trek.mobility.zone.ZoneIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Operator commands under {@code /mobility}.
+ */
+public final class MobilityCommands {
+    // Heatmap exports and replays, one at a time, off the common pool other mods share
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Mobility Commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MobilityCommands() {
+    }
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher,
+                                CommandRegistryAccess registryAccess,
+                                CommandManager.RegistrationEnvironment environment) {
+        LiteralArgumentBuilder<ServerCommandSource> root = CommandManager.literal("mobility")
+            .requires(source -> source.hasPermissionLevel(2));
+        if (MobilityModules.glide()) {
+            root.then(governor()).then(broadcast());
+        }
+        if (MobilityModules.FLIGHT_RECORDER) {
+            root.then(record());
+        }
+        if (MobilityModules.FLIGHT_STATS) {
+            root.then(stats());
+        }
+        if (MobilityModules.GLIDE_HEATMAP) {
+            root.then(heatmap());
+        }
+        root.then(profile()).then(zone());
+        dispatcher.register(root);
+    }
+
+    // ========== GOVERNOR ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> governor() {
+        return CommandManager.literal("governor")
+            .executes(context -> showGovernor(context.getSource()))
+            .then(CommandManager.argument("player", EntityArgumentType.player())
+                .executes(context -> showGovernor(context.getSource(), EntityArgumentType.getPlayer(context, "player"))));
+    }
+
+    private static int showGovernor(ServerCommandSource source) {
+        source.sendFeedback(() -> Text.literal(String.format(
+            "Glide governor: %.1f mspt, server scale %.2f",
+            GlideSpeedGovernor.lastMspt(), GlideSpeedGovernor.serverScale())), false);
+        return 1;
+    }
+
+    private static int showGovernor(ServerCommandSource source, ServerPlayerEntity player) {
+        MobilityState state = MobilityState.of(player);
+        int pending = GlideSpeedGovernor.countPendingChunks(player);
+        source.sendFeedback(() -> Text.literal(String.format(
+            "%s: %d chunks pending ahead, %d prefetch tickets, player scale %.2f, effective scale %.2f, swooping cap %.2f b/t, elytra cap %.2f b/t",
+            player.getName().getString(), pending, GlideChunkPrefetcher.ticketCount(player), state.mobility$getGlideSpeedScale(),
+            GlideSpeedGovernor.effectiveScale(state), GlideSpeedGovernor.swoopingSpeedLimit(state),
+            GlideSpeedGovernor.elytraSpeedLimit(state))), false);
+        return 1;
+    }
+
+    // ========== BROADCAST ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> broadcast() {
+        return CommandManager.literal("broadcast")
+            .executes(context -> showBroadcast(context.getSource()))
+            .then(CommandManager.literal("reset")
+                .executes(context -> {
+                    VelocityBroadcastPolicy.reset();
+                    context.getSource().sendFeedback(() -> Text.literal("Glide velocity broadcast counters reset"), true);
+                    return 1;
+                }));
+    }
+
+    private static int showBroadcast(ServerCommandSource source) {
+        for (VelocityBroadcastPolicy.Tier tier : VelocityBroadcastPolicy.Tier.values()) {
+            source.sendFeedback(() -> Text.literal(String.format(
+                "%s: sent %d packets (%d bytes), skipped %d packets (%d bytes)",
+                tier.name().toLowerCase(), tier.sentPackets(), tier.sentBytes(), tier.skippedPackets(), tier.skippedBytes())), false);
+        }
+        return 1;
+    }
+
+    // ========== PROFILE ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> profile() {
+        return CommandManager.literal("profile")
+            .then(CommandManager.argument("player", EntityArgumentType.player())
+                .executes(context -> showProfile(context.getSource(), EntityArgumentType.getPlayer(context, "player"))));
+    }
+
+    private static int showProfile(ServerCommandSource source, ServerPlayerEntity player) {
+        MobilityProfile profile = MobilityState.of(player).mobility$getProfile();
+        source.sendFeedback(() -> Text.literal(String.format(
+            "%s: profile %s, dash %.2f b/t for %.1f hunger, double jump %.2f b/t for %.1f hunger, wall jump %.1f hunger, elytra lift x%.3f, glide hunger x%.2f",
+            player.getName().getString(), profile.name, profile.dashVelocity, profile.dashHungerCost,
+            profile.doubleJumpVelocity, profile.doubleJumpHungerCost, profile.wallJumpHungerCost,
+            profile.elytraLiftMultiplier, profile.glideHungerMultiplier)), false);
+        return 1;
+    }
+
+    // ========== ZONE ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> zone() {
+        return CommandManager.literal("zone")
+            .then(CommandManager.literal("add")
+                .then(CommandManager.argument("name", StringArgumentType.word())
+                    .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                        .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                            .then(CommandManager.argument("abilities", StringArgumentType.greedyString())
+                                .executes(context -> addZone(context.getSource(),
+                                    StringArgumentType.getString(context, "name"),
+                                    BlockPosArgumentType.getBlockPos(context, "from"),
+                                    BlockPosArgumentType.getBlockPos(context, "to"),
+                                    StringArgumentType.getString(context, "abilities"))))))))
+            .then(CommandManager.literal("remove")
+                .then(CommandManager.argument("name", StringArgumentType.word())
+                    .executes(context -> removeZone(context.getSource(), StringArgumentType.getString(context, "name")))))
+            .then(CommandManager.literal("list")
+                .executes(context -> listZones(context.getSource(), ZoneIndex.of(context.getSource().getWorld()).zones()))
+                .then(CommandManager.literal("here")
+                    .executes(context -> listZones(context.getSource(), ZoneIndex.of(context.getSource().getWorld())
+                        .zonesIn(new ChunkPos(BlockPos.ofFloored(context.getSource().getPosition())))))));
+    }
+
+    private static int addZone(ServerCommandSource source, String name, BlockPos from, BlockPos to, String abilities) {
+        Zone zone;
+        try {
+            zone = Zone.of(name, from, to, Zone.parseAbilities(abilities));
+            ZoneIndex.of(source.getWorld()).put(zone);
+        } catch (IllegalArgumentException e) {
+            source.sendError(Text.literal(e.getMessage()));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Zone " + describe(zone)), true);
+        return 1;
+    }
+
+    private static int removeZone(ServerCommandSource source, String name) {
+        if (!ZoneIndex.of(source.getWorld()).remove(name)) {
+            source.sendError(Text.literal("No zone named " + name));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Removed zone " + name), true);
+        return 1;
+    }
+
+    private static int listZones(ServerCommandSource source, List<Zone> zones) {
+        if (zones.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No zones"), false);
+            return 0;
+        }
+        for (Zone zone : zones) {
+            source.sendFeedback(() -> Text.literal(describe(zone)), false);
+        }
+        return zones.size();
+    }
+
+    private static String describe(Zone zone) {
+        return String.format("%s: %d %d %d to %d %d %d, forbids %s", zone.name(),
+            zone.minX(), zone.minY(), zone.minZ(), zone.maxX(), zone.maxY(), zone.maxZ(), zone.describeAbilities());
+    }
+
+    // ========== STATS ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> stats() {
+        return CommandManager.literal("stats")
+            .then(CommandManager.argument("player", EntityArgumentType.player())
+                .executes(context -> showStats(context.getSource(), EntityArgumentType.getPlayer(context, "player"))));
+    }
+
+    private static int showStats(ServerCommandSource source, ServerPlayerEntity player) {
+        String summary = FlightStats.describe(player);
+        if (summary == null) {
+            source.sendError(Text.literal("No flight stats kept for " + player.getName().getString()));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal(summary), false);
+        return 1;
+    }
+
+    // ========== HEATMAP ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> heatmap() {
+        return CommandManager.literal("heatmap")
+            .executes(context -> showHeatmap(context.getSource()))
+            .then(CommandManager.literal("export")
+                .then(CommandManager.literal("csv")
+                    .executes(context -> exportHeatmap(context.getSource(), "csv")))
+                .then(CommandManager.literal("png")
+                    .executes(context -> exportHeatmap(context.getSource(), "png"))))
+            .then(CommandManager.literal("reset")
+                .executes(context -> {
+                    ServerWorld world = context.getSource().getWorld();
+                    MobilityWorld.context(world).execute(() -> GlideHeatmap.of(world).clear());
+                    context.getSource().sendFeedback(() -> Text.literal("Glide heatmap of " + world.getRegistryKey().getValue() + " reset"), true);
+                    return 1;
+                }));
+    }
+
+    private static int showHeatmap(ServerCommandSource source) {
+        ServerWorld world = source.getWorld();
+        // Read without the world's ownership; the count is only informative
+        int cells = GlideHeatmap.of(world).size();
+        source.sendFeedback(() -> Text.literal("Glide heatmap of " + world.getRegistryKey().getValue() + ": " + cells + " cells"), false);
+        return cells;
+    }
+
+    private static int exportHeatmap(ServerCommandSource source, String format) {
+        ServerWorld world = source.getWorld();
+        MinecraftServer server = source.getServer();
+        Path file = GlideHeatmap.exportFile(server, world, format);
+
+        source.sendFeedback(() -> Text.literal("Exporting glide heatmap to " + file.getFileName() + "..."), false);
+        // The counters belong to the world's owner; only the copy leaves it
+        MobilityWorld.context(world).execute(() -> {
+            GlideHeatmap.Snapshot snapshot = GlideHeatmap.of(world).snapshot();
+            CompletableFuture.supplyAsync(() -> {
+                try {
+                    if (format.equals("png")) {
+                        snapshot.writePng(file);
+                    } else {
+                        snapshot.writeCsv(file);
+                    }
+                    return "Exported " + snapshot.keys().length + " heatmap cells to " + file.getFileName();
+                } catch (IOException e) {
+                    MobilityEnchantments.LOGGER.warn("Failed to export glide heatmap to {}", file, e);
+                    return "Heatmap export failed: " + e.getMessage();
+                }
+            }, WORKER).thenAccept(summary -> server.execute(() -> source.sendFeedback(() -> Text.literal(summary), false)));
+        });
+        return 1;
+    }
+
+    // ========== RECORD ==========
+
+    private static LiteralArgumentBuilder<ServerCommandSource> record() {
+        return CommandManager.literal("record")
+            .then(CommandManager.literal("start")
+                .then(CommandManager.literal("all")
+                    .executes(context -> {
+                        FlightRecorder.startAll(context.getSource().getServer());
+                        context.getSource().sendFeedback(() -> Text.literal("Recording all players"), true);
+                        return 1;
+                    }))
+                .then(CommandManager.argument("targets", EntityArgumentType.players())
+                    .executes(context -> startRecording(context.getSource(), EntityArgumentType.getPlayers(context, "targets")))))
+            .then(CommandManager.literal("stop")
+                .executes(context -> {
+                    FlightRecorder.stopAll();
+                    context.getSource().sendFeedback(() -> Text.literal("Stopped all flight recordings"), true);
+                    return 1;
+                })
+                .then(CommandManager.argument("targets", EntityArgumentType.players())
+                    .executes(context -> stopRecording(context.getSource(), EntityArgumentType.getPlayers(context, "targets")))))
+            .then(CommandManager.literal("replay")
+                .then(CommandManager.argument("file", StringArgumentType.string())
+                    .executes(context -> replay(context.getSource(), StringArgumentType.getString(context, "file")))));
+    }
+
+    private static int startRecording(ServerCommandSource source, Collection<ServerPlayerEntity> players) {
+        int started = 0;
+        for (ServerPlayerEntity player : players) {
+            if (FlightRecorder.start(player)) {
+                started++;
+            }
+        }
+        int count = started;
+        source.sendFeedback(() -> Text.literal("Started " + count + " flight recording(s)"), true);
+        return count;
+    }
+
+    private static int stopRecording(ServerCommandSource source, Collection<ServerPlayerEntity> players) {
+        int stopped = 0;
+        for (ServerPlayerEntity player : players) {
+            if (FlightRecorder.stop(player)) {
+                stopped++;
+            }
+        }
+        int count = stopped;
+        source.sendFeedback(() -> Text.literal("Stopped " + count + " flight recording(s)"), true);
+        return count;
+    }
+
+    private static int replay(ServerCommandSource source, String fileName) {
+        Path directory = FlightRecorder.directory(source.getServer()).normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            source.sendError(Text.literal("No recording named " + fileName));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("Replaying " + fileName + "..."), false);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return FlightReplayer.replay(file).summary();
+            } catch (Exception e) {
+                MobilityEnchantments.LOGGER.warn("Failed to replay flight recording {}", file, e);
+                return "Replay failed: " + e.getMessage();
+            }
+        }, WORKER).thenAccept(summary -> source.getServer().execute(() -> source.sendFeedback(() -> Text.literal(summary), false)));
+        return 1;
+    }
+}
@@ -34,6 +34,33 @@ public class MobilityConfig {
     /** Degrees from straight up where swooping forces are disabled */
     public static final double SWOOPING_DEAD_ZONE_DEGREES = 30.0;
 
+    /** Cooldown ticks after starting a swooping glide */
+    public static final int SWOOPING_COOLDOWN_TICKS = 3;
+
+    /** Upward acceleration right above sand, magma and lava, in blocks per tick squared (gravity is 0.08) */
+    public static final double SWOOPING_THERMAL_LIFT = 0.02;
+
+    /** Blocks above the surface at which a thermal has faded out */
+    public static final int SWOOPING_THERMAL_HEIGHT = 24;
+
+    /** Upward acceleration right above a lit campfire or a soul sand bubble column */
+    public static final double SWOOPING_UPDRAFT_LIFT = 0.09;
+
+    /** Blocks above the source at which an updraft has faded out */
+    public static final int SWOOPING_UPDRAFT_HEIGHT = 32;
+
+    /** Ridge lift per block of drop to the neighbouring column (drops under 2 blocks give none) */
+    public static final double SWOOPING_RIDGE_LIFT_PER_BLOCK = 0.004;
+
+    /** Drop in blocks beyond which ridge lift stops growing */
+    public static final int SWOOPING_RIDGE_MAX_SLOPE = 8;
+
+    /** Blocks above the ridge at which its lift has faded out, per block of drop */
+    public static final int SWOOPING_RIDGE_HEIGHT_PER_BLOCK = 2;
+
+    /** Chunks of lift kept per world before the least recently sampled is dropped */
+    public static final int SWOOPING_LIFT_FIELD_MAX_CHUNKS = 1024;
+
     // === DASH ===
     /** Velocity magnitude for dash (sufficient to move ~10 blocks) */
     public static final double DASH_VELOCITY = 1.5;
@@ -41,6 +68,9 @@ public class MobilityConfig {
     /** Hunger consumed per dash use (in half-drumsticks, 2 = 1 drumstick) */
     public static final int DASH_HUNGER_COST = 2;
 
+    /** Cooldown ticks after a dash before the next one */
+    public static final int DASH_COOLDOWN_TICKS = 3;
+
     // === DOUBLE JUMP ===
     /** Hunger consumed per double jump (in half-drumsticks, 2 = 1 drumstick) */
     public static final int DOUBLE_JUMP_HUNGER_COST = 2;
@@ -48,6 +78,9 @@ public class MobilityConfig {
     /** Velocity applied on double jump (same as normal jump) */
     public static final double DOUBLE_JUMP_VELOCITY = 0.42;
 
+    /** Cooldown ticks after a double jump */
+    public static final int DOUBLE_JUMP_COOLDOWN_TICKS = 3;
+
     // === ELYTRA ===
     /** Lift multiplier for elytra enchantment (1.0 = normal lift, same as vanilla elytra) */
     public static final double ELYTRA_LIFT_MULTIPLIER = 0.015;
@@ -64,6 +97,12 @@ public class MobilityConfig {
     /** Ticks between hunger consumption (15 seconds = 300 ticks) */
     public static final int ELYTRA_HUNGER_TICK_INTERVAL = 300;
 
+    /** Ticks of glide hunger gathered into a single exhaustion write (applies to swooping too) */
+    public static final int GLIDE_HUNGER_FLUSH_TICKS = 20;
+
+    /** Cooldown ticks after starting an elytra glide */
+    public static final int ELYTRA_COOLDOWN_TICKS = 3;
+
     // === WALL JUMP ===
     /** Hunger consumed per wall jump (in half-drumsticks, 0.5 = 0.25 drumsticks) */
     public static final float WALL_JUMP_HUNGER_COST = 0.5f;
@@ -74,13 +113,173 @@ public class MobilityConfig {
     /** Distance from player hitbox to check for walls (in blocks) */
     public static final double WALL_DETECTION_DISTANCE = 0.0625; // 1/16 block
 
+    /** Only count blocks whose face towards the player is a full solid square as walls; when false any non-air block is a wall (fences, panes, leaves and slabs included) */
+    public static final boolean WALL_REQUIRE_FULL_FACE = false;
+
     /** Air control force when in wall jumping mode (replaces normal air movement) */
     public static final float WALL_JUMP_AIR_CONTROL = 0.02f;
 
     /** Speed limit multiplier when in wall jumping mode */
     public static final double WALL_JUMP_SPEED_LIMIT = 1.0;
 
+    /** Cooldown ticks after a wall jump */
+    public static final int WALL_JUMP_COOLDOWN_TICKS = 3;
+
+    /** Horizontal speed along a wall a sprinting player needs to run on it (blocks per tick) */
+    public static final double WALL_RUN_MIN_SPEED = 0.2;
+
+    /** Fastest fall while wall running (blocks per tick); above vanilla's floating threshold, so runs must stay short */
+    public static final double WALL_RUN_MAX_FALL_SPEED = 0.03;
+
+    /** Longest wall run before the player starts sliding (30 ticks = 1.5 seconds) */
+    public static final int WALL_RUN_MAX_TICKS = 30;
+
+    /** Fastest fall while sliding down a wall (blocks per tick) */
+    public static final double WALL_SLIDE_MAX_FALL_SPEED = 0.15;
+
     // === GENERAL ===
-    /** Cooldown ticks to prevent ability spam (3 ticks = 0.15 seconds) */
+    /** Cooldown ticks to prevent ability spam (3 ticks = 0.15 seconds), for abilities without their own */
     public static final int ABILITY_COOLDOWN_TICKS = 3;
+
+    /** Tell players in chat about every air jump request and why it failed; for debugging abilities */
+    public static final boolean ACTIVATION_DEBUG_MESSAGES = false;
+
+    // === MOVEMENT ENVELOPE ===
+    /** Ticks after an ability activation during which vanilla's movement check is widened by the ability's reach */
+    public static final int MOVEMENT_ENVELOPE_TICKS = 20;
+
+    /** Multiplier on an ability's per-tick reach before it is added to vanilla's movement allowance */
+    public static final double MOVEMENT_ENVELOPE_MARGIN = 1.5;
+
+    // === THREADING ===
+    /** Throw when an entity's mobility state is used by a thread that does not own its world; for debugging parallel world ticking */
+    public static final boolean CHECK_STATE_OWNERSHIP = false;
+
+    // === DETERMINISTIC GLIDE ===
+    /** Use table trigonometry built from StrictMath so client and server glide physics agree bit for bit */
+    public static final boolean DETERMINISTIC_GLIDE_PHYSICS = true;
+
+    /** With deterministic physics, resend a glider's velocity at least this often even when nothing diverged */
+    public static final int GLIDE_KEYFRAME_INTERVAL_TICKS = 20;
+
+    // === MOB GLIDING ===
+    /** Mobs and armour stands wearing a glide chestplate deploy it once falling faster than this (blocks per tick) */
+    public static final double MOB_GLIDE_DEPLOY_FALL_SPEED = 0.5D;
+
+    // === GLIDE SPEED GOVERNOR ===
+    /** Ticks between governor samples of server tick time and pending chunks */
+    public static final int GOVERNOR_SAMPLE_INTERVAL_TICKS = 10;
+
+    /** Average milliseconds per tick above which glide speed starts being reduced */
+    public static final double GOVERNOR_TARGET_MSPT = 40.0;
+
+    /** Average milliseconds per tick at which glide speed reaches the minimum scale */
+    public static final double GOVERNOR_CRITICAL_MSPT = 60.0;
+
+    /** Smallest fraction of the normal speed cap the governor will ever allow */
+    public static final double GOVERNOR_MIN_SPEED_SCALE = 0.35;
+
+    /** Fraction of the gap to the target scale closed per sample while slowing down */
+    public static final double GOVERNOR_DECAY_RATE = 0.3;
+
+    /** Fraction of the gap to the target scale closed per sample while recovering */
+    public static final double GOVERNOR_RECOVERY_RATE = 0.05;
+
+    /** Radius (in chunks) of the area ahead of a glider checked for chunks still loading */
+    public static final int GOVERNOR_LOOKAHEAD_CHUNK_RADIUS = 2;
+
+    /** Ticks of travel ahead of the glider where the pending-chunk area is centred */
+    public static final int GOVERNOR_LOOKAHEAD_TICKS = 20;
+
+    /** Pending chunks ahead of a glider that are tolerated before slowing them down */
+    public static final int GOVERNOR_PENDING_CHUNKS_TOLERATED = 3;
+
+    /** Pending chunks ahead of a glider at which their speed reaches the minimum scale */
+    public static final int GOVERNOR_PENDING_CHUNKS_CRITICAL = 15;
+
+    /** Elytra speed cap scaled down while the governor throttles; Elytra flight is uncapped at full scale. Just above a vertical dive's ~3.9 b/t so throttling eases in */
+    public static final double GOVERNOR_ELYTRA_SPEED_LIMIT = 4.0;
+
+    // === CHUNK PREFETCH ===
+    /** Ticks between re-projections of each glider's path */
+    public static final int PREFETCH_INTERVAL_TICKS = 10;
+
+    /** How far ahead (in ticks) a glider's path is projected (100 ticks = 5 seconds) */
+    public static final int PREFETCH_LOOKAHEAD_TICKS = 100;
+
+    /** Maximum prefetch chunk tickets held for a single player at once */
+    public static final int PREFETCH_MAX_CHUNKS_PER_PLAYER = 8;
+
+    /** Ticks after which a prefetch ticket expires unless the next projection renews it */
+    public static final int PREFETCH_TICKET_TIMEOUT_TICKS = 40;
+
+    /** Ticket levels below a full chunk for prefetch tickets: generated but not full, and queued behind player tickets */
+    public static final int PREFETCH_TICKET_LEVELS_BELOW_FULL = 1;
+
+    // === OBSERVER VELOCITY BROADCAST ===
+    /** Observers within this many blocks of a glider receive every velocity update */
+    public static final double BROADCAST_NEAR_DISTANCE = 24.0;
+
+    /** Observers within this many blocks (but beyond the near distance) receive reduced-rate updates */
+    public static final double BROADCAST_MID_DISTANCE = 64.0;
+
+    /** Ticks between velocity updates sent to mid-distance observers */
+    public static final int BROADCAST_MID_INTERVAL_TICKS = 2;
+
+    /** Ticks between velocity updates sent to observers beyond the mid distance */
+    public static final int BROADCAST_FAR_INTERVAL_TICKS = 5;
+
+    /** Interval multiplier in every tier for observers that extrapolate remote glides themselves (clients running the mod) */
+    public static final int BROADCAST_SMOOTHED_INTERVAL_MULTIPLIER = 3;
+
+    // === REMOTE GLIDE SMOOTHING ===
+    /** Client ticks over which the error between an extrapolated remote glide and a fresh server keyframe is blended out */
+    public static final int REMOTE_GLIDE_BLEND_TICKS = 4;
+
+    // === METRICS ===
+    /** Count activations, tick time, velocity syncs and hunger writes for the metrics exporter */
+    public static final boolean METRICS_ENABLED = true;
+
+    /** Ticks between metrics snapshots (200 = every 10 seconds) */
+    public static final int METRICS_EXPORT_INTERVAL_TICKS = 200;
+
+    /** Write each snapshot to a Prometheus text file in the game directory */
+    public static final boolean METRICS_FILE_ENABLED = true;
+
+    /** Name of the Prometheus text file, e.g. for a node-exporter textfile collector */
+    public static final String METRICS_FILE_NAME = "mobility-metrics.prom";
+
+    /** Serve snapshots on http://localhost:<port>/metrics; 0 disables the endpoint */
+    public static final int METRICS_HTTP_PORT = 0;
+
+    // === ZONES ===
+    /** Most chunks one zone may overlap; larger zones are refused, since the index lists a zone under every chunk it touches */
+    public static final int ZONE_MAX_CHUNKS = 65536;
+
+    // === FLIGHT STATS ===
+    /** Ticks between background flushes of the memory-mapped flight stats file (1200 = every minute) */
+    public static final int STATS_FLUSH_INTERVAL_TICKS = 1200;
+
+    /** Player records the flight stats file grows by when it runs out of slots */
+    public static final int STATS_GROWTH_RECORDS = 1024;
+
+    // === GLIDE HEATMAP ===
+    /** Log2 of the heatmap cell edge in blocks (4 = one chunk, 9 = one region file) */
+    public static final int HEATMAP_CELL_SHIFT = 4;
+
+    /** Cells a world's heatmap holds at most (about 24 bytes each); activity in further cells is not counted */
+    public static final int HEATMAP_MAX_CELLS = 262144;
+
+    // === AUDIT LOG ===
+    /** Activation records buffered for the audit log writer; records beyond this are dropped until it catches up */
+    public static final int AUDIT_LOG_BUFFER_RECORDS = 8192;
+
+    /** Milliseconds the audit log writer waits between batches when there is nothing to write */
+    public static final long AUDIT_LOG_FLUSH_MILLIS = 1000L;
+
+    /** Size at which the audit log is rotated (8 MiB) */
+    public static final long AUDIT_LOG_MAX_FILE_BYTES = 8L * 1024L * 1024L;
+
+    /** Rotated audit log files kept besides the current one */
+    public static final int AUDIT_LOG_KEEP_FILES = 5;
 }
@@ -0,0 +1,56 @@
+package ninja.trek.mobility.config;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
+import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leaves out the mixins of modules switched off in {@link MobilityModules}, so disabled
+ * abilities cost nothing at runtime.
+ */
+public class MobilityMixinPlugin implements IMixinConfigPlugin {
+    private static final String MIXIN_PACKAGE = "ninja.trek.mobility.mixin.";
+
+    @Override
+    public void onLoad(String mixinPackage) {
+    }
+
+    @Override
+    public String getRefMapperConfig() {
+        return null;
+    }
+
+    @Override
+    public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
+        return switch (mixinClassName.substring(MIXIN_PACKAGE.length())) {
+            // Glide start, glide physics inputs, canGlideWith and glider broadcast tiers
+            case "GlideLivingEntityMixin", "ServerPlayNetworkHandlerMixin", "EntityTrackerEntryMixin" -> MobilityModules.glide();
+            // Wall jump air control and the wall contact cache
+            case "PlayerEntityMixin", "WorldWallContactMixin" -> MobilityModules.WALL_JUMP;
+            // Swooping lift field
+            case "WorldLiftMixin" -> MobilityModules.SWOOPING;
+            case "PlayerInputRecorderMixin" -> MobilityModules.FLIGHT_RECORDER;
+            default -> true;
+        };
+    }
+
+    @Override
+    public void acceptTargets(Set<String> myTargets, Set<String> otherTargets) {
+    }
+
+    @Override
+    public List<String> getMixins() {
+        return null;
+    }
+
+    @Override
+    public void preApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+    }
+
+    @Override
+    public void postApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+    }
+}
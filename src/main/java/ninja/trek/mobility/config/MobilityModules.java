@@ -0,0 +1,111 @@
+package ninja.trek.mobility.config;
+
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Startup switches for each ability and optional subsystem, read once from
+ * {@code config/mobility-enchantments.properties}.
+ *
+ * <p>This class is first touched by {@link MobilityMixinPlugin} before any Minecraft class
+ * is loaded, so it must only depend on the loader and the JDK. Changes take effect after a
+ * restart, because the mixins for disabled modules are never applied.</p>
+ */
+public final class MobilityModules {
+    private static final Logger LOGGER = LoggerFactory.getLogger("mobility-enchantments");
+    private static final String FILE_NAME = "mobility-enchantments.properties";
+
+    public static final boolean SWOOPING;
+    public static final boolean DASH;
+    public static final boolean DOUBLE_JUMP;
+    public static final boolean ELYTRA;
+    public static final boolean WALL_JUMP;
+    public static final boolean FLIGHT_RECORDER;
+    public static final boolean AUDIT_LOG;
+    public static final boolean FLIGHT_STATS;
+    public static final boolean GLIDE_HEATMAP;
+
+    static {
+        Properties properties = load();
+        SWOOPING = flag(properties, "swooping");
+        DASH = flag(properties, "dash");
+        DOUBLE_JUMP = flag(properties, "double_jump");
+        ELYTRA = flag(properties, "elytra");
+        WALL_JUMP = flag(properties, "wall_jump");
+        FLIGHT_RECORDER = flag(properties, "flight_recorder");
+        AUDIT_LOG = flag(properties, "audit_log");
+        FLIGHT_STATS = flag(properties, "flight_stats");
+        GLIDE_HEATMAP = flag(properties, "glide_heatmap");
+    }
+
+    private MobilityModules() {
+    }
+
+    /**
+     * @return true if any ability that turns a chestplate into a glider is enabled
+     */
+    public static boolean glide() {
+        return SWOOPING || ELYTRA;
+    }
+
+    /**
+     * @return true if any ability triggered by jumping in mid-air is enabled
+     */
+    public static boolean airJump() {
+        return DASH || DOUBLE_JUMP || WALL_JUMP;
+    }
+
+    /**
+     * @param name the enchantment's path, e.g. {@code "double_jump"}
+     * @return true if the ability with that name is enabled; unknown names are enabled
+     */
+    public static boolean isEnabled(String name) {
+        return switch (name) {
+            case "swooping" -> SWOOPING;
+            case "dash" -> DASH;
+            case "double_jump" -> DOUBLE_JUMP;
+            case "elytra" -> ELYTRA;
+            case "wall_jump" -> WALL_JUMP;
+            default -> true;
+        };
+    }
+
+    private static boolean flag(Properties properties, String key) {
+        return Boolean.parseBoolean(properties.getProperty(key, "true").trim());
+    }
+
+    private static Properties load() {
+        Path file = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+        Properties properties = new Properties();
+
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read {}, enabling every module", file, e);
+            }
+            return properties;
+        }
+
+        for (String key : new String[]{"swooping", "dash", "double_jump", "elytra", "wall_jump", "flight_recorder", "audit_log", "flight_stats", "glide_heatmap"}) {
+            properties.setProperty(key, "true");
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Mobility Enchantments modules. Disabled modules are not patched into the game; restart to apply.");
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write default {}", file, e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,68 @@
+package ninja.trek.mobility.config;
+
+import java.util.Properties;
+
+/**
+ * One set of balance values that can differ between worlds and permission levels.
+ *
+ * <p>Everything not listed here stays global in {@link MobilityConfig}. A player's profile
+ * is resolved by {@link MobilityProfiles} when they join or change world and kept on their
+ * {@code MobilityState}, so abilities read these fields directly.</p>
+ */
+public final class MobilityProfile {
+    /** The global values from {@link MobilityConfig}, used when no profile matches */
+    public static final MobilityProfile DEFAULT = new MobilityProfile("default",
+        MobilityConfig.DASH_VELOCITY, MobilityConfig.DASH_HUNGER_COST,
+        MobilityConfig.DOUBLE_JUMP_VELOCITY, MobilityConfig.DOUBLE_JUMP_HUNGER_COST,
+        MobilityConfig.WALL_JUMP_HUNGER_COST, MobilityConfig.ELYTRA_LIFT_MULTIPLIER, 1.0D);
+
+    public final String name;
+    public final double dashVelocity;
+    public final float dashHungerCost;
+    public final double doubleJumpVelocity;
+    public final float doubleJumpHungerCost;
+    public final float wallJumpHungerCost;
+    public final double elytraLiftMultiplier;
+    /** Scales glide hunger; 0 makes gliding free */
+    public final double glideHungerMultiplier;
+
+    public MobilityProfile(String name, double dashVelocity, float dashHungerCost, double doubleJumpVelocity,
+                           float doubleJumpHungerCost, float wallJumpHungerCost, double elytraLiftMultiplier,
+                           double glideHungerMultiplier) {
+        this.name = name;
+        this.dashVelocity = dashVelocity;
+        this.dashHungerCost = dashHungerCost;
+        this.doubleJumpVelocity = doubleJumpVelocity;
+        this.doubleJumpHungerCost = doubleJumpHungerCost;
+        this.wallJumpHungerCost = wallJumpHungerCost;
+        this.elytraLiftMultiplier = elytraLiftMultiplier;
+        this.glideHungerMultiplier = glideHungerMultiplier;
+    }
+
+    /**
+     * Read the profile's {@code profile.<name>.*} keys; missing keys keep the default value.
+     */
+    static MobilityProfile parse(String name, Properties properties) {
+        String prefix = "profile." + name + ".";
+        return new MobilityProfile(name,
+            number(properties, prefix + "dash_velocity", DEFAULT.dashVelocity),
+            (float) number(properties, prefix + "dash_hunger_cost", DEFAULT.dashHungerCost),
+            number(properties, prefix + "double_jump_velocity", DEFAULT.doubleJumpVelocity),
+            (float) number(properties, prefix + "double_jump_hunger_cost", DEFAULT.doubleJumpHungerCost),
+            (float) number(properties, prefix + "wall_jump_hunger_cost", DEFAULT.wallJumpHungerCost),
+            number(properties, prefix + "elytra_lift_multiplier", DEFAULT.elytraLiftMultiplier),
+            number(properties, prefix + "glide_hunger_multiplier", DEFAULT.glideHungerMultiplier));
+    }
+
+    private static double number(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + key + "=" + value, e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ninja.trek.mobility.config;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import ninja.trek.mobility.state.MobilityState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-world and per-permission {@link MobilityProfile}s, read once from
+ * {@code config/mobility-profiles.properties}.
+ *
+ * <p>{@code profiles} lists the profile names in priority order. A profile applies in the
+ * worlds named by {@code profile.<name>.worlds} (any world if unset) to players with at
+ * least {@code profile.<name>.permission_level} (everyone if unset). A player gets the first
+ * profile that applies, or {@link MobilityProfile#DEFAULT}:</p>
+ * <pre>
+ * profiles=arena_staff,arena,nether
+ * profile.arena_staff.worlds=myserver:arena
+ * profile.arena_staff.permission_level=2
+ * profile.arena_staff.dash_hunger_cost=0
+ * profile.arena.worlds=myserver:arena
+ * profile.arena.dash_hunger_cost=1
+ * profile.nether.worlds=minecraft:the_nether
+ * profile.nether.elytra_lift_multiplier=0
+ * </pre>
+ *
+ * <p>Resolving walks the list, so it only happens when a player joins, respawns or changes
+ * world; the result is cached on their state.</p>
+ */
+public final class MobilityProfiles {
+    private static final Logger LOGGER = LoggerFactory.getLogger("mobility-enchantments");
+    private static final String FILE_NAME = "mobility-profiles.properties";
+
+    private static final List<Rule> RULES = load();
+
+    private MobilityProfiles() {
+    }
+
+    /**
+     * @return the profile that applies to the player in their current world
+     */
+    public static MobilityProfile resolve(ServerPlayerEntity player) {
+        Identifier world = player.getEntityWorld().getRegistryKey().getValue();
+        for (Rule rule : RULES) {
+            if ((rule.worlds.isEmpty() || rule.worlds.contains(world))
+                && (rule.permissionLevel <= 0 || player.hasPermissionLevel(rule.permissionLevel))) {
+                return rule.profile;
+            }
+        }
+        return MobilityProfile.DEFAULT;
+    }
+
+    /**
+     * Resolve the player's profile and cache it on their state.
+     */
+    public static void apply(ServerPlayerEntity player) {
+        MobilityState.of(player).mobility$setProfile(resolve(player));
+    }
+
+    /**
+     * @return the largest value of {@code value} over the default and every profile
+     */
+    public static double max(ToDoubleFunction<MobilityProfile> value) {
+        double max = value.applyAsDouble(MobilityProfile.DEFAULT);
+        for (Rule rule : RULES) {
+            max = Math.max(max, value.applyAsDouble(rule.profile));
+        }
+        return max;
+    }
+
+    private record Rule(MobilityProfile profile, Set<Identifier> worlds, int permissionLevel) {
+    }
+
+    private static List<Rule> load() {
+        Path file = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+        Properties properties = new Properties();
+        if (!Files.exists(file)) {
+            properties.setProperty("profiles", "");
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file)) {
+                    properties.store(writer, "Mobility Enchantments profiles, first match wins. "
+                        + "Keys: profile.<name>.worlds, permission_level, dash_velocity, dash_hunger_cost, "
+                        + "double_jump_velocity, double_jump_hunger_cost, wall_jump_hunger_cost, "
+                        + "elytra_lift_multiplier, glide_hunger_multiplier");
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not write default {}", file, e);
+            }
+            return List.of();
+        }
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {}, using the default profile everywhere", file, e);
+            return List.of();
+        }
+
+        List<Rule> rules = new ArrayList<>();
+        for (String name : properties.getProperty("profiles", "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                Set<Identifier> worlds = new HashSet<>();
+                for (String world : properties.getProperty("profile." + name + ".worlds", "").split(",")) {
+                    if (!world.isBlank()) {
+                        worlds.add(Identifier.of(world.trim()));
+                    }
+                }
+                int permissionLevel = Integer.parseInt(properties.getProperty("profile." + name + ".permission_level", "0").trim());
+                rules.add(new Rule(MobilityProfile.parse(name, properties), Set.copyOf(worlds), permissionLevel));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Ignoring mobility profile {} in {}", name, file, e);
+            }
+        }
+        LOGGER.info("Loaded {} mobility profile(s)", rules.size());
+        return List.copyOf(rules);
+    }
+}
@@ -0,0 +1,122 @@
+package ninja.trek.mobility.lift;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.BubbleColumnBlock;
+import net.minecraft.block.CampfireBlock;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
+import ninja.trek.mobility.config.MobilityConfig;
+
+/**
+ * The lift of one chunk, column by column: where the lift starts, how strong it is there and
+ * how high it reaches. Built once from the chunk's heightmap and surface blocks.
+ */
+final class ChunkLift {
+    private static final int COLUMNS = 16 * 16;
+
+    // First air block above the surface; the lift is strongest here and fades to nothing at reach
+    final int[] surface = new int[COLUMNS];
+    private final float[] lift = new float[COLUMNS];
+    private final float[] reach = new float[COLUMNS];
+
+    /**
+     * Read the lift sources of a loaded chunk.
+     */
+    ChunkLift(WorldChunk chunk) {
+        Heightmap heightmap = chunk.getHeightmap(Heightmap.Type.MOTION_BLOCKING);
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                surface[index(x, z)] = heightmap.get(x, z);
+            }
+        }
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                int column = index(x, z);
+                BlockState top = chunk.getBlockState(pos.set(startX + x, surface[column] - 1, startZ + z));
+
+                float strength = 0.0F;
+                float height = 0.0F;
+                if (isUpdraft(top)) {
+                    strength += (float) MobilityConfig.SWOOPING_UPDRAFT_LIFT;
+                    height = Math.max(height, MobilityConfig.SWOOPING_UPDRAFT_HEIGHT);
+                } else if (isThermal(top)) {
+                    strength += (float) MobilityConfig.SWOOPING_THERMAL_LIFT;
+                    height = Math.max(height, MobilityConfig.SWOOPING_THERMAL_HEIGHT);
+                }
+
+                int slope = Math.min(slope(x, z), MobilityConfig.SWOOPING_RIDGE_MAX_SLOPE);
+                if (slope >= 2) {
+                    strength += (float) (slope * MobilityConfig.SWOOPING_RIDGE_LIFT_PER_BLOCK);
+                    height = Math.max(height, slope * MobilityConfig.SWOOPING_RIDGE_HEIGHT_PER_BLOCK);
+                }
+
+                lift[column] = strength;
+                reach[column] = height;
+            }
+        }
+    }
+
+    /**
+     * @param x block x within the chunk
+     * @param y world block y
+     * @param z block z within the chunk
+     * @return upward acceleration in blocks per tick squared
+     */
+    double sample(int x, int y, int z) {
+        int column = index(x, z);
+        int above = y - surface[column];
+        float height = reach[column];
+        if (above < 0 || above >= height) {
+            return 0.0D;
+        }
+        return lift[column] * (1.0F - above / height);
+    }
+
+    static int index(int x, int z) {
+        return z << 4 | x;
+    }
+
+    /**
+     * Steepest drop to a neighbouring column. Neighbours outside the chunk are not looked at,
+     * so a chunk's field never depends on another chunk.
+     */
+    private int slope(int x, int z) {
+        int height = surface[index(x, z)];
+        int steepest = 0;
+        if (x > 0) {
+            steepest = Math.max(steepest, height - surface[index(x - 1, z)]);
+        }
+        if (x < 15) {
+            steepest = Math.max(steepest, height - surface[index(x + 1, z)]);
+        }
+        if (z > 0) {
+            steepest = Math.max(steepest, height - surface[index(x, z - 1)]);
+        }
+        if (z < 15) {
+            steepest = Math.max(steepest, height - surface[index(x, z + 1)]);
+        }
+        return steepest;
+    }
+
+    private static boolean isThermal(BlockState state) {
+        return state.isIn(BlockTags.SAND) || state.isOf(Blocks.MAGMA_BLOCK) || state.getFluidState().isIn(FluidTags.LAVA);
+    }
+
+    /**
+     * Lit campfires, and bubble columns rising from soul sand.
+     */
+    private static boolean isUpdraft(BlockState state) {
+        if (state.isOf(Blocks.BUBBLE_COLUMN)) {
+            return !state.get(BubbleColumnBlock.DRAG);
+        }
+        return CampfireBlock.isLitCampfire(state);
+    }
+}
@@ -0,0 +1,112 @@
+package ninja.trek.mobility.lift;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+
+/**
+ * Environmental lift for Swooping gliders: thermals over sand, magma and lava, ridge lift
+ * above steep drops, and updrafts over lit campfires and soul sand bubble columns.
+ *
+ * <p>Each world keeps one field. A chunk's lift is worked out from its heightmap and surface
+ * blocks the first time a glider samples it, and kept until a block changes at or above the
+ * surface of that chunk, the chunk unloads or is replaced, or it is the least recently used of more than
+ * {@link MobilityConfig#SWOOPING_LIFT_FIELD_MAX_CHUNKS}. Sampling is then one map lookup,
+ * skipped entirely while the glider stays in the chunk it sampled last.</p>
+ *
+ * <p>Client and server build the same field from the same blocks, so a client predicting
+ * its own glide feels the same lift. A field is only used from its world's tick thread.</p>
+ */
+public final class LiftField {
+    private final World world;
+    private final Long2ObjectLinkedOpenHashMap<ChunkLift> chunks = new Long2ObjectLinkedOpenHashMap<>();
+
+    private long lastKey = Long.MIN_VALUE;
+    private ChunkLift last;
+
+    public LiftField(World world) {
+        this.world = world;
+    }
+
+    /**
+     * @return the field of an entity's world
+     */
+    public static LiftField of(World world) {
+        return ((LiftWorld) world).mobility$getLiftField();
+    }
+
+    /**
+     * @return upward acceleration at the entity's feet in blocks per tick squared; to be
+     *         subtracted from gravity
+     */
+    public static double sample(LivingEntity entity) {
+        return of(entity.getEntityWorld()).sample(entity.getX(), entity.getY(), entity.getZ());
+    }
+
+    public double sample(double x, double y, double z) {
+        int blockX = MathHelper.floor(x);
+        int blockZ = MathHelper.floor(z);
+        ChunkLift chunk = chunk(blockX >> 4, blockZ >> 4);
+        if (chunk == null) {
+            return 0.0D;
+        }
+        return chunk.sample(blockX & 15, MathHelper.floor(y), blockZ & 15);
+    }
+
+    /**
+     * Drop the chunk's lift if the change can affect it: only blocks at or above a column's
+     * surface block decide its lift, so changes underground leave the field alone.
+     */
+    public void onBlockChanged(BlockPos pos) {
+        long key = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        ChunkLift chunk = chunks.get(key);
+        if (chunk != null && pos.getY() >= chunk.surface[ChunkLift.index(pos.getX() & 15, pos.getZ() & 15)] - 1) {
+            evict(key);
+        }
+    }
+
+    /**
+     * Drop the chunk's lift, to be rebuilt from its blocks on the next sample. Called when the
+     * chunk unloads, and on the client also when a chunk data packet replaces it.
+     */
+    public void invalidate(ChunkPos pos) {
+        evict(pos.toLong());
+    }
+
+    private ChunkLift chunk(int chunkX, int chunkZ) {
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        if (key == lastKey) {
+            return last;
+        }
+
+        ChunkLift chunk = chunks.getAndMoveToLast(key);
+        if (chunk == null) {
+            if (!world.getChunkManager().isChunkLoaded(chunkX, chunkZ)) {
+                // Nothing to read yet; ask again once it has loaded
+                return null;
+            }
+            chunk = new ChunkLift(world.getChunk(chunkX, chunkZ));
+            MobilityMetrics.countLiftChunkBuilt();
+            chunks.putAndMoveToLast(key, chunk);
+            if (chunks.size() > MobilityConfig.SWOOPING_LIFT_FIELD_MAX_CHUNKS) {
+                chunks.removeFirst();
+            }
+        }
+        lastKey = key;
+        last = chunk;
+        return chunk;
+    }
+
+    private void evict(long key) {
+        chunks.remove(key);
+        if (key == lastKey) {
+            lastKey = Long.MIN_VALUE;
+            last = null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ninja.trek.mobility.lift;
+
+/**
+ * Implemented via mixin on World to carry the world's {@link LiftField}, on both client
+ * and server.
+ */
+public interface LiftWorld {
+
+    /**
+     * @return the lift field of this world
+     */
+    LiftField mobility$getLiftField();
+}
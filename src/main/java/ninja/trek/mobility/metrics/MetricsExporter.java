@@ -0,0 +1,221 @@
+package ninja.trek.mobility.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.ability.ActivationOutcome;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.server.GlideSpeedGovernor;
+import ninja.trek.mobility.server.GlideSystem;
+import ninja.trek.mobility.server.VelocityBroadcastPolicy;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes {@link MobilityMetrics} in the Prometheus text exposition format.
+ *
+ * <p>Every {@link MobilityConfig#METRICS_EXPORT_INTERVAL_TICKS} ticks the server thread
+ * counts active gliders and renders a snapshot. The snapshot is written to
+ * {@link MobilityConfig#METRICS_FILE_NAME} in the game directory by a background thread
+ * (replaced atomically, so a node-exporter textfile collector never sees half a file) and,
+ * if {@link MobilityConfig#METRICS_HTTP_PORT} is set, served from {@code /metrics} on
+ * localhost.</p>
+ */
+public final class MetricsExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Mobility Metrics Exporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile byte[] snapshot = new byte[0];
+    private static HttpServer httpServer;
+
+    private MetricsExporter() {
+    }
+
+    public static void onServerStarted(MinecraftServer server) {
+        if (!MobilityMetrics.ENABLED || MobilityConfig.METRICS_HTTP_PORT <= 0) {
+            return;
+        }
+
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), MobilityConfig.METRICS_HTTP_PORT), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                byte[] body = snapshot;
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.setExecutor(WRITER);
+            httpServer.start();
+            MobilityEnchantments.LOGGER.info("Serving mobility metrics on http://localhost:{}/metrics", MobilityConfig.METRICS_HTTP_PORT);
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Could not start mobility metrics endpoint", e);
+            httpServer = null;
+        }
+    }
+
+    public static void onServerStopped(MinecraftServer server) {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    public static void onEndServerTick(MinecraftServer server) {
+        if (!MobilityMetrics.ENABLED || server.getTicks() % MobilityConfig.METRICS_EXPORT_INTERVAL_TICKS != 0) {
+            return;
+        }
+
+        byte[] rendered = render(server).getBytes(StandardCharsets.UTF_8);
+        snapshot = rendered;
+        if (MobilityConfig.METRICS_FILE_ENABLED) {
+            WRITER.execute(() -> write(rendered));
+        }
+    }
+
+    private static String render(MinecraftServer server) {
+        int elytraGliders = 0;
+        int swoopingGliders = 0;
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            MobilityState state = MobilityState.of(player);
+            if (state.mobility$isElytraGliding()) {
+                elytraGliders++;
+            } else if (state.mobility$isSwoopingGliding()) {
+                swoopingGliders++;
+            }
+        }
+
+        int systemMembers = 0;
+        int systemGliders = 0;
+        if (MobilityModules.glide()) {
+            for (ServerWorld world : server.getWorlds()) {
+                GlideSystem system = GlideSystem.of(world);
+                systemMembers += system.size();
+                systemGliders += system.gliding();
+            }
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "mobility_ability_activations_total", "counter", "Successful ability activations");
+        for (int id = 0; id < MobilityAbilities.count(); id++) {
+            MobilityAbility ability = MobilityAbilities.byId(id);
+            out.append("mobility_ability_activations_total{ability=\"").append(ability.name()).append("\"} ")
+                .append(MobilityMetrics.outcomeCount(ability, ActivationOutcome.SUCCESS)).append('\n');
+        }
+
+        header(out, "mobility_ability_failures_total", "counter", "Rejected ability activations by reason");
+        for (int id = 0; id < MobilityAbilities.count(); id++) {
+            MobilityAbility ability = MobilityAbilities.byId(id);
+            for (ActivationOutcome outcome : MobilityMetrics.outcomes()) {
+                long count = MobilityMetrics.outcomeCount(ability, outcome);
+                if (outcome.succeeded() || count == 0L) {
+                    continue;
+                }
+                out.append("mobility_ability_failures_total{ability=\"").append(ability.name())
+                    .append("\",reason=\"").append(outcome.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                    .append(count).append('\n');
+            }
+        }
+
+        header(out, "mobility_active_gliders", "gauge", "Players currently gliding with a mobility enchantment");
+        out.append("mobility_active_gliders{physics=\"elytra\"} ").append(elytraGliders).append('\n');
+        out.append("mobility_active_gliders{physics=\"swooping\"} ").append(swoopingGliders).append('\n');
+
+        header(out, "mobility_glide_system_members", "gauge", "Non-player entities wearing a glide chestplate");
+        out.append("mobility_glide_system_members ").append(systemMembers).append('\n');
+        header(out, "mobility_glide_system_gliders", "gauge", "Non-player entities glided by the batched glide system last tick");
+        out.append("mobility_glide_system_gliders ").append(systemGliders).append('\n');
+
+        header(out, "mobility_tick_seconds_total", "counter", "Time spent in the mod's per-player tick hook");
+        out.append("mobility_tick_seconds_total ").append(MobilityMetrics.TICK_NANOS.sum() / 1.0E9D).append('\n');
+        header(out, "mobility_ticks_total", "counter", "Calls of the mod's per-player tick hook");
+        out.append("mobility_ticks_total ").append(MobilityMetrics.TICKS.sum()).append('\n');
+
+        header(out, "mobility_velocity_syncs_forced_total", "counter", "Times the mod marked a player's velocity for resending");
+        out.append("mobility_velocity_syncs_forced_total ").append(MobilityMetrics.VELOCITY_SYNCS_FORCED.sum()).append('\n');
+        header(out, "mobility_glide_syncs_skipped_total", "counter", "Glide ticks not resent because the client predicts them exactly");
+        out.append("mobility_glide_syncs_skipped_total ").append(MobilityMetrics.GLIDE_SYNCS_SKIPPED.sum()).append('\n');
+
+        header(out, "mobility_velocity_broadcast_packets_total", "counter", "Glider velocity packets by observer tier");
+        for (VelocityBroadcastPolicy.Tier tier : VelocityBroadcastPolicy.Tier.values()) {
+            String label = tier.name().toLowerCase(Locale.ROOT);
+            out.append("mobility_velocity_broadcast_packets_total{tier=\"").append(label).append("\",result=\"sent\"} ").append(tier.sentPackets()).append('\n');
+            out.append("mobility_velocity_broadcast_packets_total{tier=\"").append(label).append("\",result=\"skipped\"} ").append(tier.skippedPackets()).append('\n');
+        }
+        header(out, "mobility_velocity_broadcast_bytes_total", "counter", "Estimated glider velocity packet bytes by observer tier");
+        for (VelocityBroadcastPolicy.Tier tier : VelocityBroadcastPolicy.Tier.values()) {
+            String label = tier.name().toLowerCase(Locale.ROOT);
+            out.append("mobility_velocity_broadcast_bytes_total{tier=\"").append(label).append("\",result=\"sent\"} ").append(tier.sentBytes()).append('\n');
+            out.append("mobility_velocity_broadcast_bytes_total{tier=\"").append(label).append("\",result=\"skipped\"} ").append(tier.skippedBytes()).append('\n');
+        }
+
+        header(out, "mobility_hunger_writes_total", "counter", "Writes to player hunger by the mod");
+        out.append("mobility_hunger_writes_total{kind=\"food_level\"} ").append(MobilityMetrics.FOOD_LEVEL_WRITES.sum()).append('\n');
+        out.append("mobility_hunger_writes_total{kind=\"exhaustion\"} ").append(MobilityMetrics.EXHAUSTION_WRITES.sum()).append('\n');
+
+        header(out, "mobility_move_checks_widened_total", "counter", "Move packets checked against an allowance widened by a movement envelope");
+        out.append("mobility_move_checks_widened_total ").append(MobilityMetrics.MOVE_CHECKS_WIDENED.sum()).append('\n');
+        header(out, "mobility_move_rollbacks_total", "counter", "Move packets the server answered by teleporting the player back");
+        out.append("mobility_move_rollbacks_total{envelope=\"open\"} ").append(MobilityMetrics.MOVE_ROLLBACKS_ENVELOPE_OPEN.sum()).append('\n');
+        out.append("mobility_move_rollbacks_total{envelope=\"closed\"} ").append(MobilityMetrics.MOVE_ROLLBACKS_ENVELOPE_CLOSED.sum()).append('\n');
+
+        header(out, "mobility_audit_records_dropped_total", "counter", "Activations missing from the audit log because its buffer was full");
+        out.append("mobility_audit_records_dropped_total ").append(MobilityMetrics.AUDIT_RECORDS_DROPPED.sum()).append('\n');
+
+        header(out, "mobility_lift_chunks_built_total", "counter", "Chunks whose Swooping lift field was built from their blocks");
+        out.append("mobility_lift_chunks_built_total ").append(MobilityMetrics.LIFT_CHUNKS_BUILT.sum()).append('\n');
+
+        header(out, "mobility_wall_contact_probes_total", "counter", "Wall contacts probed from blocks because the player crossed a block boundary or a nearby block changed");
+        out.append("mobility_wall_contact_probes_total ").append(MobilityMetrics.WALL_CONTACT_PROBES.sum()).append('\n');
+
+        header(out, "mobility_debug_messages_total", "counter", "Debug chat messages sent to players");
+        out.append("mobility_debug_messages_total ").append(MobilityMetrics.DEBUG_MESSAGES.sum()).append('\n');
+
+        header(out, "mobility_glide_speed_scale", "gauge", "Server-wide glide speed scale from the speed governor");
+        out.append("mobility_glide_speed_scale ").append(GlideSpeedGovernor.serverScale()).append('\n');
+        header(out, "mobility_server_mspt", "gauge", "Average milliseconds per tick seen by the speed governor");
+        out.append("mobility_server_mspt ").append(GlideSpeedGovernor.lastMspt()).append('\n');
+
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void write(byte[] body) {
+        Path target = FabricLoader.getInstance().getGameDir().resolve(MobilityConfig.METRICS_FILE_NAME);
+        Path temp = target.resolveSibling(MobilityConfig.METRICS_FILE_NAME + ".tmp");
+        try {
+            Files.write(temp, body);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Could not write mobility metrics to {}", target, e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ninja.trek.mobility.metrics;
+
+import ninja.trek.mobility.ability.ActivationOutcome;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.config.MobilityConfig;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the mod's hot paths.
+ *
+ * <p>Everything is a {@link LongAdder}, so increments from the tick and network paths never
+ * contend; the sums are only read when {@link MetricsExporter} takes a snapshot. Outcome
+ * counters are indexed by ability id and {@link ActivationOutcome#ordinal()}.</p>
+ */
+public final class MobilityMetrics {
+    public static final boolean ENABLED = MobilityConfig.METRICS_ENABLED;
+
+    private static final ActivationOutcome[] OUTCOMES = ActivationOutcome.values();
+
+    private static volatile LongAdder[][] outcomes = new LongAdder[0][];
+
+    public static final LongAdder TICK_NANOS = new LongAdder();
+    public static final LongAdder TICKS = new LongAdder();
+    public static final LongAdder VELOCITY_SYNCS_FORCED = new LongAdder();
+    public static final LongAdder GLIDE_SYNCS_SKIPPED = new LongAdder();
+    public static final LongAdder FOOD_LEVEL_WRITES = new LongAdder();
+    public static final LongAdder EXHAUSTION_WRITES = new LongAdder();
+    public static final LongAdder DEBUG_MESSAGES = new LongAdder();
+    public static final LongAdder MOVE_CHECKS_WIDENED = new LongAdder();
+    public static final LongAdder MOVE_ROLLBACKS_ENVELOPE_OPEN = new LongAdder();
+    public static final LongAdder MOVE_ROLLBACKS_ENVELOPE_CLOSED = new LongAdder();
+    public static final LongAdder AUDIT_RECORDS_DROPPED = new LongAdder();
+    public static final LongAdder LIFT_CHUNKS_BUILT = new LongAdder();
+    public static final LongAdder WALL_CONTACT_PROBES = new LongAdder();
+
+    private MobilityMetrics() {
+    }
+
+    /**
+     * Count an activation attempt that reached an ability.
+     */
+    public static void recordOutcome(MobilityAbility ability, ActivationOutcome outcome) {
+        if (!ENABLED) {
+            return;
+        }
+        LongAdder[][] table = outcomes;
+        int id = ability.id();
+        if (id >= table.length) {
+            table = grow();
+        }
+        table[id][outcome.ordinal()].increment();
+    }
+
+    /**
+     * Count one call of the mod's per-tick hook and the time it took.
+     */
+    public static void recordTick(long nanos) {
+        TICK_NANOS.add(nanos);
+        TICKS.increment();
+    }
+
+    /**
+     * Count a velocity change the mod marked for resending to the client.
+     */
+    public static void countVelocitySync() {
+        if (ENABLED) {
+            VELOCITY_SYNCS_FORCED.increment();
+        }
+    }
+
+    /**
+     * Count a glide tick whose velocity was not resent because the client computes it identically.
+     */
+    public static void countGlideSyncSkipped() {
+        if (ENABLED) {
+            GLIDE_SYNCS_SKIPPED.increment();
+        }
+    }
+
+    /**
+     * Count a direct write to a player's food level.
+     */
+    public static void countFoodLevelWrite() {
+        if (ENABLED) {
+            FOOD_LEVEL_WRITES.increment();
+        }
+    }
+
+    /**
+     * Count exhaustion added to a player.
+     */
+    public static void countExhaustionWrite() {
+        if (ENABLED) {
+            EXHAUSTION_WRITES.increment();
+        }
+    }
+
+    /**
+     * Count a move packet checked against an allowance widened by a movement envelope.
+     */
+    public static void countMoveCheckWidened() {
+        if (ENABLED) {
+            MOVE_CHECKS_WIDENED.increment();
+        }
+    }
+
+    /**
+     * Count a move packet that the server rejected by teleporting the player back.
+     *
+     * @param envelopeOpen whether a movement envelope was widening the player's check
+     */
+    public static void countMoveRollback(boolean envelopeOpen) {
+        if (ENABLED) {
+            (envelopeOpen ? MOVE_ROLLBACKS_ENVELOPE_OPEN : MOVE_ROLLBACKS_ENVELOPE_CLOSED).increment();
+        }
+    }
+
+    /**
+     * Count an activation the audit log had no room for.
+     */
+    public static void countAuditRecordDropped() {
+        if (ENABLED) {
+            AUDIT_RECORDS_DROPPED.increment();
+        }
+    }
+
+    /**
+     * Count a chunk whose Swooping lift was worked out from its blocks.
+     */
+    public static void countLiftChunkBuilt() {
+        if (ENABLED) {
+            LIFT_CHUNKS_BUILT.increment();
+        }
+    }
+
+    /**
+     * Count a wall contact probed from the blocks rather than served from its cache.
+     */
+    public static void countWallContactProbe() {
+        if (ENABLED) {
+            WALL_CONTACT_PROBES.increment();
+        }
+    }
+
+    /**
+     * @return how often {@code ability} ended with {@code outcome}
+     */
+    public static long outcomeCount(MobilityAbility ability, ActivationOutcome outcome) {
+        LongAdder[][] table = outcomes;
+        return ability.id() < table.length ? table[ability.id()][outcome.ordinal()].sum() : 0L;
+    }
+
+    static ActivationOutcome[] outcomes() {
+        return OUTCOMES;
+    }
+
+    // Abilities can register after the first increment; the table only ever grows
+    private static synchronized LongAdder[][] grow() {
+        int count = MobilityAbilities.count();
+        LongAdder[][] table = outcomes;
+        if (table.length >= count) {
+            return table;
+        }
+
+        LongAdder[][] grown = Arrays.copyOf(table, count);
+        for (int id = table.length; id < count; id++) {
+            grown[id] = new LongAdder[OUTCOMES.length];
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                grown[id][i] = new LongAdder();
+            }
+        }
+        outcomes = grown;
+        return grown;
+    }
+}
@@ -8,4 +8,7 @@ import org.spongepowered.asm.mixin.gen.Invoker;
 public interface EntityAccessor {
     @Invoker("getFlag")
     boolean invokeGetFlag(int flag);
+
+    @Invoker("setFlag")
+    void invokeSetFlag(int flag, boolean value);
 }
@@ -0,0 +1,36 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.EntityVelocityUpdateS2CPacket;
+import net.minecraft.server.network.EntityTrackerEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.server.VelocityBroadcastPolicy;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Routes the velocity updates of gliding players through {@link VelocityBroadcastPolicy}
+ * so distant trackers receive them at a reduced rate.
+ */
+@Mixin(EntityTrackerEntry.class)
+public class EntityTrackerEntryMixin {
+
+    @Shadow
+    @Final
+    private Entity entity;
+
+    @Redirect(method = "tick", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/server/network/EntityTrackerEntry$TrackerPacketSender;sendToSelfAndListeners(Lnet/minecraft/network/packet/Packet;)V"))
+    private void mobility$tierVelocityBroadcast(EntityTrackerEntry.TrackerPacketSender sender, Packet<? super ClientPlayPacketListener> packet) {
+        if (packet instanceof EntityVelocityUpdateS2CPacket && VelocityBroadcastPolicy.handles(entity)) {
+            VelocityBroadcastPolicy.broadcast((ServerPlayerEntity) entity, sender, packet);
+            return;
+        }
+        sender.sendToSelfAndListeners(packet);
+    }
+}
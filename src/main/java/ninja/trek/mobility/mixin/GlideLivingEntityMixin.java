@@ -0,0 +1,92 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.ability.GlideAbility;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.physics.GlideMath;
+import ninja.trek.mobility.server.GlideSystem;
+import ninja.trek.mobility.state.MobilityState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * LivingEntity hooks only needed by the glide abilities (Elytra and Swooping).
+ */
+@Mixin(LivingEntity.class)
+public abstract class GlideLivingEntityMixin {
+
+    @Unique
+    private Vec3d mobility$tickStartVelocity = Vec3d.ZERO;
+
+    /**
+     * Remember the velocity vanilla starts the tick with; the glide physics works from it
+     * rather than from vanilla's own glide result.
+     */
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void mobility$capturePreTickVelocity(CallbackInfo ci) {
+        LivingEntity self = (LivingEntity) (Object) this;
+        this.mobility$tickStartVelocity = self.getVelocity();
+        if (self instanceof ServerPlayerEntity player) {
+            MobilityState.of(player).mobility$setPreTickVelocity(mobility$tickStartVelocity);
+        }
+    }
+
+    /**
+     * Client-side prediction: with deterministic physics the local player runs the same
+     * glide step as the server, from the same tick-start velocity, so the server only has
+     * to correct it when the two actually diverge.
+     */
+    @Inject(method = "calcGlidingVelocity", at = @At("HEAD"), cancellable = true)
+    private void mobility$predictGlide(Vec3d oldVelocity, CallbackInfoReturnable<Vec3d> cir) {
+        LivingEntity self = (LivingEntity) (Object) this;
+        if (!GlideMath.DETERMINISTIC || !self.getEntityWorld().isClient() || !(self instanceof PlayerEntity)) {
+            return;
+        }
+
+        MobilityAbility ability = MobilityAbilities.forStack(self.getEquippedStack(EquipmentSlot.CHEST));
+        if (ability instanceof GlideAbility glide) {
+            double gravity = ((LivingEntityAccessor) self).invokeGetEffectiveGravity();
+            cir.setReturnValue(glide.predict(self, mobility$tickStartVelocity, gravity));
+        }
+    }
+
+    /**
+     * Non-player gliders take their velocity from their world's {@link GlideSystem}, which
+     * computed it in a batch at the start of the tick.
+     */
+    @Inject(method = "calcGlidingVelocity", at = @At("HEAD"), cancellable = true)
+    private void mobility$batchedGlide(Vec3d oldVelocity, CallbackInfoReturnable<Vec3d> cir) {
+        LivingEntity self = (LivingEntity) (Object) this;
+        if (self instanceof PlayerEntity || self.getEntityWorld().isClient()) {
+            return;
+        }
+
+        Vec3d velocity = GlideSystem.glideVelocity(self, oldVelocity);
+        if (velocity != null) {
+            cir.setReturnValue(velocity);
+        }
+    }
+
+    @Inject(method = "canGlideWith", at = @At("HEAD"), cancellable = true)
+    private static void mobility$elytraCanGlide(ItemStack stack, EquipmentSlot slot, CallbackInfoReturnable<Boolean> cir) {
+        if (slot != EquipmentSlot.CHEST) {
+            return;
+        }
+
+        if (!MobilityAbilities.forStack(stack).canGlide()) {
+            return;
+        }
+
+        cir.setReturnValue(!GlideAbility.isNearlyBroken(stack));
+    }
+}
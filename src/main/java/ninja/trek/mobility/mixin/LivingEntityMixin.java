@@ -1,46 +1,57 @@
 package ninja.trek.mobility.mixin;
 
-import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.item.ItemStack;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.util.math.Vec3d;
-import ninja.trek.mobility.config.MobilityConfig;
-import ninja.trek.mobility.enchantment.ModEnchantments;
-import ninja.trek.mobility.physics.ElytraPhysics;
-import ninja.trek.mobility.physics.SwoopingPhysics;
+import ninja.trek.mobility.ability.AbilityDispatcher;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.recorder.FlightRecord;
+import ninja.trek.mobility.recorder.FlightRecorder;
+import ninja.trek.mobility.state.MobilityComponent;
+import ninja.trek.mobility.state.MobilityHolder;
 import ninja.trek.mobility.state.MobilityState;
-import ninja.trek.mobility.util.EnchantmentUtil;
+import ninja.trek.mobility.stats.FlightStats;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 /**
- * Main mixin for handling continuous mobility enchantment effects.
- * Air jump activation is now handled in ServerPlayNetworkHandlerMixin.
+ * Main mixin for handling continuous mobility enchantment effects, and the holder of every
+ * living entity's {@link MobilityComponent}.
+ * Glide-specific hooks live in GlideLivingEntityMixin, which is only applied when a glide ability is enabled.
+ * Non-player gliders are ticked in bulk by {@code GlideSystem} instead of through here.
  */
 @Mixin(LivingEntity.class)
-public abstract class LivingEntityMixin {
+public abstract class LivingEntityMixin implements MobilityHolder {
 
     @Unique
-    private Vec3d mobility$preTickVelocity = Vec3d.ZERO;
+    private MobilityComponent mobility$component;
+
+    @Override
+    public MobilityComponent mobility$getComponent() {
+        MobilityComponent component = mobility$component;
+        if (component == null) {
+            component = new MobilityComponent();
+            mobility$component = component;
+        }
+        return component;
+    }
 
-    private LivingEntity self() {
-        return (LivingEntity)(Object)this;
+    @Override
+    public MobilityComponent mobility$peekComponent() {
+        return mobility$component;
     }
 
-    @Inject(method = "tick", at = @At("HEAD"))
-    private void mobility$capturePreTickVelocity(CallbackInfo ci) {
-        this.mobility$preTickVelocity = self().getVelocity();
+    private LivingEntity self() {
+        return (LivingEntity)(Object)this;
     }
 
     /**
-     * Inject into tick to handle state management (cooldown, hunger, landing) and
-     * run our custom Elytra physics once vanilla is done with its update.
+     * Inject into tick to handle shared state (landing) and then hand the rest
+     * of the tick to the chestplate's ability once vanilla is done with its update.
      */
     @Inject(method = "tick", at = @At("TAIL"))
     private void onTick(CallbackInfo ci) {
@@ -48,150 +59,31 @@ public abstract class LivingEntityMixin {
             return;
         }
 
-        MobilityState state = (MobilityState) player;
-
-        // Decrement cooldown
-        if (state.mobility$getCooldown() > 0) {
-            state.mobility$setCooldown(state.mobility$getCooldown() - 1);
-        }
+        long startNanos = MobilityMetrics.ENABLED ? System.nanoTime() : 0L;
+        MobilityState state = MobilityState.of(player);
 
         // Reset states when player lands
         if (self().isOnGround()) {
             state.mobility$resetStates();
         }
 
-        if (player.isGliding() && shouldForceStopGlide(player)) {
-            player.stopGliding();
-        }
-
-        boolean hasElytraEnchant = hasElytraEnchant(player);
-        boolean hasSwoopingEnchant = hasSwoopingEnchant(player);
-        boolean isElytraGliding = player.isGliding() && hasElytraEnchant;
-        boolean isSwoopingGliding = player.isGliding() && hasSwoopingEnchant;
-
-        if (isElytraGliding) {
-            state.mobility$setElytraGliding(true);
-            state.mobility$setWallJumping(false);
-
-            if (!player.isCreative() && !player.isSpectator()) {
-                float exhaustionPerTick = (float) (MobilityConfig.ELYTRA_HUNGER_PER_15S * 4.0D / MobilityConfig.ELYTRA_HUNGER_TICK_INTERVAL);
-                if (exhaustionPerTick > 0.0F) {
-                    float accumulated = state.mobility$getElytraHungerRemainder() + exhaustionPerTick;
-                    if (accumulated >= 0.01F) {
-                        player.addExhaustion(accumulated);
-                        accumulated = 0.0F;
-                    }
-                    state.mobility$setElytraHungerRemainder(accumulated);
-                }
-            } else {
-                state.mobility$setElytraHungerRemainder(0.0F);
-            }
-        } else if (state.mobility$isElytraGliding()) {
-            state.mobility$setElytraGliding(false);
-            state.mobility$setElytraHungerRemainder(0.0F);
+        FlightStats.resolveSlot(player, state);
+        MobilityAbility ability = MobilityAbilities.forEntity(player, state);
+        if (ability != MobilityAbilities.NONE && !self().isOnGround() && !player.getAbilities().flying) {
+            FlightStats.countAirTick(state);
         }
-
-        if (isSwoopingGliding) {
-            state.mobility$setSwoopingGliding(true);
-            state.mobility$setWallJumping(false);
-
-            if (!player.isCreative() && !player.isSpectator()) {
-                float exhaustionPerTick = (float) (MobilityConfig.ELYTRA_HUNGER_PER_15S * 4.0D / MobilityConfig.ELYTRA_HUNGER_TICK_INTERVAL);
-                if (exhaustionPerTick > 0.0F) {
-                    float accumulated = state.mobility$getSwoopingHungerRemainder() + exhaustionPerTick;
-                    if (accumulated >= 0.01F) {
-                        player.addExhaustion(accumulated);
-                        accumulated = 0.0F;
-                    }
-                    state.mobility$setSwoopingHungerRemainder(accumulated);
-                }
-            } else {
-                state.mobility$setSwoopingHungerRemainder(0.0F);
+        byte physics = AbilityDispatcher.tick(player, state, ability);
+        if (FlightRecorder.isActive()) {
+            double gravity = ((LivingEntityAccessor) this).invokeGetEffectiveGravity();
+            if (physics == FlightRecord.PHYSICS_SWOOPING) {
+                // Record the gravity the physics actually used, so replays include the lift
+                gravity -= state.mobility$getGlideLift();
             }
-        } else if (state.mobility$isSwoopingGliding()) {
-            state.mobility$setSwoopingGliding(false);
-            state.mobility$setSwoopingHungerRemainder(0.0F);
-        }
-
-        // Handle wall jumping air control
-        if (state.mobility$isWallJumping()) {
-            tickWallJumping(player, state);
-        }
-
-        maybeApplyGlidePhysics(player, state);
-    }
-
-    @Inject(method = "canGlideWith", at = @At("HEAD"), cancellable = true)
-    private static void mobility$elytraCanGlide(ItemStack stack, EquipmentSlot slot, CallbackInfoReturnable<Boolean> cir) {
-        if (slot != EquipmentSlot.CHEST) {
-            return;
-        }
-
-        boolean hasElytra = EnchantmentUtil.hasEnchantment(stack, ModEnchantments.ELYTRA);
-        boolean hasSwooping = EnchantmentUtil.hasEnchantment(stack, ModEnchantments.SWOOPING);
-
-        if (!hasElytra && !hasSwooping) {
-            return;
-        }
-
-        if (stack.isDamageable() && stack.getDamage() >= stack.getMaxDamage() - 1) {
-            cir.setReturnValue(false);
-            return;
-        }
-
-        cir.setReturnValue(true);
-    }
-
-    private boolean hasElytraEnchant(ServerPlayerEntity player) {
-        ItemStack chest = player.getEquippedStack(EquipmentSlot.CHEST);
-        return EnchantmentUtil.hasEnchantment(chest, ModEnchantments.ELYTRA);
-    }
-
-    private boolean hasSwoopingEnchant(ServerPlayerEntity player) {
-        ItemStack chest = player.getEquippedStack(EquipmentSlot.CHEST);
-        return EnchantmentUtil.hasEnchantment(chest, ModEnchantments.SWOOPING);
-    }
-
-    private boolean shouldForceStopGlide(ServerPlayerEntity player) {
-        return player.isOnGround()
-            || player.isTouchingWater()
-            || player.hasVehicle()
-            || player.hasStatusEffect(StatusEffects.LEVITATION);
-    }
-
-    // ========== WALL JUMP ==========
-
-    private void tickWallJumping(ServerPlayerEntity player, MobilityState state) {
-        // Wall jumping mode provides different air control
-        // This is handled through the movement input system
-        // We just apply speed limits here
-
-        Vec3d velocity = self().getVelocity();
-        double horizontalSpeed = Math.sqrt(velocity.x * velocity.x + velocity.z * velocity.z);
-
-        // Apply speed limit if needed
-        if (horizontalSpeed > MobilityConfig.WALL_JUMP_SPEED_LIMIT) {
-            double scale = MobilityConfig.WALL_JUMP_SPEED_LIMIT / horizontalSpeed;
-            velocity = new Vec3d(velocity.x * scale, velocity.y, velocity.z * scale);
-            self().setVelocity(velocity);
-            player.velocityModified = true; // Mark velocity as modified so it syncs to client
-        }
-    }
-
-    private void maybeApplyGlidePhysics(ServerPlayerEntity player, MobilityState state) {
-        Vec3d oldVelocity = mobility$preTickVelocity;
-
-        if (state.mobility$isElytraGliding() && hasElytraEnchant(player)) {
-            Vec3d newVelocity = ElytraPhysics.computeGlideVelocity(player, oldVelocity, ((LivingEntityAccessor) this).invokeGetEffectiveGravity());
-            player.setVelocity(newVelocity);
-            player.velocityModified = true;
-            return;
+            FlightRecorder.onTick(player, state, state.mobility$getPreTickVelocity(), gravity, ability.speedLimit(state), physics);
         }
 
-        if (state.mobility$isSwoopingGliding() && hasSwoopingEnchant(player)) {
-            Vec3d newVelocity = SwoopingPhysics.computeGlideVelocity(player, oldVelocity, ((LivingEntityAccessor) this).invokeGetEffectiveGravity());
-            player.setVelocity(newVelocity);
-            player.velocityModified = true;
+        if (MobilityMetrics.ENABLED) {
+            MobilityMetrics.recordTick(System.nanoTime() - startNanos);
         }
     }
 }
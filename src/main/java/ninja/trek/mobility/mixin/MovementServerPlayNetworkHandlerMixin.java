@@ -0,0 +1,46 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.network.packet.c2s.play.PlayerMoveC2SPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.server.MovementEnvelope;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Constant;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyConstant;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Hooks vanilla's player movement checks for {@link MovementEnvelope}. Unlike
+ * {@link ServerPlayNetworkHandlerMixin} this applies to every ability, not just gliding.
+ */
+@Mixin(ServerPlayNetworkHandler.class)
+public class MovementServerPlayNetworkHandlerMixin {
+
+    @Shadow
+    public ServerPlayerEntity player;
+
+    /**
+     * Widen the "moved too quickly" allowance (100, or 300 while gliding) by the active
+     * ability's envelope.
+     */
+    @ModifyConstant(method = "onPlayerMove", constant = {@Constant(floatValue = 100.0F), @Constant(floatValue = 300.0F)})
+    private float mobility$widenMoveAllowance(float allowance) {
+        return MovementEnvelope.widen(player, allowance);
+    }
+
+    /**
+     * Count every move the server answers with a teleport back, split by whether an
+     * envelope was open, so the effect of widening shows in the metrics.
+     */
+    @Inject(method = "onPlayerMove", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/server/network/ServerPlayNetworkHandler;requestTeleport(DDDFF)V"))
+    private void mobility$countRollback(PlayerMoveC2SPacket packet, CallbackInfo ci) {
+        if (MobilityMetrics.ENABLED) {
+            MobilityMetrics.countMoveRollback(MovementEnvelope.isOpen(player));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.Vec3d;
 import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
 import ninja.trek.mobility.state.MobilityState;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -31,7 +32,7 @@ public abstract class PlayerEntityMixin {
             return;
         }
 
-        MobilityState state = (MobilityState) serverPlayer;
+        MobilityState state = MobilityState.of(serverPlayer);
 
         //TODO
 
@@ -56,6 +57,7 @@ public abstract class PlayerEntityMixin {
             Vec3d force = new Vec3d(moveX, 0, moveZ).normalize().multiply(MobilityConfig.WALL_JUMP_AIR_CONTROL);
             player.setVelocity(velocity.add(force));
             player.velocityModified = true;
+            MobilityMetrics.countVelocitySync();
         }
     }
 }
@@ -0,0 +1,26 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.network.packet.c2s.play.PlayerInputC2SPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.recorder.FlightRecorder;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Taps player input packets for the flight recorder.
+ */
+@Mixin(ServerPlayNetworkHandler.class)
+public class PlayerInputRecorderMixin {
+
+    @Shadow
+    public ServerPlayerEntity player;
+
+    @Inject(method = "onPlayerInput", at = @At("HEAD"))
+    private void mobility$recordInput(PlayerInputC2SPacket packet, CallbackInfo ci) {
+        FlightRecorder.onInput(player.getUuid(), packet.input());
+    }
+}
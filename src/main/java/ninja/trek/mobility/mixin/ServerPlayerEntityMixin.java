@@ -1,114 +1,42 @@
 package ninja.trek.mobility.mixin;
 
 import net.minecraft.server.network.ServerPlayerEntity;
-import ninja.trek.mobility.state.MobilityState;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityWorldContext;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 /**
- * Mixin to add mobility state tracking to ServerPlayerEntity.
+ * Runs a player's own tick as the owner of their world.
+ *
+ * <p>Vanilla ticks a player's movement from their connection ({@code ServerPlayNetworkHandler.tick}
+ * calls {@code playerTick}, which runs {@code LivingEntity.tick}), after the worlds have
+ * ticked rather than inside the world's tick. Everything LivingEntityMixin and
+ * GlideLivingEntityMixin do for a player (abilities, glide physics, hunger, timers, stats)
+ * happens there, so the world is held for the whole of it.</p>
  */
 @Mixin(ServerPlayerEntity.class)
-public class ServerPlayerEntityMixin implements MobilityState {
+public abstract class ServerPlayerEntityMixin {
 
+    // The context taken at the start of the tick; the player may have changed world by the end
     @Unique
-    private boolean mobility$wallJumping = false;
+    private MobilityWorldContext mobility$tickContext;
 
-    @Unique
-    private boolean mobility$usedDoubleJump = false;
-
-    @Unique
-    private boolean mobility$elytraGliding = false;
-
-    @Unique
-    private boolean mobility$swoopingGliding = false;
-
-    @Unique
-    private float mobility$elytraHungerRemainder = 0.0F;
-
-    @Unique
-    private float mobility$swoopingHungerRemainder = 0.0F;
-
-    @Unique
-    private int mobility$cooldown = 0;
-
-    @Override
-    public boolean mobility$isWallJumping() {
-        return mobility$wallJumping;
-    }
-
-    @Override
-    public void mobility$setWallJumping(boolean wallJumping) {
-        this.mobility$wallJumping = wallJumping;
-    }
-
-    @Override
-    public boolean mobility$hasUsedDoubleJump() {
-        return mobility$usedDoubleJump;
-    }
-
-    @Override
-    public void mobility$setUsedDoubleJump(boolean used) {
-        this.mobility$usedDoubleJump = used;
-    }
-
-    @Override
-    public boolean mobility$isElytraGliding() {
-        return mobility$elytraGliding;
-    }
-
-    @Override
-    public void mobility$setElytraGliding(boolean gliding) {
-        this.mobility$elytraGliding = gliding;
-    }
-
-    @Override
-    public boolean mobility$isSwoopingGliding() {
-        return mobility$swoopingGliding;
-    }
-
-    @Override
-    public void mobility$setSwoopingGliding(boolean gliding) {
-        this.mobility$swoopingGliding = gliding;
-    }
-
-    @Override
-    public float mobility$getElytraHungerRemainder() {
-        return mobility$elytraHungerRemainder;
-    }
-
-    @Override
-    public void mobility$setElytraHungerRemainder(float remainder) {
-        this.mobility$elytraHungerRemainder = remainder;
-    }
-
-    @Override
-    public float mobility$getSwoopingHungerRemainder() {
-        return mobility$swoopingHungerRemainder;
-    }
-
-    @Override
-    public void mobility$setSwoopingHungerRemainder(float remainder) {
-        this.mobility$swoopingHungerRemainder = remainder;
-    }
-
-    @Override
-    public int mobility$getCooldown() {
-        return mobility$cooldown;
-    }
-
-    @Override
-    public void mobility$setCooldown(int ticks) {
-        this.mobility$cooldown = ticks;
+    @Inject(method = "playerTick", at = @At("HEAD"))
+    private void mobility$holdWorld(CallbackInfo ci) {
+        MobilityWorldContext context = MobilityWorld.context(((ServerPlayerEntity) (Object) this).getEntityWorld());
+        mobility$tickContext = context.acquire() ? context : null;
     }
 
-    @Override
-    public void mobility$resetStates() {
-        this.mobility$wallJumping = false;
-        this.mobility$usedDoubleJump = false;
-        this.mobility$elytraGliding = false;
-        this.mobility$elytraHungerRemainder = 0.0F;
-        this.mobility$swoopingGliding = false;
-        this.mobility$swoopingHungerRemainder = 0.0F;
+    @Inject(method = "playerTick", at = @At("RETURN"))
+    private void mobility$releaseWorld(CallbackInfo ci) {
+        MobilityWorldContext context = mobility$tickContext;
+        if (context != null) {
+            mobility$tickContext = null;
+            context.release();
+        }
     }
 }
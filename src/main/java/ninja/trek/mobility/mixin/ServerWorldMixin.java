@@ -0,0 +1,50 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.server.world.ServerWorld;
+import ninja.trek.mobility.server.GlideSystem;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityWorldContext;
+import ninja.trek.mobility.stats.GlideHeatmap;
+import ninja.trek.mobility.zone.ZoneIndex;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Gives every server world its own {@link MobilityWorldContext}, {@link GlideSystem}, {@link ZoneIndex}
+ * and {@link GlideHeatmap}.
+ */
+@Mixin(ServerWorld.class)
+public class ServerWorldMixin implements MobilityWorld {
+
+    @Unique
+    private final MobilityWorldContext mobility$context = new MobilityWorldContext(this);
+
+    @Unique
+    private final GlideSystem mobility$glideSystem = new GlideSystem();
+
+    @Unique
+    private final ZoneIndex mobility$zones = new ZoneIndex();
+
+    @Unique
+    private final GlideHeatmap mobility$heatmap = new GlideHeatmap();
+
+    @Override
+    public MobilityWorldContext mobility$getContext() {
+        return mobility$context;
+    }
+
+    @Override
+    public GlideSystem mobility$getGlideSystem() {
+        return mobility$glideSystem;
+    }
+
+    @Override
+    public ZoneIndex mobility$getZones() {
+        return mobility$zones;
+    }
+
+    @Override
+    public GlideHeatmap mobility$getHeatmap() {
+        return mobility$heatmap;
+    }
+}
@@ -0,0 +1,36 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.lift.LiftWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Gives every world, client or server, its own Swooping {@link LiftField} and keeps it in
+ * step with block changes.
+ */
+@Mixin(World.class)
+public class WorldLiftMixin implements LiftWorld {
+
+    @Unique
+    private final LiftField mobility$liftField = new LiftField((World) (Object) this);
+
+    @Override
+    public LiftField mobility$getLiftField() {
+        return mobility$liftField;
+    }
+
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z", at = @At("RETURN"))
+    private void mobility$invalidateLift(BlockPos pos, BlockState state, int flags, int maxUpdateDepth,
+                                         CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            mobility$liftField.onBlockChanged(pos);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ninja.trek.mobility.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import ninja.trek.mobility.wall.WallContactWorld;
+import ninja.trek.mobility.wall.WallContacts;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Gives every world its {@link WallContacts} and tells them about block changes, so cached
+ * wall contacts are probed again when a block next to a wall runner changes.
+ */
+@Mixin(World.class)
+public class WorldWallContactMixin implements WallContactWorld {
+
+    @Unique
+    private final WallContacts mobility$wallContacts = new WallContacts();
+
+    @Override
+    public WallContacts mobility$getWallContacts() {
+        return mobility$wallContacts;
+    }
+
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z", at = @At("RETURN"))
+    private void mobility$invalidateWallContacts(BlockPos pos, BlockState state, int flags, int maxUpdateDepth,
+                                                 CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ() && mobility$wallContacts.size() > 0) {
+            mobility$wallContacts.onBlockChanged(pos);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ninja.trek.mobility.network;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import ninja.trek.mobility.MobilityEnchantments;
+
+/**
+ * Client-to-server request to fire the air-jump hook of an ability.
+ *
+ * <p>The client detects the jump press itself and sends the id of the ability it believes
+ * its chestplate grants, plus its own tick counter. Ability ids come from registration
+ * order in {@code MobilityAbilities} and therefore match on both sides of the same mod
+ * version. The tick stamp is only used to reject duplicated or reordered requests.</p>
+ *
+ * @param abilityId  id of the requested {@code MobilityAbility}
+ * @param clientTick client tick counter at the moment the jump was pressed
+ */
+public record AbilityActivationPayload(int abilityId, int clientTick) implements CustomPayload {
+    public static final CustomPayload.Id<AbilityActivationPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(MobilityEnchantments.MOD_ID, "ability_activation"));
+
+    public static final PacketCodec<RegistryByteBuf, AbilityActivationPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, AbilityActivationPayload::abilityId,
+        PacketCodecs.VAR_INT, AbilityActivationPayload::clientTick,
+        AbilityActivationPayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
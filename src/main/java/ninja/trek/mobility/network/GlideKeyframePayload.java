@@ -0,0 +1,40 @@
+package ninja.trek.mobility.network;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.MobilityEnchantments;
+
+/**
+ * Server-to-client glide velocity of another player, sent instead of vanilla's velocity
+ * update to observers running the mod.
+ *
+ * <p>Vanilla quantises velocity updates, while a client extrapolating a remote glide with
+ * the glide physics needs the exact velocity the server's step produced to stay on the
+ * server's path between updates. Observers that registered a receiver for this payload get
+ * it at a fraction of the vanilla update rate, see {@code VelocityBroadcastPolicy}.</p>
+ *
+ * @param entityId network id of the gliding player
+ * @param velocity the player's velocity after the server's glide step
+ */
+public record GlideKeyframePayload(int entityId, Vec3d velocity) implements CustomPayload {
+    public static final CustomPayload.Id<GlideKeyframePayload> ID =
+        new CustomPayload.Id<>(Identifier.of(MobilityEnchantments.MOD_ID, "glide_keyframe"));
+
+    public static final PacketCodec<RegistryByteBuf, GlideKeyframePayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.VAR_INT, GlideKeyframePayload::entityId,
+        Vec3d.PACKET_CODEC, GlideKeyframePayload::velocity,
+        GlideKeyframePayload::new
+    );
+
+    /** Payload id, packet id and the three doubles; the entity id varint is added per packet */
+    public static final int FIXED_BYTES = 3 * Double.BYTES + 1 + ID.id().toString().length() + 1;
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
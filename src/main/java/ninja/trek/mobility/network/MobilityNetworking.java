@@ -0,0 +1,26 @@
+package ninja.trek.mobility.network;
+
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import ninja.trek.mobility.ability.AbilityDispatcher;
+import ninja.trek.mobility.server.MobilityWorld;
+
+/**
+ * Registers the mod's custom payloads and their server-side receivers.
+ */
+public final class MobilityNetworking {
+
+    private MobilityNetworking() {
+    }
+
+    public static void initialize() {
+        PayloadTypeRegistry.playC2S().register(AbilityActivationPayload.ID, AbilityActivationPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(GlideKeyframePayload.ID, GlideKeyframePayload.CODEC);
+
+        // Fabric runs play payload receivers on the server thread, which only owns the
+        // player's state while their world is not being ticked elsewhere
+        ServerPlayNetworking.registerGlobalReceiver(AbilityActivationPayload.ID, (payload, context) ->
+            MobilityWorld.execute(context.player(),
+                () -> AbilityDispatcher.airJump(context.player(), payload.abilityId(), payload.clientTick())));
+    }
+}
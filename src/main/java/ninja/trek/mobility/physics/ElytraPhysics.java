@@ -14,7 +14,8 @@ import ninja.trek.mobility.config.MobilityConfig;
  * stays familiar while still letting {@link MobilityConfig} expose balances knobs.
  * Additional documentation is provided throughout to make the aerodynamic reasoning
  * explicit, which is otherwise scattered through trigonometric one-liners in the
- * original code.</p>
+ * original code. Trigonometry goes through {@link GlideMath} so the result can be made
+ * bit-identical between client and server.</p>
  */
 public final class ElytraPhysics {
     private ElytraPhysics() {
@@ -42,12 +43,55 @@ public final class ElytraPhysics {
      * @return the new velocity vector that should be assigned to the entity for this tick
      */
     public static Vec3d computeGlideVelocity(LivingEntity entity, Vec3d oldVelocity, double gravity) {
-        // Unit vector for the direction the entity is currently looking.
-        Vec3d rotation = entity.getRotationVector();
+        return computeGlideVelocity(entity, oldVelocity, gravity, 0.0D);
+    }
+
+    /**
+     * Same as {@link #computeGlideVelocity(LivingEntity, Vec3d, double)} with a speed cap on
+     * top. Vanilla Elytra flight is only bounded by drag; the glide speed governor uses this
+     * to hold fast gliders back while the server cannot keep up with chunk generation.
+     *
+     * @param speedLimit maximum speed in blocks per tick ({@code <= 0} leaves flight uncapped)
+     */
+    public static Vec3d computeGlideVelocity(LivingEntity entity, Vec3d oldVelocity, double gravity, double speedLimit) {
+        return computeGlideVelocity(entity, oldVelocity, gravity, speedLimit, MobilityConfig.ELYTRA_LIFT_MULTIPLIER);
+    }
 
+    /**
+     * Same as {@link #computeGlideVelocity(LivingEntity, Vec3d, double, double)} with the
+     * lift multiplier of the glider's profile instead of {@link MobilityConfig#ELYTRA_LIFT_MULTIPLIER}.
+     */
+    public static Vec3d computeGlideVelocity(LivingEntity entity, Vec3d oldVelocity, double gravity, double speedLimit,
+                                             double liftMultiplier) {
         // Convert pitch to radians because Minecraft stores it in degrees on the entity.
         float pitchRadians = entity.getPitch() * (float) (Math.PI / 180.0);
 
+        Vec3d velocity = computeGlideVelocity(GlideMath.rotationVector(entity), pitchRadians, oldVelocity, gravity, liftMultiplier);
+        return SwoopingPhysics.clampSpeed(velocity, speedLimit);
+    }
+
+    /**
+     * Entity-free variant of {@link #computeGlideVelocity(LivingEntity, Vec3d, double)}.
+     *
+     * <p>Everything the glide step needs from the entity is its look vector and pitch, so
+     * callers that already hold those (batched kernels, benchmarks, replays) can run the
+     * exact same maths without an entity instance.</p>
+     *
+     * @param rotation      unit look vector of the glider
+     * @param pitchRadians  glider pitch in radians
+     * @param oldVelocity   velocity at the start of the tick, before Elytra adjustments
+     * @param gravity       pre-computed gravity acceleration supplied by the caller
+     * @return the new velocity vector for this tick
+     */
+    public static Vec3d computeGlideVelocity(Vec3d rotation, float pitchRadians, Vec3d oldVelocity, double gravity) {
+        return computeGlideVelocity(rotation, pitchRadians, oldVelocity, gravity, MobilityConfig.ELYTRA_LIFT_MULTIPLIER);
+    }
+
+    /**
+     * @param liftMultiplier scale of the pitch-dependent lift, {@link MobilityConfig#ELYTRA_LIFT_MULTIPLIER} by default
+     */
+    public static Vec3d computeGlideVelocity(Vec3d rotation, float pitchRadians, Vec3d oldVelocity, double gravity,
+                                             double liftMultiplier) {
         // Combined magnitude of the horizontal look direction components (ignore Y).
         double horizontalRotation = Math.sqrt(rotation.x * rotation.x + rotation.z * rotation.z);
 
@@ -55,9 +99,7 @@ public final class ElytraPhysics {
         double horizontalSpeed = oldVelocity.horizontalLength();
 
         // Factor reused by several terms; describes how "flat" the Elytra is aligned.
-        double cosSquared = MathHelper.square(Math.cos(pitchRadians));
-
-        double liftMultiplier = MobilityConfig.ELYTRA_LIFT_MULTIPLIER;
+        double cosSquared = MathHelper.square(GlideMath.pitchCos(pitchRadians));
 
         // Start from the old velocity and apply both gravity and Elytra lift.
         Vec3d velocity = oldVelocity.add(0.0, gravity * (-1.0 + cosSquared * 0.75 * liftMultiplier), 0.0);
@@ -70,7 +112,7 @@ public final class ElytraPhysics {
 
         if (pitchRadians < 0.0F && horizontalRotation > 0.0) {
             // Pulling the pitch below the horizon trades horizontal momentum for a strong upward push.
-            double adjust = horizontalSpeed * -MathHelper.sin(pitchRadians) * 0.04;
+            double adjust = horizontalSpeed * -GlideMath.pitchSin(pitchRadians) * 0.04;
             velocity = velocity.add(-rotation.x * adjust / horizontalRotation, adjust * 3.2, -rotation.z * adjust / horizontalRotation);
         }
 
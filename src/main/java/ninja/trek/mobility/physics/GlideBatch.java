@@ -0,0 +1,145 @@
+package ninja.trek.mobility.physics;
+
+import ninja.trek.mobility.config.MobilityConfig;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays container holding many gliders for a {@link GlideKernel}.
+ *
+ * <p>Each glider occupies one index across all arrays. Velocities are both input and
+ * output: a kernel reads them as the pre-tick velocity and overwrites them with the
+ * post-tick result. The Elytra-only inputs (look vector and pitch terms) are ignored by
+ * the Swooping kernel, so a batch should only ever hold one kind of glider.</p>
+ *
+ * <p>The arrays are deliberately public; kernels and callers index them directly so the
+ * hot loops stay free of accessor calls and bounds juggling.</p>
+ */
+public final class GlideBatch {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    public double[] velX;
+    public double[] velY;
+    public double[] velZ;
+    public double[] gravity;
+    // Speed cap in blocks per tick; <= 0 leaves the glider uncapped
+    public double[] speedLimit;
+
+    // Elytra inputs, precomputed from the entity's rotation when the glider is added
+    public double[] lookX;
+    public double[] lookY;
+    public double[] lookZ;
+    public double[] pitchCosSquared;
+    public double[] pitchSin;
+
+    private int size;
+
+    public GlideBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GlideBatch(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * @return number of gliders currently stored
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forget all gliders without releasing the backing arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Append a Swooping glider, capped at {@link MobilityConfig#SWOOPING_SPEED_LIMIT}.
+     *
+     * @return the index assigned to the glider
+     */
+    public int addSwooping(double vx, double vy, double vz, double gravityAcceleration) {
+        int index = claim();
+        velX[index] = vx;
+        velY[index] = vy;
+        velZ[index] = vz;
+        gravity[index] = gravityAcceleration;
+        speedLimit[index] = MobilityConfig.SWOOPING_SPEED_LIMIT;
+        return index;
+    }
+
+    /**
+     * Append an Elytra glider.
+     *
+     * <p>The pitch trigonometry is resolved here with the same {@link GlideMath} calls
+     * {@link ElytraPhysics} uses, so the kernels themselves are pure arithmetic. Elytra gliders start uncapped;
+     * write {@link #speedLimit} afterwards to cap them.</p>
+     *
+     * @return the index assigned to the glider
+     */
+    public int addElytra(double vx, double vy, double vz, double gravityAcceleration,
+                         double rotationX, double rotationY, double rotationZ, float pitchRadians) {
+        int index = addSwooping(vx, vy, vz, gravityAcceleration);
+        speedLimit[index] = 0.0D;
+        lookX[index] = rotationX;
+        lookY[index] = rotationY;
+        lookZ[index] = rotationZ;
+        double cos = GlideMath.pitchCos(pitchRadians);
+        pitchCosSquared[index] = cos * cos;
+        pitchSin[index] = GlideMath.pitchSin(pitchRadians);
+        return index;
+    }
+
+    /**
+     * Append an Elytra glider facing {@code pitch} and {@code yaw} in degrees, as stored on the
+     * entity. The look vector is the one {@link GlideMath#rotationVector(net.minecraft.entity.Entity)}
+     * returns, worked out here without the {@code Vec3d}.
+     *
+     * @return the index assigned to the glider
+     */
+    public int addElytra(double vx, double vy, double vz, double gravityAcceleration, float pitch, float yaw) {
+        float pitchRadians = pitch * GlideMath.DEGREES_TO_RADIANS;
+        float yawRadians = -yaw * GlideMath.DEGREES_TO_RADIANS;
+        float yawCos = GlideMath.lookCos(yawRadians);
+        float yawSin = GlideMath.lookSin(yawRadians);
+        float pitchCos = GlideMath.lookCos(pitchRadians);
+        float pitchSin = GlideMath.lookSin(pitchRadians);
+        return addElytra(vx, vy, vz, gravityAcceleration, yawSin * pitchCos, -pitchSin, yawCos * pitchCos, pitchRadians);
+    }
+
+    private int claim() {
+        if (size == velX.length) {
+            grow(size * 2);
+        }
+        return size++;
+    }
+
+    private void allocate(int capacity) {
+        velX = new double[capacity];
+        velY = new double[capacity];
+        velZ = new double[capacity];
+        gravity = new double[capacity];
+        speedLimit = new double[capacity];
+        lookX = new double[capacity];
+        lookY = new double[capacity];
+        lookZ = new double[capacity];
+        pitchCosSquared = new double[capacity];
+        pitchSin = new double[capacity];
+    }
+
+    private void grow(int capacity) {
+        velX = Arrays.copyOf(velX, capacity);
+        velY = Arrays.copyOf(velY, capacity);
+        velZ = Arrays.copyOf(velZ, capacity);
+        gravity = Arrays.copyOf(gravity, capacity);
+        speedLimit = Arrays.copyOf(speedLimit, capacity);
+        lookX = Arrays.copyOf(lookX, capacity);
+        lookY = Arrays.copyOf(lookY, capacity);
+        lookZ = Arrays.copyOf(lookZ, capacity);
+        pitchCosSquared = Arrays.copyOf(pitchCosSquared, capacity);
+        pitchSin = Arrays.copyOf(pitchSin, capacity);
+    }
+}
@@ -0,0 +1,27 @@
+package ninja.trek.mobility.physics;
+
+/**
+ * Batched glide physics over a {@link GlideBatch}.
+ *
+ * <p>Implementations must produce the same velocities as {@link SwoopingPhysics} and
+ * {@link ElytraPhysics} for every glider in the batch; they only differ in how the
+ * arithmetic is scheduled. Use {@link GlideKernels#get()} to obtain the fastest kernel
+ * available on the running JVM.</p>
+ */
+public interface GlideKernel {
+
+    /**
+     * @return short human-readable name, used in logs and benchmark output
+     */
+    String name();
+
+    /**
+     * Advance every glider in the batch by one Swooping tick, in place.
+     */
+    void swooping(GlideBatch batch);
+
+    /**
+     * Advance every glider in the batch by one Elytra tick, in place.
+     */
+    void elytra(GlideBatch batch);
+}
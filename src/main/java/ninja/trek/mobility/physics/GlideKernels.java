@@ -0,0 +1,66 @@
+package ninja.trek.mobility.physics;
+
+import ninja.trek.mobility.MobilityEnchantments;
+
+/**
+ * Picks the glide kernel for this JVM.
+ *
+ * <p>The vector kernel is only used when the {@code jdk.incubator.vector} module has been
+ * resolved at startup (launch with {@code --add-modules jdk.incubator.vector}). Launchers
+ * and server scripts do not add it, so unless that flag is added to the game's JVM
+ * arguments the scalar kernel is always used in game. Setting the system property
+ * {@code mobility.glideKernel} to {@code scalar} forces the fallback, which is handy when
+ * comparing behaviour.</p>
+ *
+ * <p>The vector kernel is built in its own {@code vector} source set, the only one
+ * compiled against the incubating module.</p>
+ */
+public final class GlideKernels {
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL_CLASS = "ninja.trek.mobility.physics.VectorGlideKernel";
+
+    private static final GlideKernel SCALAR = new ScalarGlideKernel();
+    private static final GlideKernel BEST = select();
+
+    private GlideKernels() {
+    }
+
+    /**
+     * @return the fastest kernel available
+     */
+    public static GlideKernel get() {
+        return BEST;
+    }
+
+    /**
+     * @return the scalar kernel, regardless of what {@link #get()} picked
+     */
+    public static GlideKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return the vector kernel, or {@code null} if the Vector API is unavailable
+     */
+    public static GlideKernel vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+
+        try {
+            return (GlideKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            MobilityEnchantments.LOGGER.warn("Vector API present but the vector glide kernel failed to load", e);
+            return null;
+        }
+    }
+
+    private static GlideKernel select() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("mobility.glideKernel"))) {
+            return SCALAR;
+        }
+
+        GlideKernel vector = vector();
+        return vector != null ? vector : SCALAR;
+    }
+}
@@ -0,0 +1,104 @@
+package ninja.trek.mobility.physics;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+
+/**
+ * The only place the glide physics gets trigonometry from.
+ *
+ * <p>Since Java 17 every {@code double}/{@code float} operation is strict IEEE 754, and
+ * {@link Math#sqrt} is correctly rounded, so the arithmetic in {@link ElytraPhysics} and
+ * {@link SwoopingPhysics} already gives the same bits on every JVM. The exceptions are
+ * {@link Math#sin}/{@link Math#cos}, which may be intrinsified differently per platform,
+ * and Minecraft's own sine table, which is filled from {@code Math.sin}.</p>
+ *
+ * <p>With {@link MobilityConfig#DETERMINISTIC_GLIDE_PHYSICS} on, pitch terms and look
+ * vectors come from a table filled with {@link StrictMath#sin} (fdlibm, bit-exact by
+ * specification) and indexed exactly like {@link MathHelper#sin}. A client and server
+ * running the same mod version therefore compute identical glide velocities from
+ * identical inputs. With it off, the vanilla sources are used unchanged.</p>
+ */
+public final class GlideMath {
+    public static final boolean DETERMINISTIC = MobilityConfig.DETERMINISTIC_GLIDE_PHYSICS;
+
+    /** Cosine of the Swooping dead-zone half-angle, shared by every Swooping implementation */
+    public static final double SWOOPING_DEAD_ZONE_COS =
+        StrictMath.cos(MobilityConfig.SWOOPING_DEAD_ZONE_DEGREES * MathHelper.RADIANS_PER_DEGREE);
+
+    static final float DEGREES_TO_RADIANS = (float) (Math.PI / 180.0);
+    private static final float[] SINE_TABLE = new float[65536];
+
+    static {
+        for (int i = 0; i < SINE_TABLE.length; i++) {
+            SINE_TABLE[i] = (float) StrictMath.sin(i * Math.PI * 2.0 / 65536.0);
+        }
+    }
+
+    private GlideMath() {
+    }
+
+    /**
+     * Table sine with the same resolution and indexing as {@link MathHelper#sin}.
+     */
+    public static float sin(double radians) {
+        return SINE_TABLE[(int) ((long) (radians * 10430.378F) & 65535L)];
+    }
+
+    /**
+     * Table cosine with the same resolution and indexing as {@link MathHelper#cos}.
+     */
+    public static float cos(double radians) {
+        return SINE_TABLE[(int) ((long) (radians * 10430.378F + 16384.0F) & 65535L)];
+    }
+
+    /**
+     * Cosine of the glider's pitch as used by the Elytra lift terms.
+     */
+    public static double pitchCos(float pitchRadians) {
+        return DETERMINISTIC ? cos(pitchRadians) : Math.cos(pitchRadians);
+    }
+
+    /**
+     * Sine of the glider's pitch as used by the Elytra climb term.
+     */
+    public static double pitchSin(float pitchRadians) {
+        return DETERMINISTIC ? sin(pitchRadians) : MathHelper.sin(pitchRadians);
+    }
+
+    /**
+     * Sine for look vectors: the table when deterministic, otherwise vanilla's.
+     */
+    static float lookSin(float radians) {
+        return DETERMINISTIC ? sin(radians) : MathHelper.sin(radians);
+    }
+
+    /**
+     * Cosine for look vectors: the table when deterministic, otherwise vanilla's.
+     */
+    static float lookCos(float radians) {
+        return DETERMINISTIC ? cos(radians) : MathHelper.cos(radians);
+    }
+
+    /**
+     * Look vector of the entity, equivalent to {@link Entity#getRotationVector()}.
+     */
+    public static Vec3d rotationVector(Entity entity) {
+        return DETERMINISTIC ? rotationVector(entity.getPitch(), entity.getYaw()) : entity.getRotationVector();
+    }
+
+    /**
+     * Look vector for a pitch and yaw in degrees, using the same formula as vanilla's
+     * {@code Entity.getRotationVector(float, float)} on the deterministic table.
+     */
+    public static Vec3d rotationVector(float pitch, float yaw) {
+        float pitchRadians = pitch * DEGREES_TO_RADIANS;
+        float yawRadians = -yaw * DEGREES_TO_RADIANS;
+        float yawCos = cos(yawRadians);
+        float yawSin = sin(yawRadians);
+        float pitchCos = cos(pitchRadians);
+        float pitchSin = sin(pitchRadians);
+        return new Vec3d(yawSin * pitchCos, -pitchSin, yawCos * pitchCos);
+    }
+}
@@ -0,0 +1,216 @@
+package ninja.trek.mobility.physics;
+
+import ninja.trek.mobility.config.MobilityConfig;
+
+/**
+ * Plain-Java glide kernel. Always available and used whenever the Vector API is not.
+ *
+ * <p>The loops restate {@link SwoopingPhysics} and {@link ElytraPhysics} on primitives,
+ * operation for operation, so results are bit-identical to the {@code Vec3d} versions
+ * without allocating a vector per intermediate step.</p>
+ */
+public final class ScalarGlideKernel implements GlideKernel {
+    // Same thresholds as the Vec3d implementations
+    static final double EPSILON = 1.0e-6;
+    static final double NORMALIZE_EPSILON = 1.0E-5F;
+
+    static final double SWOOPING_DEAD_ZONE_COS = GlideMath.SWOOPING_DEAD_ZONE_COS;
+    static final double SWOOPING_BIAS_T =
+        Math.min(Math.max(MobilityConfig.SWOOPING_LIFT_UPWARD_BIAS_DEGREES / 90.0D, 0.0D), 1.0D);
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void swooping(GlideBatch batch) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            swoopingAt(batch, i);
+        }
+    }
+
+    @Override
+    public void elytra(GlideBatch batch) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            elytraAt(batch, i);
+        }
+    }
+
+    /**
+     * One Swooping step for the glider at {@code i}, on its own; the player glide tick runs
+     * its step through this.
+     */
+    public static void stepSwooping(GlideBatch batch, int i) {
+        swoopingAt(batch, i);
+    }
+
+    /**
+     * One Elytra step for the glider at {@code i}, with the lift multiplier of the glider's
+     * profile instead of {@link MobilityConfig#ELYTRA_LIFT_MULTIPLIER}.
+     */
+    public static void stepElytra(GlideBatch batch, int i, double liftMultiplier) {
+        elytraAt(batch, i, liftMultiplier);
+    }
+
+    /**
+     * Swooping step for a single glider; also used for the tail of vectorised loops.
+     */
+    static void swoopingAt(GlideBatch batch, int i) {
+        double vx = batch.velX[i];
+        double vy = batch.velY[i];
+        double vz = batch.velZ[i];
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+
+        double ax = vx;
+        double ay = vy - batch.gravity[i];
+        double az = vz;
+
+        if (speed < EPSILON) {
+            batch.velX[i] = ax * MobilityConfig.SWOOPING_DRAG_XZ;
+            batch.velY[i] = ay * MobilityConfig.SWOOPING_DRAG_Y;
+            batch.velZ[i] = az * MobilityConfig.SWOOPING_DRAG_XZ;
+            return;
+        }
+
+        double dx;
+        double dy;
+        double dz;
+        if (speed < NORMALIZE_EPSILON) {
+            dx = 0.0D;
+            dy = 0.0D;
+            dz = 0.0D;
+        } else {
+            dx = vx / speed;
+            dy = vy / speed;
+            dz = vz / speed;
+        }
+
+        if (MobilityConfig.SWOOPING_DEAD_ZONE_DEGREES > 0.0D && dy > 0.0D && dy >= SWOOPING_DEAD_ZONE_COS) {
+            storeClamped(batch, i, ax, ay, az);
+            return;
+        }
+
+        // Lift direction: world-up projected onto the plane orthogonal to the velocity
+        double px = -dx * dy;
+        double py = 1.0D - dy * dy;
+        double pz = -dz * dy;
+        if (px * px + py * py + pz * pz < EPSILON) {
+            // velocity x (1, 0, 0), then velocity x (0, 0, 1) if that degenerates too
+            px = 0.0D;
+            py = dz;
+            pz = -dy;
+            if (px * px + py * py + pz * pz < EPSILON) {
+                px = dy;
+                py = -dx;
+                pz = 0.0D;
+            }
+        }
+
+        double pLength = Math.sqrt(px * px + py * py + pz * pz);
+        double nx;
+        double ny;
+        double nz;
+        if (pLength < NORMALIZE_EPSILON) {
+            nx = 0.0D;
+            ny = 0.0D;
+            nz = 0.0D;
+        } else {
+            nx = px / pLength;
+            ny = py / pLength;
+            nz = pz / pLength;
+        }
+        if (ny < 0.0D) {
+            nx = -nx;
+            ny = -ny;
+            nz = -nz;
+        }
+
+        if (MobilityConfig.SWOOPING_LIFT_UPWARD_BIAS_DEGREES > 0.0D) {
+            double keep = 1.0D - SWOOPING_BIAS_T;
+            double bx = nx * keep;
+            double by = ny * keep + SWOOPING_BIAS_T;
+            double bz = nz * keep;
+            double bLengthSquared = bx * bx + by * by + bz * bz;
+            if (bLengthSquared >= EPSILON) {
+                double bLength = Math.sqrt(bLengthSquared);
+                if (bLength < NORMALIZE_EPSILON) {
+                    nx = 0.0D;
+                    ny = 0.0D;
+                    nz = 0.0D;
+                } else {
+                    nx = bx / bLength;
+                    ny = by / bLength;
+                    nz = bz / bLength;
+                }
+            }
+        }
+
+        double liftMagnitude = speed * speed * MobilityConfig.SWOOPING_LIFT_COEFFICIENT;
+        storeClamped(batch, i,
+            (ax + nx * liftMagnitude) * MobilityConfig.SWOOPING_DRAG_XZ,
+            (ay + ny * liftMagnitude) * MobilityConfig.SWOOPING_DRAG_Y,
+            (az + nz * liftMagnitude) * MobilityConfig.SWOOPING_DRAG_XZ);
+    }
+
+    /**
+     * Elytra step for a single glider; also used for the tail of vectorised loops.
+     */
+    static void elytraAt(GlideBatch batch, int i) {
+        elytraAt(batch, i, MobilityConfig.ELYTRA_LIFT_MULTIPLIER);
+    }
+
+    private static void elytraAt(GlideBatch batch, int i, double liftMultiplier) {
+        double rx = batch.lookX[i];
+        double rz = batch.lookZ[i];
+        double horizontalRotation = Math.sqrt(rx * rx + rz * rz);
+        double horizontalSpeed = Math.sqrt(batch.velX[i] * batch.velX[i] + batch.velZ[i] * batch.velZ[i]);
+        double cosSquared = batch.pitchCosSquared[i];
+        double pitchSin = batch.pitchSin[i];
+
+        double vx = batch.velX[i];
+        double vy = batch.velY[i] + batch.gravity[i] * (-1.0 + cosSquared * 0.75 * liftMultiplier);
+        double vz = batch.velZ[i];
+
+        if (horizontalRotation > 0.0) {
+            if (vy < 0.0) {
+                double adjust = vy * -0.1 * cosSquared;
+                vx += rx * adjust / horizontalRotation;
+                vy += adjust;
+                vz += rz * adjust / horizontalRotation;
+            }
+
+            // sin(pitch) < 0 exactly when pitch < 0 for the [-90, 90] range entities use
+            if (pitchSin < 0.0) {
+                double adjust = horizontalSpeed * -pitchSin * 0.04;
+                vx += -rx * adjust / horizontalRotation;
+                vy += adjust * 3.2;
+                vz += -rz * adjust / horizontalRotation;
+            }
+
+            vx += (rx / horizontalRotation * horizontalSpeed - vx) * 0.1;
+            vz += (rz / horizontalRotation * horizontalSpeed - vz) * 0.1;
+        }
+
+        storeClamped(batch, i,
+            vx * MobilityConfig.ELYTRA_DRAG_XZ,
+            vy * MobilityConfig.ELYTRA_DRAG_Y,
+            vz * MobilityConfig.ELYTRA_DRAG_XZ);
+    }
+
+    private static void storeClamped(GlideBatch batch, int i, double x, double y, double z) {
+        double limit = batch.speedLimit[i];
+        if (limit > 0.0D) {
+            double speedSquared = x * x + y * y + z * z;
+            if (speedSquared > limit * limit) {
+                double scale = limit / Math.sqrt(speedSquared);
+                x *= scale;
+                y *= scale;
+                z *= scale;
+            }
+        }
+        batch.velX[i] = x;
+        batch.velY[i] = y;
+        batch.velZ[i] = z;
+    }
+}
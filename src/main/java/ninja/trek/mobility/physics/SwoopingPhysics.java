@@ -4,6 +4,7 @@ import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.lift.LiftField;
 
 /**
  * Custom physics helper for the Swooping enchantment.
@@ -37,6 +38,29 @@ public final class SwoopingPhysics {
      * </p>
      */
     public static Vec3d computeGlideVelocity(LivingEntity entity, Vec3d oldVelocity, double gravity) {
+        return computeGlideVelocity(entity, oldVelocity, gravity, MobilityConfig.SWOOPING_SPEED_LIMIT);
+    }
+
+    /**
+     * Same as {@link #computeGlideVelocity(LivingEntity, Vec3d, double)} but clamps to the
+     * supplied speed limit instead of {@link MobilityConfig#SWOOPING_SPEED_LIMIT}, so the
+     * glide speed governor can lower the cap while the server is struggling.
+     *
+     * <p>The environmental lift at the entity's position (see {@link LiftField}) is taken
+     * off gravity.</p>
+     *
+     * @param speedLimit maximum speed in blocks per tick ({@code <= 0} disables clamping)
+     */
+    public static Vec3d computeGlideVelocity(LivingEntity entity, Vec3d oldVelocity, double gravity, double speedLimit) {
+        return computeGlideVelocity(oldVelocity, gravity - LiftField.sample(entity), speedLimit);
+    }
+
+    /**
+     * Entity-free variant; Swooping never looks at the entity's orientation, so the
+     * velocity, gravity and cap fully determine the result. Callers fold any environmental
+     * lift into {@code gravity}.
+     */
+    public static Vec3d computeGlideVelocity(Vec3d oldVelocity, double gravity, double speedLimit) {
         double speed = oldVelocity.length();
 
         Vec3d velocityAfterGravity = oldVelocity.add(0.0, -gravity, 0.0);
@@ -47,7 +71,7 @@ public final class SwoopingPhysics {
 
         Vec3d velocityDir = oldVelocity.normalize();
         if (isWithinDeadZone(velocityDir)) {
-            return clampSpeed(velocityAfterGravity);
+            return clampSpeed(velocityAfterGravity, speedLimit);
         }
 
         Vec3d liftDirection = computeLiftDirection(velocityDir);
@@ -57,7 +81,7 @@ public final class SwoopingPhysics {
 
         Vec3d updatedVelocity = velocityAfterGravity.add(lift);
         Vec3d draggedVelocity = applyDrag(updatedVelocity);
-        return clampSpeed(draggedVelocity);
+        return clampSpeed(draggedVelocity, speedLimit);
     }
 
     private static Vec3d computeLiftDirection(Vec3d velocityDir) {
@@ -97,8 +121,10 @@ public final class SwoopingPhysics {
         return biased.normalize();
     }
 
-    private static Vec3d clampSpeed(Vec3d velocity) {
-        double limit = MobilityConfig.SWOOPING_SPEED_LIMIT;
+    /**
+     * Scale the velocity down to {@code limit} if it is faster. Shared with {@link ElytraPhysics}.
+     */
+    public static Vec3d clampSpeed(Vec3d velocity, double limit) {
         if (limit <= 0.0D) {
             return velocity;
         }
@@ -124,8 +150,6 @@ public final class SwoopingPhysics {
             return false;
         }
 
-        double radians = deadZoneDegrees * MathHelper.RADIANS_PER_DEGREE;
-        double cosThreshold = Math.cos(radians);
-        return dot >= cosThreshold;
+        return dot >= GlideMath.SWOOPING_DEAD_ZONE_COS;
     }
 }
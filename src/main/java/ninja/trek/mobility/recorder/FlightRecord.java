@@ -0,0 +1,136 @@
+package ninja.trek.mobility.recorder;
+
+import net.minecraft.util.PlayerInput;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Binary layout of flight recordings, plus a mutable view used when reading them back.
+ *
+ * <p>A recording is a {@value #HEADER_SIZE}-byte header followed by fixed-width
+ * {@value #RECORD_SIZE}-byte records, one per server tick, in big-endian order:
+ * <pre>
+ *  0  long   server tick
+ *  8  float  pitch (degrees)
+ * 12  float  yaw (degrees)
+ * 16  float  look vector x, y, z (exactly as the entity computed it)
+ * 28  double velocity before physics x, y, z
+ * 52  double velocity after physics x, y, z
+ * 76  double gravity
+ * 84  double speed limit used by the physics (0 = uncapped)
+ * 92  byte   input flags of the last input packet
+ * 93  byte   mobility state flags
+ * 94  byte   physics kernel that ran this tick
+ * 95  byte   ability cooldown (ticks, saturated)
+ * 96  double Elytra lift multiplier of the player's profile
+ * </pre>
+ * Fixed-width records keep writes branch-free and let a reader seek straight to a tick.</p>
+ */
+public final class FlightRecord {
+    public static final int MAGIC = 0x4D4F4252; // "MOBR"
+    public static final short VERSION = 2;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 104;
+
+    public static final byte PHYSICS_NONE = 0;
+    public static final byte PHYSICS_ELYTRA = 1;
+    public static final byte PHYSICS_SWOOPING = 2;
+
+    public static final int INPUT_FORWARD = 1;
+    public static final int INPUT_BACKWARD = 1 << 1;
+    public static final int INPUT_LEFT = 1 << 2;
+    public static final int INPUT_RIGHT = 1 << 3;
+    public static final int INPUT_JUMP = 1 << 4;
+    public static final int INPUT_SNEAK = 1 << 5;
+    public static final int INPUT_SPRINT = 1 << 6;
+
+    public static final int STATE_ELYTRA_GLIDING = 1;
+    public static final int STATE_SWOOPING_GLIDING = 1 << 1;
+    public static final int STATE_WALL_JUMPING = 1 << 2;
+    public static final int STATE_USED_DOUBLE_JUMP = 1 << 3;
+    public static final int STATE_ON_GROUND = 1 << 4;
+    public static final int STATE_VANILLA_GLIDING = 1 << 5;
+
+    public long tick;
+    public float pitch;
+    public float yaw;
+    public float lookX;
+    public float lookY;
+    public float lookZ;
+    public double preX;
+    public double preY;
+    public double preZ;
+    public double postX;
+    public double postY;
+    public double postZ;
+    public double gravity;
+    public double speedLimit;
+    public int input;
+    public int state;
+    public byte physics;
+    public int cooldown;
+    public double liftMultiplier;
+
+    /**
+     * Decode the record at the buffer's current position, advancing it by {@link #RECORD_SIZE}.
+     */
+    public void read(ByteBuffer buffer) {
+        tick = buffer.getLong();
+        pitch = buffer.getFloat();
+        yaw = buffer.getFloat();
+        lookX = buffer.getFloat();
+        lookY = buffer.getFloat();
+        lookZ = buffer.getFloat();
+        preX = buffer.getDouble();
+        preY = buffer.getDouble();
+        preZ = buffer.getDouble();
+        postX = buffer.getDouble();
+        postY = buffer.getDouble();
+        postZ = buffer.getDouble();
+        gravity = buffer.getDouble();
+        speedLimit = buffer.getDouble();
+        input = buffer.get() & 0xFF;
+        state = buffer.get() & 0xFF;
+        physics = buffer.get();
+        cooldown = buffer.get() & 0xFF;
+        liftMultiplier = buffer.getDouble();
+    }
+
+    public static void writeHeader(ByteBuffer buffer, UUID player, long startTick) {
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+        buffer.putLong(player.getMostSignificantBits());
+        buffer.putLong(player.getLeastSignificantBits());
+        buffer.putLong(startTick);
+    }
+
+    public static int encodeInput(PlayerInput input) {
+        int flags = 0;
+        if (input.forward()) flags |= INPUT_FORWARD;
+        if (input.backward()) flags |= INPUT_BACKWARD;
+        if (input.left()) flags |= INPUT_LEFT;
+        if (input.right()) flags |= INPUT_RIGHT;
+        if (input.jump()) flags |= INPUT_JUMP;
+        if (input.sneak()) flags |= INPUT_SNEAK;
+        if (input.sprint()) flags |= INPUT_SPRINT;
+        return flags;
+    }
+
+    public static int encodeState(MobilityState state, boolean onGround, boolean gliding) {
+        int flags = 0;
+        if (state.mobility$isElytraGliding()) flags |= STATE_ELYTRA_GLIDING;
+        if (state.mobility$isSwoopingGliding()) flags |= STATE_SWOOPING_GLIDING;
+        if (state.mobility$isWallJumping()) flags |= STATE_WALL_JUMPING;
+        if (state.mobility$hasUsedDoubleJump()) flags |= STATE_USED_DOUBLE_JUMP;
+        if (onGround) flags |= STATE_ON_GROUND;
+        if (gliding) flags |= STATE_VANILLA_GLIDING;
+        return flags;
+    }
+
+    public boolean has(int stateFlag) {
+        return (state & stateFlag) != 0;
+    }
+}
@@ -0,0 +1,345 @@
+package ninja.trek.mobility.recorder;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.PlayerInput;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.physics.GlideMath;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in per-tick flight recorder.
+ *
+ * <p>While a player is being recorded, the tick hook appends one {@link FlightRecord} per
+ * tick to a direct staging buffer. Full buffers are handed to a single background thread
+ * that appends them to the player's file through a {@link FileChannel}, so the main thread
+ * never touches the disk. Buffers are recycled through a pool, so steady-state recording
+ * does not allocate either.</p>
+ *
+ * <p>Recordings can be started per player or for the whole server; in server-wide mode
+ * players get a session the first tick they are seen. Files go to
+ * {@code <world>/mobility-recordings/} and can be checked with {@link FlightReplayer}.</p>
+ */
+public final class FlightRecorder {
+    public static final String DIRECTORY = "mobility-recordings";
+    public static final String EXTENSION = ".mrec";
+
+    private static final int RECORDS_PER_BUFFER = 200; // 10 seconds per write
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // Players in different worlds may be recorded from different tick threads
+    private static final Map<UUID, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentLinkedQueue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Mobility Flight Recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean recordEveryone = false;
+
+    private FlightRecorder() {
+    }
+
+    /**
+     * Start recording a player. Does nothing if they are already being recorded.
+     *
+     * @return true if a new recording was started
+     */
+    public static boolean start(ServerPlayerEntity player) {
+        if (SESSIONS.containsKey(player.getUuid())) {
+            return false;
+        }
+
+        MinecraftServer server = player.getEntityWorld().getServer();
+        String fileName = player.getName().getString() + "-" + LocalDateTime.now().format(FILE_TIME) + EXTENSION;
+        return start(player.getUuid(), directory(server).resolve(fileName), server.getTicks());
+    }
+
+    /**
+     * Start recording a player by id into {@code file}. Needs no live player, so the
+     * allocation budget check records through this.
+     *
+     * @return true if a new recording was started
+     */
+    public static boolean start(UUID player, Path file, long startTick) {
+        Session session = new Session(player, file, startTick);
+        if (SESSIONS.putIfAbsent(player, session) != null) {
+            session.discard();
+            return false;
+        }
+        WRITER.execute(session::open);
+        return true;
+    }
+
+    /**
+     * Stop recording a player and flush what was captured.
+     *
+     * @return true if the player was being recorded
+     */
+    public static boolean stop(ServerPlayerEntity player) {
+        return stop(player.getUuid());
+    }
+
+    private static boolean stop(UUID player) {
+        Session session = SESSIONS.remove(player);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    /**
+     * Record every player currently online and everyone who joins later.
+     */
+    public static void startAll(MinecraftServer server) {
+        recordEveryone = true;
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            start(player);
+        }
+    }
+
+    /**
+     * Stop all recordings, including server-wide mode.
+     */
+    public static void stopAll() {
+        recordEveryone = false;
+        for (UUID player : SESSIONS.keySet()) {
+            stop(player);
+        }
+    }
+
+    /**
+     * @return true if anyone is being recorded; lets the tick hook skip gathering arguments
+     */
+    public static boolean isActive() {
+        return recordEveryone || !SESSIONS.isEmpty();
+    }
+
+    public static boolean isRecording(ServerPlayerEntity player) {
+        return SESSIONS.containsKey(player.getUuid());
+    }
+
+    public static boolean isRecordingEveryone() {
+        return recordEveryone;
+    }
+
+    /**
+     * Finish all recordings and wait briefly for the writer to drain. Called on shutdown.
+     */
+    public static void shutdown() {
+        stopAll();
+        try {
+            WRITER.submit(() -> {
+            }).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            MobilityEnchantments.LOGGER.warn("Flight recorder did not finish writing before shutdown", e);
+        }
+    }
+
+    public static Path directory(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY);
+    }
+
+    /**
+     * Remember the latest input packet so the next tick record carries it. This is the whole
+     * of the player input packet hook, and allocates nothing.
+     */
+    public static void onInput(UUID player, PlayerInput input) {
+        if (SESSIONS.isEmpty()) {
+            return;
+        }
+        Session session = SESSIONS.get(player);
+        if (session != null) {
+            session.lastInput = FlightRecord.encodeInput(input);
+        }
+    }
+
+    /**
+     * Append this tick's record for the player, if they are being recorded.
+     *
+     * @param preVelocity velocity the physics started from
+     * @param gravity     gravity passed to the physics
+     * @param speedLimit  cap passed to the physics
+     * @param physics     which physics ran, one of the {@code FlightRecord.PHYSICS_*} constants
+     */
+    public static void onTick(ServerPlayerEntity player, MobilityState state, Vec3d preVelocity,
+                              double gravity, double speedLimit, byte physics) {
+        Session session = SESSIONS.get(player.getUuid());
+        if (session == null) {
+            if (!recordEveryone) {
+                return;
+            }
+            start(player);
+            session = SESSIONS.get(player.getUuid());
+            if (session == null) {
+                return;
+            }
+        }
+
+        Vec3d look = GlideMath.rotationVector(player);
+        Vec3d post = player.getVelocity();
+        // Uncontended unless a command is stopping this recording at the same moment
+        synchronized (session) {
+            append(session, player, state, look, preVelocity, post, gravity, speedLimit, physics);
+        }
+    }
+
+    private static void append(Session session, ServerPlayerEntity player, MobilityState state, Vec3d look,
+                               Vec3d preVelocity, Vec3d post, double gravity, double speedLimit, byte physics) {
+        ByteBuffer buffer = session.staging;
+        if (buffer == null) {
+            return; // Closed while this tick was gathering its record
+        }
+        buffer.putLong(player.getEntityWorld().getServer().getTicks());
+        buffer.putFloat(player.getPitch());
+        buffer.putFloat(player.getYaw());
+        // The look vector is built from float maths, so narrowing it is lossless
+        buffer.putFloat((float) look.x);
+        buffer.putFloat((float) look.y);
+        buffer.putFloat((float) look.z);
+        buffer.putDouble(preVelocity.x);
+        buffer.putDouble(preVelocity.y);
+        buffer.putDouble(preVelocity.z);
+        buffer.putDouble(post.x);
+        buffer.putDouble(post.y);
+        buffer.putDouble(post.z);
+        buffer.putDouble(gravity);
+        buffer.putDouble(speedLimit);
+        buffer.put((byte) session.lastInput);
+        buffer.put((byte) FlightRecord.encodeState(state, player.isOnGround(), player.isGliding()));
+        buffer.put(physics);
+        buffer.put((byte) Math.min(state.mobility$getCooldown(state.mobility$getAbilityId()), 255));
+        buffer.putDouble(state.mobility$getProfile().elytraLiftMultiplier);
+
+        if (!buffer.hasRemaining()) {
+            session.flush();
+        }
+    }
+
+    /**
+     * Called when a player leaves; ends their recording but keeps server-wide mode on.
+     */
+    public static void onDisconnect(ServerPlayerEntity player) {
+        stop(player.getUuid());
+    }
+
+    private static ByteBuffer takeBuffer() {
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(RECORDS_PER_BUFFER * FlightRecord.RECORD_SIZE);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * One recording. {@link #staging} is guarded by the session's monitor, since the tick
+     * thread appends to it while a command may close it; {@link #lastInput} is written by
+     * the packet handler and read by the tick; {@link #channel} belongs to the writer thread.
+     */
+    private static final class Session {
+        private final UUID player;
+        private final Path file;
+        private final long startTick;
+        private ByteBuffer staging = takeBuffer();
+        private volatile int lastInput;
+        private FileChannel channel;
+
+        private Session(UUID player, Path file, long startTick) {
+            this.player = player;
+            this.file = file;
+            this.startTick = startTick;
+        }
+
+        private void flush() {
+            ByteBuffer full = staging;
+            staging = takeBuffer();
+            full.flip();
+            WRITER.execute(() -> write(full));
+        }
+
+        private synchronized void close() {
+            if (staging == null) {
+                return;
+            }
+            ByteBuffer last = staging;
+            staging = null;
+            last.flip();
+            WRITER.execute(() -> write(last));
+            WRITER.execute(() -> {
+                if (channel == null) {
+                    return;
+                }
+                try {
+                    channel.close();
+                    MobilityEnchantments.LOGGER.info("Saved flight recording {}", file);
+                } catch (IOException e) {
+                    MobilityEnchantments.LOGGER.warn("Failed to close flight recording {}", file, e);
+                }
+                channel = null;
+            });
+        }
+
+        /**
+         * Drop a session that lost the race to be registered; it never opened a file.
+         */
+        private void discard() {
+            BUFFER_POOL.offer(staging);
+            staging = null;
+        }
+
+        // ---- writer thread ----
+
+        private void open() {
+            try {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                ByteBuffer header = ByteBuffer.allocate(FlightRecord.HEADER_SIZE);
+                FlightRecord.writeHeader(header, player, startTick);
+                header.flip();
+                writeFully(header);
+            } catch (IOException e) {
+                MobilityEnchantments.LOGGER.warn("Failed to start flight recording {}", file, e);
+                channel = null;
+            }
+        }
+
+        private void write(ByteBuffer buffer) {
+            try {
+                if (channel != null) {
+                    writeFully(buffer);
+                }
+            } catch (IOException e) {
+                MobilityEnchantments.LOGGER.warn("Failed to write flight recording {}", file, e);
+            } finally {
+                BUFFER_POOL.offer(buffer);
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
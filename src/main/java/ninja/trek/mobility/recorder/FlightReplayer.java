@@ -0,0 +1,151 @@
+package ninja.trek.mobility.recorder;
+
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.ScalarGlideKernel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Feeds a flight recording back through the physics and checks it reproduces.
+ *
+ * <p>For every tick where a glide kernel ran, the recorded inputs (pre-physics velocity,
+ * look vector, pitch, gravity and speed cap) are pushed through the same
+ * {@link ScalarGlideKernel} steps the server uses, and the
+ * result is compared bit-for-bit with the recorded post-physics velocity. The replay also
+ * flags glides that ended while the player was still airborne, which is what "I fell out
+ * of the sky" reports usually boil down to.</p>
+ */
+public final class FlightReplayer {
+
+    private FlightReplayer() {
+    }
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param records           number of tick records in the file
+     * @param physicsTicks      records where a glide kernel ran
+     * @param mismatches        physics ticks whose replayed velocity differs from the recording
+     * @param firstMismatchTick server tick of the first mismatch, or -1
+     * @param maxError          largest per-axis difference seen
+     * @param airborneGlideStops glides that ended without the player being on the ground
+     * @param firstAirborneStopTick server tick of the first such stop, or -1
+     */
+    public record Result(int records, int physicsTicks, int mismatches, long firstMismatchTick, double maxError,
+                         int airborneGlideStops, long firstAirborneStopTick) {
+
+        public String summary() {
+            String physics = mismatches == 0
+                ? String.format("all %d physics ticks reproduce exactly", physicsTicks)
+                : String.format("%d of %d physics ticks diverge (first at tick %d, max error %.3g)",
+                    mismatches, physicsTicks, firstMismatchTick, maxError);
+            String stops = airborneGlideStops == 0
+                ? "no airborne glide stops"
+                : String.format("%d airborne glide stops (first at tick %d)", airborneGlideStops, firstAirborneStopTick);
+            return String.format("%d records: %s; %s", records, physics, stops);
+        }
+    }
+
+    public static Result replay(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            readHeader(buffer);
+
+            FlightRecord record = new FlightRecord();
+            GlideBatch batch = new GlideBatch(1);
+            int records = 0;
+            int physicsTicks = 0;
+            int mismatches = 0;
+            long firstMismatchTick = -1;
+            double maxError = 0.0D;
+            int airborneStops = 0;
+            long firstAirborneStopTick = -1;
+            boolean wasGliding = false;
+
+            while (buffer.remaining() >= FlightRecord.RECORD_SIZE) {
+                record.read(buffer);
+                records++;
+
+                boolean gliding = record.has(FlightRecord.STATE_ELYTRA_GLIDING) || record.has(FlightRecord.STATE_SWOOPING_GLIDING);
+                if (wasGliding && !gliding && !record.has(FlightRecord.STATE_ON_GROUND)) {
+                    airborneStops++;
+                    if (firstAirborneStopTick < 0) {
+                        firstAirborneStopTick = record.tick;
+                    }
+                }
+                wasGliding = gliding;
+
+                Vec3d replayed = simulate(record, batch);
+                if (replayed == null) {
+                    continue;
+                }
+
+                physicsTicks++;
+                double error = Math.max(Math.abs(replayed.x - record.postX),
+                    Math.max(Math.abs(replayed.y - record.postY), Math.abs(replayed.z - record.postZ)));
+                if (replayed.x != record.postX || replayed.y != record.postY || replayed.z != record.postZ) {
+                    mismatches++;
+                    maxError = Math.max(maxError, error);
+                    if (firstMismatchTick < 0) {
+                        firstMismatchTick = record.tick;
+                    }
+                }
+            }
+
+            return new Result(records, physicsTicks, mismatches, firstMismatchTick, maxError, airborneStops, firstAirborneStopTick);
+        }
+    }
+
+    /**
+     * Re-run the physics for one record.
+     *
+     * @return the replayed post-physics velocity, or {@code null} if no glide physics ran that tick
+     */
+    public static Vec3d simulate(FlightRecord record) {
+        return simulate(record, new GlideBatch(1));
+    }
+
+    /**
+     * Same as {@link #simulate(FlightRecord)}, working in a batch the caller reuses.
+     */
+    public static Vec3d simulate(FlightRecord record, GlideBatch batch) {
+        batch.clear();
+        int index;
+        switch (record.physics) {
+            case FlightRecord.PHYSICS_ELYTRA -> {
+                float pitchRadians = record.pitch * (float) (Math.PI / 180.0);
+                index = batch.addElytra(record.preX, record.preY, record.preZ, record.gravity,
+                    record.lookX, record.lookY, record.lookZ, pitchRadians);
+                batch.speedLimit[index] = record.speedLimit;
+                ScalarGlideKernel.stepElytra(batch, index, record.liftMultiplier);
+            }
+            case FlightRecord.PHYSICS_SWOOPING -> {
+                index = batch.addSwooping(record.preX, record.preY, record.preZ, record.gravity);
+                batch.speedLimit[index] = record.speedLimit;
+                ScalarGlideKernel.stepSwooping(batch, index);
+            }
+            default -> {
+                return null;
+            }
+        }
+        return new Vec3d(batch.velX[index], batch.velY[index], batch.velZ[index]);
+    }
+
+    private static void readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < FlightRecord.HEADER_SIZE || buffer.getInt() != FlightRecord.MAGIC) {
+            throw new IOException("Not a flight recording");
+        }
+        short version = buffer.getShort();
+        short recordSize = buffer.getShort();
+        if (version != FlightRecord.VERSION || recordSize != FlightRecord.RECORD_SIZE) {
+            throw new IOException("Unsupported flight recording version " + version);
+        }
+        buffer.position(FlightRecord.HEADER_SIZE);
+    }
+}
@@ -0,0 +1,61 @@
+package ninja.trek.mobility.schedule;
+
+/**
+ * A reusable entry in a {@link TimingWheel}.
+ *
+ * <p>The timer object is the wheel's list node, so scheduling, rescheduling and cancelling
+ * never allocate. A plain {@code Timer} does nothing when it expires, which is all a
+ * cooldown needs: it is "running" exactly while it is scheduled. Subclasses override
+ * {@link #expire(long)} for timed effects.</p>
+ *
+ * <p>Like the wheel, a timer belongs to the thread that owns the wheel's world.</p>
+ */
+public class Timer {
+    TimingWheel wheel;
+    Timer prev;
+    Timer next;
+    long deadline;
+    // Taken out of the wheel and about to expire in the current advance
+    boolean due;
+
+    /**
+     * @return true while the timer is waiting in a wheel
+     */
+    public final boolean isScheduled() {
+        return wheel != null;
+    }
+
+    /**
+     * @return tick the timer expires on; only meaningful while scheduled
+     */
+    public final long deadline() {
+        return deadline;
+    }
+
+    /**
+     * @return ticks until the timer expires, or 0 if it is not scheduled
+     */
+    public final int remaining() {
+        TimingWheel current = wheel;
+        return current == null ? 0 : (int) Math.max(0L, deadline - current.now());
+    }
+
+    /**
+     * Take the timer out of its wheel without running it. Does nothing if not scheduled.
+     */
+    public final void cancel() {
+        if (wheel != null) {
+            wheel.unlink(this);
+        }
+        due = false;
+    }
+
+    /**
+     * Called by the wheel on its deadline tick, after the timer has been removed from the
+     * wheel, so it may schedule itself again.
+     *
+     * @param tick the tick being processed
+     */
+    protected void expire(long tick) {
+    }
+}
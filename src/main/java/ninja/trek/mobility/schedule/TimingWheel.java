@@ -0,0 +1,136 @@
+package ninja.trek.mobility.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel keyed on server tick.
+ *
+ * <p>Timers hash into {@code slots} buckets by deadline, each bucket a doubly linked list
+ * threaded through the {@link Timer}s themselves. Advancing by one tick visits a single
+ * bucket and expires the timers in it that are due; timers more than one rotation away
+ * simply stay put until a later lap. Schedule and cancel are O(1), and ticks where nothing
+ * expires cost one empty bucket check, however many timers are waiting.</p>
+ *
+ * <p>Not thread-safe. Each world has its own wheel, owned by the same thread as the world's
+ * mobility state (see {@code MobilityWorldContext}).</p>
+ */
+public final class TimingWheel {
+    private final Timer[] slots;
+    private final int mask;
+    // Due timers of the slot being expired, so callbacks can freely schedule and cancel
+    private final List<Timer> due = new ArrayList<>();
+    private long now;
+    private int size;
+
+    /**
+     * @param slotCount number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(int slotCount) {
+        int slots = slotCount <= 1 ? 1 : Integer.highestOneBit(slotCount - 1) << 1;
+        this.slots = new Timer[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * @return the last tick the wheel was advanced to
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * @return number of scheduled timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule a timer {@code delay} ticks after {@link #now()}, moving it if it was already
+     * scheduled here or in another wheel.
+     *
+     * @param delay ticks until expiry; values below 1 expire on the next advance
+     */
+    public void schedule(Timer timer, int delay) {
+        scheduleAt(timer, now + Math.max(1, delay));
+    }
+
+    /**
+     * Schedule a timer for an absolute tick, moving it if it was already scheduled.
+     * Deadlines at or before {@link #now()} expire on the next advance.
+     */
+    public void scheduleAt(Timer timer, long deadline) {
+        timer.cancel();
+        long effective = Math.max(deadline, now + 1);
+        int index = (int) (effective & mask);
+        Timer head = slots[index];
+        timer.wheel = this;
+        timer.deadline = effective;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        slots[index] = timer;
+        size++;
+    }
+
+    /**
+     * Advance to {@code tick}, expiring every timer due by then in deadline-bucket order.
+     * Jumps of more than one rotation visit each bucket once.
+     */
+    public void advance(long tick) {
+        long steps = tick - now;
+        if (steps <= 0L) {
+            return;
+        }
+
+        long first = steps > slots.length ? tick - slots.length + 1 : now + 1;
+        for (long current = first; current <= tick; current++) {
+            now = current;
+            if (slots[(int) (current & mask)] != null) {
+                expireSlot((int) (current & mask), current);
+            }
+        }
+        now = tick;
+    }
+
+    private void expireSlot(int index, long tick) {
+        Timer timer = slots[index];
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.deadline <= tick) {
+                unlink(timer);
+                timer.due = true;
+                due.add(timer);
+            }
+            timer = next;
+        }
+
+        for (int i = 0; i < due.size(); i++) {
+            Timer expired = due.get(i);
+            // Skip timers an earlier callback in this slot rescheduled or cancelled
+            if (expired.due) {
+                expired.due = false;
+                expired.expire(tick);
+            }
+        }
+        due.clear();
+    }
+
+    void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[(int) (timer.deadline & mask)] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.wheel = null;
+        timer.prev = null;
+        timer.next = null;
+        size--;
+    }
+}
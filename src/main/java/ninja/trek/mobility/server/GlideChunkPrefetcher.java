@@ -0,0 +1,276 @@
+package ninja.trek.mobility.server;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerChunkManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.mixin.LivingEntityAccessor;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.GlideKernels;
+import ninja.trek.mobility.physics.GlideMath;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Loads chunks along a glider's projected path before they get there.
+ *
+ * <p>Glide physics is deterministic, so every {@link MobilityConfig#PREFETCH_INTERVAL_TICKS}
+ * ticks the current velocity of every glider is integrated
+ * {@link MobilityConfig#PREFETCH_LOOKAHEAD_TICKS} ticks ahead through the batched glide
+ * kernel, assuming the player keeps their current heading. Swooping paths take the
+ * {@link LiftField} at each projected position off gravity, as the real glide does. The
+ * first {@link MobilityConfig#PREFETCH_MAX_CHUNKS_PER_PLAYER} not-yet-loaded chunks on that
+ * path get a loading-only ticket so generation happens while the player is still on the way.</p>
+ *
+ * <p>Prefetch tickets sit {@link MobilityConfig#PREFETCH_TICKET_LEVELS_BELOW_FULL} levels
+ * below a full chunk. The chunk is generated but never promoted to a full, ticking chunk,
+ * and the chunk system queues it behind every chunk a player ticket actually needs. The
+ * player's own ticket finishes it cheaply on arrival.</p>
+ *
+ * <p>Tickets are diffed against the previous projection: chunks still on the path are
+ * renewed, chunks that fell off it are released immediately. Every ticket also carries a
+ * short timeout so nothing leaks if a player disappears between samples.</p>
+ */
+public final class GlideChunkPrefetcher {
+    public static final ChunkTicketType GLIDE_PREFETCH = Registry.register(Registries.TICKET_TYPE,
+        Identifier.of(MobilityEnchantments.MOD_ID, "glide_prefetch"),
+        new ChunkTicketType(MobilityConfig.PREFETCH_TICKET_TIMEOUT_TICKS, ChunkTicketType.FOR_LOADING));
+
+    // A ticket's level is a full chunk's minus its radius, so a negative radius asks for less
+    private static final int TICKET_RADIUS = -MobilityConfig.PREFETCH_TICKET_LEVELS_BELOW_FULL;
+
+    private static final Map<UUID, Plan> PLANS = new HashMap<>();
+
+    // Scratch state reused by every projection
+    private static final GlideBatch ELYTRA_BATCH = new GlideBatch();
+    private static final GlideBatch SWOOPING_BATCH = new GlideBatch();
+    private static final List<Plan> ELYTRA_PLANS = new ArrayList<>();
+    private static final List<Plan> SWOOPING_PLANS = new ArrayList<>();
+
+    private GlideChunkPrefetcher() {
+    }
+
+    /**
+     * Ensures the ticket type is registered during mod initialisation.
+     */
+    public static void initialize() {
+        MobilityEnchantments.LOGGER.debug("Registered glide prefetch ticket type {}", GLIDE_PREFETCH);
+    }
+
+    public static void onEndServerTick(MinecraftServer server) {
+        if (server.getTicks() % MobilityConfig.PREFETCH_INTERVAL_TICKS != 0) {
+            return;
+        }
+
+        ELYTRA_BATCH.clear();
+        SWOOPING_BATCH.clear();
+        ELYTRA_PLANS.clear();
+        SWOOPING_PLANS.clear();
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            MobilityState state = MobilityState.of(player);
+            boolean elytra = state.mobility$isElytraGliding();
+            if (!player.isGliding() || !(elytra || state.mobility$isSwoopingGliding())) {
+                release(player);
+                continue;
+            }
+
+            Plan plan = planFor(player);
+            Vec3d velocity = player.getVelocity();
+            double gravity = ((LivingEntityAccessor) player).invokeGetEffectiveGravity();
+            if (elytra) {
+                Vec3d look = GlideMath.rotationVector(player);
+                float pitchRadians = player.getPitch() * (float) (Math.PI / 180.0);
+                int index = ELYTRA_BATCH.addElytra(velocity.x, velocity.y, velocity.z, gravity, look.x, look.y, look.z, pitchRadians);
+                ELYTRA_BATCH.speedLimit[index] = GlideSpeedGovernor.elytraSpeedLimit(state);
+                ELYTRA_PLANS.add(plan);
+            } else {
+                int index = SWOOPING_BATCH.addSwooping(velocity.x, velocity.y, velocity.z, gravity);
+                SWOOPING_BATCH.speedLimit[index] = GlideSpeedGovernor.swoopingSpeedLimit(state);
+                SWOOPING_PLANS.add(plan);
+            }
+            plan.begin(player, gravity);
+        }
+
+        project(ELYTRA_BATCH, ELYTRA_PLANS, true);
+        project(SWOOPING_BATCH, SWOOPING_PLANS, false);
+    }
+
+    /**
+     * Drop all prefetch tickets held for the player.
+     */
+    public static void release(ServerPlayerEntity player) {
+        Plan plan = PLANS.remove(player.getUuid());
+        if (plan != null) {
+            plan.releaseAll();
+        }
+    }
+
+    /**
+     * Forget every plan; chunk tickets go away with the worlds on shutdown.
+     */
+    public static void clear() {
+        PLANS.clear();
+    }
+
+    /**
+     * @return number of prefetch tickets currently held for the player
+     */
+    public static int ticketCount(ServerPlayerEntity player) {
+        Plan plan = PLANS.get(player.getUuid());
+        return plan == null ? 0 : plan.tickets.size();
+    }
+
+    private static Plan planFor(ServerPlayerEntity player) {
+        Plan plan = PLANS.get(player.getUuid());
+        if (plan != null && plan.world != player.getEntityWorld()) {
+            // Changed dimension: the old tickets belong to the old world
+            plan.releaseAll();
+            plan = null;
+        }
+        if (plan == null) {
+            plan = new Plan(player.getEntityWorld());
+            PLANS.put(player.getUuid(), plan);
+        }
+        return plan;
+    }
+
+    private static void project(GlideBatch batch, List<Plan> plans, boolean elytra) {
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+
+        int remaining = count;
+        for (int tick = 0; tick < MobilityConfig.PREFETCH_LOOKAHEAD_TICKS && remaining > 0; tick++) {
+            if (elytra) {
+                GlideKernels.get().elytra(batch);
+            } else {
+                // Lift where each glider will be, as SwoopingPhysics samples it at the entity
+                for (int i = 0; i < count; i++) {
+                    Plan plan = plans.get(i);
+                    batch.gravity[i] = plan.gravity - plan.lift.sample(plan.x, plan.y, plan.z);
+                }
+                GlideKernels.get().swooping(batch);
+            }
+
+            for (int i = 0; i < count; i++) {
+                Plan plan = plans.get(i);
+                if (plan.full()) {
+                    continue;
+                }
+                plan.x += batch.velX[i];
+                plan.y += batch.velY[i];
+                plan.z += batch.velZ[i];
+                if (plan.visit() && plan.full()) {
+                    remaining--;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            plans.get(i).commit();
+        }
+    }
+
+    /**
+     * Prefetch tickets currently held for one player, plus the projection in progress.
+     */
+    private static final class Plan {
+        private final ServerWorld world;
+        private final LiftField lift;
+        private LongOpenHashSet tickets = new LongOpenHashSet();
+        private LongOpenHashSet next = new LongOpenHashSet();
+        private double x;
+        private double y;
+        private double z;
+        // Gravity before lift
+        private double gravity;
+        private long lastChunk;
+
+        private Plan(ServerWorld world) {
+            this.world = world;
+            this.lift = LiftField.of(world);
+        }
+
+        private void begin(ServerPlayerEntity player, double gravity) {
+            next.clear();
+            x = player.getX();
+            y = player.getY();
+            z = player.getZ();
+            this.gravity = gravity;
+            lastChunk = chunkKey();
+        }
+
+        private boolean full() {
+            return next.size() >= MobilityConfig.PREFETCH_MAX_CHUNKS_PER_PLAYER;
+        }
+
+        /**
+         * Record the chunk at the current projected position.
+         *
+         * @return true if a chunk was added to the next ticket set
+         */
+        private boolean visit() {
+            long chunk = chunkKey();
+            if (chunk == lastChunk) {
+                return false;
+            }
+            lastChunk = chunk;
+
+            // Chunks we already hold stay on the list even though our ticket loaded them
+            if (!tickets.contains(chunk) && world.getChunkManager().isChunkLoaded(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk))) {
+                return false;
+            }
+            return next.add(chunk);
+        }
+
+        private void commit() {
+            ServerChunkManager chunkManager = world.getChunkManager();
+            for (LongIterator it = tickets.iterator(); it.hasNext(); ) {
+                long chunk = it.nextLong();
+                if (!next.contains(chunk)) {
+                    chunkManager.removeTicket(GLIDE_PREFETCH, new ChunkPos(chunk), TICKET_RADIUS);
+                }
+            }
+            // Adding an existing ticket again renews its timeout
+            for (LongIterator it = next.iterator(); it.hasNext(); ) {
+                chunkManager.addTicket(GLIDE_PREFETCH, new ChunkPos(it.nextLong()), TICKET_RADIUS);
+            }
+
+            LongOpenHashSet previous = tickets;
+            tickets = next;
+            next = previous;
+        }
+
+        private void releaseAll() {
+            ServerChunkManager chunkManager = world.getChunkManager();
+            for (LongIterator it = tickets.iterator(); it.hasNext(); ) {
+                chunkManager.removeTicket(GLIDE_PREFETCH, new ChunkPos(it.nextLong()), TICKET_RADIUS);
+            }
+            tickets.clear();
+        }
+
+        private long chunkKey() {
+            return ChunkPos.toLong(ChunkSectionPos.getSectionCoord(MathHelper.floor(x)), ChunkSectionPos.getSectionCoord(MathHelper.floor(z)));
+        }
+    }
+}
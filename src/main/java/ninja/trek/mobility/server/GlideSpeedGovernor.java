@@ -0,0 +1,143 @@
+package ninja.trek.mobility.server;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.chunk.ChunkManager;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * Lowers the glide speed cap while the server cannot keep up.
+ *
+ * <p>Fast gliders flying into unexplored terrain request chunks faster than world
+ * generation can produce them. Every {@link MobilityConfig#GOVERNOR_SAMPLE_INTERVAL_TICKS}
+ * ticks the governor looks at two signals:
+ * <ul>
+ *     <li>the server's average tick time, which yields one scale shared by everyone, and</li>
+ *     <li>for each gliding player, how many chunks in the area they are about to reach are
+ *     not loaded yet, which yields a per-player scale stored on their {@link MobilityState}.</li>
+ * </ul>
+ * Both scales move toward their targets gradually (faster when slowing down than when
+ * recovering) so the cap never jumps. The physics reads the product through
+ * {@link #swoopingSpeedLimit(MobilityState)} and {@link #elytraSpeedLimit(MobilityState)}.</p>
+ */
+public final class GlideSpeedGovernor {
+    // Written on the server thread, read by every world's tick thread
+    private static volatile double serverScale = 1.0D;
+    private static volatile double lastMspt = 0.0D;
+
+    private GlideSpeedGovernor() {
+    }
+
+    /**
+     * Called at the end of every server tick; only does work on sample ticks.
+     */
+    public static void onEndServerTick(MinecraftServer server) {
+        if (server.getTicks() % MobilityConfig.GOVERNOR_SAMPLE_INTERVAL_TICKS != 0) {
+            return;
+        }
+
+        lastMspt = server.getAverageNanosPerTick() / 1_000_000.0D;
+        serverScale = approach(serverScale, targetForMspt(lastMspt));
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            double target = player.isGliding() ? targetForPendingChunks(countPendingChunks(player)) : 1.0D;
+            // The scale is player state, so it is written by the owner of the player's world
+            MobilityWorld.execute(player, () -> {
+                MobilityState state = MobilityState.of(player);
+                state.mobility$setGlideSpeedScale((float) approach(state.mobility$getGlideSpeedScale(), target));
+            });
+        }
+    }
+
+    /**
+     * @return the Swooping speed cap for this player right now ({@code <= 0} means uncapped)
+     */
+    public static double swoopingSpeedLimit(MobilityState state) {
+        double limit = MobilityConfig.SWOOPING_SPEED_LIMIT;
+        return limit <= 0.0D ? limit : limit * effectiveScale(state);
+    }
+
+    /**
+     * Elytra flight is left as vanilla has it unless the governor is throttling.
+     *
+     * @return the Elytra speed cap for this player right now ({@code <= 0} means uncapped)
+     */
+    public static double elytraSpeedLimit(MobilityState state) {
+        double scale = effectiveScale(state);
+        return scale >= 1.0D ? 0.0D : MobilityConfig.GOVERNOR_ELYTRA_SPEED_LIMIT * scale;
+    }
+
+    /**
+     * @return combined server and player scale, never below {@link MobilityConfig#GOVERNOR_MIN_SPEED_SCALE}
+     */
+    public static double effectiveScale(MobilityState state) {
+        return Math.max(MobilityConfig.GOVERNOR_MIN_SPEED_SCALE, serverScale * state.mobility$getGlideSpeedScale());
+    }
+
+    /**
+     * @return the server-wide scale derived from tick time
+     */
+    public static double serverScale() {
+        return serverScale;
+    }
+
+    /**
+     * @return average milliseconds per tick at the last sample
+     */
+    public static double lastMspt() {
+        return lastMspt;
+    }
+
+    /**
+     * Count chunks that are not fully loaded in the square centred on where the player
+     * will be after {@link MobilityConfig#GOVERNOR_LOOKAHEAD_TICKS} ticks at their current velocity.
+     */
+    public static int countPendingChunks(ServerPlayerEntity player) {
+        Vec3d velocity = player.getVelocity();
+        double lookahead = MobilityConfig.GOVERNOR_LOOKAHEAD_TICKS;
+        int centerX = ChunkSectionPos.getSectionCoord(MathHelper.floor(player.getX() + velocity.x * lookahead));
+        int centerZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(player.getZ() + velocity.z * lookahead));
+        int radius = MobilityConfig.GOVERNOR_LOOKAHEAD_CHUNK_RADIUS;
+
+        ChunkManager chunkManager = player.getEntityWorld().getChunkManager();
+        int pending = 0;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                if (!chunkManager.isChunkLoaded(x, z)) {
+                    pending++;
+                }
+            }
+        }
+        return pending;
+    }
+
+    private static double targetForMspt(double mspt) {
+        return interpolateTarget(mspt, MobilityConfig.GOVERNOR_TARGET_MSPT, MobilityConfig.GOVERNOR_CRITICAL_MSPT);
+    }
+
+    private static double targetForPendingChunks(int pending) {
+        return interpolateTarget(pending, MobilityConfig.GOVERNOR_PENDING_CHUNKS_TOLERATED, MobilityConfig.GOVERNOR_PENDING_CHUNKS_CRITICAL);
+    }
+
+    /**
+     * Full speed up to {@code relaxed}, minimum scale from {@code critical}, linear in between.
+     */
+    private static double interpolateTarget(double load, double relaxed, double critical) {
+        if (load <= relaxed) {
+            return 1.0D;
+        }
+        double t = MathHelper.clamp((load - relaxed) / (critical - relaxed), 0.0D, 1.0D);
+        return MathHelper.lerp(t, 1.0D, MobilityConfig.GOVERNOR_MIN_SPEED_SCALE);
+    }
+
+    private static double approach(double current, double target) {
+        double rate = target < current ? MobilityConfig.GOVERNOR_DECAY_RATE : MobilityConfig.GOVERNOR_RECOVERY_RATE;
+        double next = current + (target - current) * rate;
+        // Snap once close enough so the cap reads as fully restored
+        return Math.abs(target - next) < 1.0e-3 ? target : next;
+    }
+}
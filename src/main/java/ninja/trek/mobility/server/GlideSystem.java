@@ -0,0 +1,238 @@
+package ninja.trek.mobility.server;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.ability.GlideAbility;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.api.MobilityEventHooks;
+import ninja.trek.mobility.lift.LiftField;
+import ninja.trek.mobility.mixin.LivingEntityAccessor;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.GlideKernel;
+import ninja.trek.mobility.physics.GlideKernels;
+import ninja.trek.mobility.state.MobilityComponent;
+import ninja.trek.mobility.state.MobilityHolder;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batched glide physics for the non-player gliders of one world: mobs and armour stands
+ * wearing an Elytra or Swooping chestplate.
+ *
+ * <p>Players keep their own per-tick path through {@code AbilityDispatcher}, since their
+ * client drives the movement and every step needs a sync decision. Everything else is
+ * moved by the server alone, so its glide steps can be computed together. Membership
+ * follows entity load/unload and chestplate changes; entities without a glide chestplate
+ * are never looked at, and carry no {@link MobilityComponent} at all.</p>
+ *
+ * <p>At the start of every world tick the system deploys or ends each member's glide, packs
+ * the gliding ones into one {@link GlideBatch} per physics model and advances them with
+ * {@link GlideKernels#get()}. The results are parked on each member's component. When the
+ * entity's own tick later asks for its glide velocity, GlideLivingEntityMixin hands back the
+ * parked result if the velocity is still the one the batch started from, and falls back to
+ * {@link GlideAbility#step} if something changed it in between.</p>
+ */
+public final class GlideSystem {
+    private final List<LivingEntity> members = new ArrayList<>();
+
+    // Scratch state reused every tick
+    private final GlideBatch elytraBatch = new GlideBatch();
+    private final GlideBatch swoopingBatch = new GlideBatch();
+    private final List<LivingEntity> elytraGliders = new ArrayList<>();
+    private final List<LivingEntity> swoopingGliders = new ArrayList<>();
+    private final List<MobilityComponent> elytraComponents = new ArrayList<>();
+    private final List<MobilityComponent> swoopingComponents = new ArrayList<>();
+
+    /**
+     * @return the glide system of {@code world}
+     */
+    public static GlideSystem of(ServerWorld world) {
+        return ((MobilityWorld) world).mobility$getGlideSystem();
+    }
+
+    public static void onStartWorldTick(ServerWorld world) {
+        of(world).tick();
+    }
+
+    public static void onEntityLoad(Entity entity, ServerWorld world) {
+        if (entity instanceof LivingEntity living) {
+            of(world).update(living);
+        }
+    }
+
+    public static void onEntityUnload(Entity entity, ServerWorld world) {
+        if (entity instanceof LivingEntity living) {
+            of(world).remove(living);
+        }
+    }
+
+    public static void onEquipmentChange(LivingEntity entity, EquipmentSlot slot, ItemStack previous, ItemStack current) {
+        if (slot == EquipmentSlot.CHEST && entity.getEntityWorld() instanceof ServerWorld world) {
+            of(world).update(entity);
+        }
+    }
+
+    /**
+     * The glide velocity for a member whose tick asks for one.
+     *
+     * @return the batched result, a freshly computed one if the velocity changed since the
+     *         batch ran, or null if the entity is not a member of any glide system
+     */
+    public static Vec3d glideVelocity(LivingEntity entity, Vec3d oldVelocity) {
+        MobilityComponent component = ((MobilityHolder) entity).mobility$peekComponent();
+        if (component == null || component.getSystemIndex() < 0) {
+            return null;
+        }
+
+        Vec3d batched = component.takeBatchedGlide(oldVelocity);
+        if (batched != null) {
+            return batched;
+        }
+
+        if (!(MobilityAbilities.byId(component.mobility$getAbilityId()) instanceof GlideAbility glide)) {
+            return null;
+        }
+        double gravity = ((LivingEntityAccessor) entity).invokeGetEffectiveGravity();
+        return glide.step(entity, component, oldVelocity, gravity);
+    }
+
+    /**
+     * @return number of entities wearing a glide chestplate in this world
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * @return number of members that glided in the last tick
+     */
+    public int gliding() {
+        return elytraGliders.size() + swoopingGliders.size();
+    }
+
+    private void update(LivingEntity entity) {
+        if (entity instanceof PlayerEntity) {
+            return;
+        }
+
+        if (MobilityAbilities.forStack(entity.getEquippedStack(EquipmentSlot.CHEST)).canGlide()) {
+            add(entity);
+        } else {
+            remove(entity);
+        }
+    }
+
+    private void add(LivingEntity entity) {
+        MobilityComponent component = MobilityState.of(entity);
+        if (component.getSystemIndex() >= 0) {
+            return;
+        }
+        component.setSystemIndex(members.size());
+        members.add(entity);
+    }
+
+    private void remove(LivingEntity entity) {
+        MobilityComponent component = ((MobilityHolder) entity).mobility$peekComponent();
+        if (component != null && component.getSystemIndex() >= 0) {
+            removeAt(component.getSystemIndex());
+        }
+    }
+
+    /**
+     * Swap-remove, so the member order changes but removal stays O(1).
+     */
+    private void removeAt(int index) {
+        LivingEntity removed = members.get(index);
+        LivingEntity last = members.remove(members.size() - 1);
+        if (last != removed) {
+            members.set(index, last);
+            MobilityState.of(last).setSystemIndex(index);
+        }
+
+        MobilityComponent component = MobilityState.of(removed);
+        component.setSystemIndex(-1);
+        component.setBatchedInput(null);
+        MobilityAbilities.ELYTRA.release(removed, component);
+        MobilityAbilities.SWOOPING.release(removed, component);
+        component.mobility$resetStates();
+    }
+
+    private void tick() {
+        elytraBatch.clear();
+        swoopingBatch.clear();
+        elytraGliders.clear();
+        swoopingGliders.clear();
+        elytraComponents.clear();
+        swoopingComponents.clear();
+
+        // Backwards, so swap-removal only moves members that were already visited
+        for (int i = members.size() - 1; i >= 0; i--) {
+            LivingEntity entity = members.get(i);
+            if (entity.isRemoved()) {
+                removeAt(i);
+                continue;
+            }
+
+            MobilityComponent component = MobilityState.of(entity);
+            MobilityAbility ability = MobilityAbilities.forEntity(entity, component);
+            if (!(ability instanceof GlideAbility glide)) {
+                removeAt(i);
+                continue;
+            }
+            if (!glide.updateNonPlayer(entity, component)) {
+                continue;
+            }
+
+            Vec3d velocity = entity.getVelocity();
+            double gravity = ((LivingEntityAccessor) entity).invokeGetEffectiveGravity();
+            component.setBatchedInput(velocity);
+            if (glide == MobilityAbilities.ELYTRA) {
+                int index = elytraBatch.addElytra(velocity.x, velocity.y, velocity.z, gravity, entity.getPitch(), entity.getYaw());
+                elytraBatch.speedLimit[index] = glide.speedLimit(component);
+                elytraGliders.add(entity);
+                elytraComponents.add(component);
+            } else {
+                int index = swoopingBatch.addSwooping(velocity.x, velocity.y, velocity.z, gravity - LiftField.sample(entity));
+                swoopingBatch.speedLimit[index] = glide.speedLimit(component);
+                swoopingGliders.add(entity);
+                swoopingComponents.add(component);
+            }
+        }
+
+        GlideKernel kernel = GlideKernels.get();
+        advance(kernel, MobilityAbilities.ELYTRA, elytraBatch, elytraGliders, elytraComponents);
+        advance(kernel, MobilityAbilities.SWOOPING, swoopingBatch, swoopingGliders, swoopingComponents);
+    }
+
+    /**
+     * Run {@code kernel} over a packed batch and park each result on its glider's component,
+     * after offering it to {@code GLIDE_TICK} listeners. Allocates nothing; the allocation
+     * budget check drives this directly, with null entities.
+     *
+     * @param gliders    the entities in batch order, for the listeners
+     * @param components their components, each given its input velocity when packed
+     */
+    public static void advance(GlideKernel kernel, GlideAbility glide, GlideBatch batch,
+                               List<? extends LivingEntity> gliders, List<MobilityComponent> components) {
+        if (batch.size() == 0) {
+            return;
+        }
+        if (glide == MobilityAbilities.ELYTRA) {
+            kernel.elytra(batch);
+        } else {
+            kernel.swooping(batch);
+        }
+        for (int i = 0; i < components.size(); i++) {
+            MobilityEventHooks.glideTick(gliders.get(i), glide, batch, i);
+            components.get(i).setBatchedResult(batch.velX[i], batch.velY[i], batch.velZ[i]);
+        }
+    }
+}
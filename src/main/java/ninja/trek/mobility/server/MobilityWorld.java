@@ -0,0 +1,84 @@
+package ninja.trek.mobility.server;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.state.MobilityComponent;
+import ninja.trek.mobility.state.MobilityHolder;
+import ninja.trek.mobility.state.MobilityWorldContext;
+import ninja.trek.mobility.stats.GlideHeatmap;
+import ninja.trek.mobility.zone.ZoneIndex;
+
+import java.util.List;
+
+/**
+ * Implemented via mixin on ServerWorld to carry the world's mobility context,
+ * {@link GlideSystem}, {@link ZoneIndex} and {@link GlideHeatmap}.
+ */
+public interface MobilityWorld {
+
+    /**
+     * @return the context owning the mobility state of this world's entities
+     */
+    MobilityWorldContext mobility$getContext();
+
+    /**
+     * @return the glide system of this world
+     */
+    GlideSystem mobility$getGlideSystem();
+
+    /**
+     * @return the ability zones of this world
+     */
+    ZoneIndex mobility$getZones();
+
+    /**
+     * @return the glide traffic heatmap of this world
+     */
+    GlideHeatmap mobility$getHeatmap();
+
+    /**
+     * @return the context of a server world
+     */
+    static MobilityWorldContext context(World world) {
+        return ((MobilityWorld) world).mobility$getContext();
+    }
+
+    /**
+     * Run a task for a player on the owner of their world. If the player changes world
+     * before a queued task runs, the task follows them; if they leave, it is dropped.
+     */
+    static void execute(ServerPlayerEntity player, Runnable task) {
+        World world = player.getEntityWorld();
+        context(world).execute(() -> {
+            if (player.isRemoved()) {
+                return;
+            }
+            if (player.getEntityWorld() == world) {
+                task.run();
+            } else {
+                execute(player, task);
+            }
+        });
+    }
+
+    /**
+     * Move a player's running cooldowns and other timers into the timing wheel of the world
+     * they just entered. Called on the origin world's owner: the timers are taken out of the
+     * origin's wheel here and scheduled in the destination's by the destination's owner, so
+     * each wheel is only ever touched by its own world's thread.
+     */
+    static void moveTimers(ServerPlayerEntity player, ServerWorld destination) {
+        // Not MobilityState.of: the player already counts as the destination's, which may be ticking
+        MobilityComponent component = ((MobilityHolder) player).mobility$peekComponent();
+        if (component == null) {
+            return;
+        }
+        List<Timer> timers = component.detachTimers();
+        if (!timers.isEmpty()) {
+            MobilityWorldContext context = context(destination);
+            context.execute(() -> MobilityComponent.relinkTimers(timers, context.timers()));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ninja.trek.mobility.server;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * Widens vanilla's "moved too quickly" check by what a mobility ability can legitimately add.
+ *
+ * <p>Vanilla rejects a move packet, and teleports the player back, when the squared distance
+ * moved exceeds the squared server-side velocity by more than a fixed allowance (100, or 300
+ * while gliding) per packet. A dash or a fast glide can exceed that while the server's idea of
+ * the velocity lags behind the client's, and each false positive costs a rollback and a resync.</p>
+ *
+ * <p>Each ability's {@link MobilityAbility#maxDisplacement()} is turned into a squared
+ * allowance once, when first needed. The allowance is added to vanilla's only while it
+ * applies: for {@link MobilityConfig#MOVEMENT_ENVELOPE_TICKS} after an activation, and while
+ * gliding with a glide ability. The check itself is never switched off.</p>
+ */
+public final class MovementEnvelope {
+    // Squared displacement allowance per ability id, rebuilt if abilities register later
+    private static volatile float[] slackById = new float[0];
+
+    private MovementEnvelope() {
+    }
+
+    /**
+     * Open the envelope of an ability that was just activated, for the next
+     * {@link MobilityConfig#MOVEMENT_ENVELOPE_TICKS} ticks. Does nothing for abilities that
+     * never move the player beyond vanilla's allowance.
+     */
+    public static void open(ServerPlayerEntity player, MobilityAbility ability) {
+        float slack = slack(ability);
+        if (slack <= 0.0F) {
+            return;
+        }
+
+        MobilityState state = MobilityState.of(player);
+        Window window;
+        if (state.mobility$getEnvelopeTimer() instanceof Window existing) {
+            window = existing;
+        } else {
+            window = new Window();
+            state.mobility$setEnvelopeTimer(window);
+        }
+        // A window still open for a stronger ability keeps its allowance
+        window.slack = window.isScheduled() ? Math.max(window.slack, slack) : slack;
+        MobilityWorld.context(player.getEntityWorld()).timers().schedule(window, MobilityConfig.MOVEMENT_ENVELOPE_TICKS);
+    }
+
+    /**
+     * Vanilla's per-packet movement allowance for {@code player}, widened by the active
+     * ability's envelope if one applies right now.
+     *
+     * @param limit vanilla's squared-distance allowance
+     */
+    public static float widen(ServerPlayerEntity player, float limit) {
+        float slack = currentSlack(player);
+        if (slack <= 0.0F) {
+            return limit;
+        }
+        if (MobilityMetrics.ENABLED) {
+            MobilityMetrics.countMoveCheckWidened();
+        }
+        return limit + slack;
+    }
+
+    /**
+     * @return true if the player's movement check is currently widened
+     */
+    public static boolean isOpen(ServerPlayerEntity player) {
+        return currentSlack(player) > 0.0F;
+    }
+
+    private static float currentSlack(ServerPlayerEntity player) {
+        MobilityState state = MobilityState.of(player);
+        float slack = state.mobility$getEnvelopeTimer() instanceof Window window && window.isScheduled() ? window.slack : 0.0F;
+        if (player.isGliding()) {
+            MobilityAbility ability = MobilityAbilities.forEntity(player, state);
+            if (ability.canGlide()) {
+                slack = Math.max(slack, slack(ability));
+            }
+        }
+        return slack;
+    }
+
+    private static float slack(MobilityAbility ability) {
+        float[] table = slackById;
+        int id = ability.id();
+        if (id >= table.length) {
+            table = precompute();
+        }
+        return table[id];
+    }
+
+    private static synchronized float[] precompute() {
+        int count = MobilityAbilities.count();
+        float[] table = new float[count];
+        for (int id = 0; id < count; id++) {
+            double bound = MobilityAbilities.byId(id).maxDisplacement() * MobilityConfig.MOVEMENT_ENVELOPE_MARGIN;
+            table[id] = (float) (bound * bound);
+        }
+        slackById = table;
+        return table;
+    }
+
+    /**
+     * An open envelope: the movement check is widened while this is scheduled.
+     */
+    private static final class Window extends Timer {
+        private float slack;
+    }
+}
@@ -0,0 +1,168 @@
+package ninja.trek.mobility.server;
+
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.network.EntityTrackerEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.network.GlideKeyframePayload;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level-of-detail policy for the velocity updates a gliding player generates.
+ *
+ * <p>Glide physics marks the player's velocity as modified every tick, and vanilla's
+ * entity tracker turns each of those into a packet for the player and every tracking
+ * observer. The glider needs every update, and so do observers close by. Distant observers
+ * barely see the difference and can interpolate between sparser updates, so they are split
+ * into tiers by distance that are sent every {@code N}th tick. The phase is offset per
+ * observer so a crowd of distant observers does not receive its updates in the same tick.</p>
+ *
+ * <p>Observers running the mod extrapolate remote glides with the glide physics themselves,
+ * so they get a {@link GlideKeyframePayload} with the exact velocity instead of vanilla's
+ * update, {@link MobilityConfig#BROADCAST_SMOOTHED_INTERVAL_MULTIPLIER} times less often in
+ * every tier. A glider running the mod gets its own velocity as a keyframe too, on every
+ * update: its client predicts the following ticks from it, and vanilla's quantised velocity
+ * would put that prediction on a path the server never checks against.</p>
+ *
+ * <p>Packet and byte counters per tier are kept so the saving can be checked with
+ * {@code /mobility broadcast}.</p>
+ */
+public final class VelocityBroadcastPolicy {
+
+    public enum Tier {
+        SELF,
+        NEAR,
+        MID,
+        FAR;
+
+        private final LongAdder sentPackets = new LongAdder();
+        private final LongAdder sentBytes = new LongAdder();
+        private final LongAdder skippedPackets = new LongAdder();
+        private final LongAdder skippedBytes = new LongAdder();
+
+        public long sentPackets() {
+            return sentPackets.sum();
+        }
+
+        public long sentBytes() {
+            return sentBytes.sum();
+        }
+
+        public long skippedPackets() {
+            return skippedPackets.sum();
+        }
+
+        public long skippedBytes() {
+            return skippedBytes.sum();
+        }
+    }
+
+    // Packet id plus the compact velocity encoding; the entity id varint is added per packet
+    private static final int VELOCITY_PAYLOAD_BYTES = 7;
+
+    private VelocityBroadcastPolicy() {
+    }
+
+    /**
+     * @return true if the entity's velocity updates should go through this policy
+     */
+    public static boolean handles(Entity entity) {
+        if (!(entity instanceof ServerPlayerEntity player) || !player.isGliding()) {
+            return false;
+        }
+        MobilityState state = MobilityState.of(player);
+        return state.mobility$isElytraGliding() || state.mobility$isSwoopingGliding();
+    }
+
+    /**
+     * Send a velocity update for a gliding player: always to the player, and to each
+     * observer according to its distance tier.
+     */
+    public static void broadcast(ServerPlayerEntity glider, EntityTrackerEntry.TrackerPacketSender sender,
+                                 Packet<? super ClientPlayPacketListener> packet) {
+        int bytes = VELOCITY_PAYLOAD_BYTES + varIntSize(glider.getId());
+        int keyframeBytes = GlideKeyframePayload.FIXED_BYTES + varIntSize(glider.getId());
+
+        Packet<?>[] keyframe = new Packet<?>[1];
+        if (ServerPlayNetworking.canSend(glider, GlideKeyframePayload.ID)) {
+            keyframe[0] = ServerPlayNetworking.createS2CPacket(new GlideKeyframePayload(glider.getId(), glider.getVelocity()));
+            glider.networkHandler.sendPacket(keyframe[0]);
+            count(Tier.SELF, true, keyframeBytes);
+        } else {
+            glider.networkHandler.sendPacket(packet);
+            count(Tier.SELF, true, bytes);
+        }
+
+        sender.sendToListenersIf(packet, observer -> {
+            if (!ServerPlayNetworking.canSend(observer, GlideKeyframePayload.ID)) {
+                return shouldSend(glider, observer, bytes, 1);
+            }
+            // Sent here rather than through the filter, which only forwards vanilla's packet
+            if (shouldSend(glider, observer, keyframeBytes, MobilityConfig.BROADCAST_SMOOTHED_INTERVAL_MULTIPLIER)) {
+                if (keyframe[0] == null) {
+                    keyframe[0] = ServerPlayNetworking.createS2CPacket(new GlideKeyframePayload(glider.getId(), glider.getVelocity()));
+                }
+                observer.networkHandler.sendPacket(keyframe[0]);
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Zero all counters.
+     */
+    public static void reset() {
+        for (Tier tier : Tier.values()) {
+            tier.sentPackets.reset();
+            tier.sentBytes.reset();
+            tier.skippedPackets.reset();
+            tier.skippedBytes.reset();
+        }
+    }
+
+    private static boolean shouldSend(ServerPlayerEntity glider, ServerPlayerEntity observer, int bytes, int multiplier) {
+        Tier tier = tierFor(glider.squaredDistanceTo(observer));
+        int interval = multiplier * switch (tier) {
+            case MID -> MobilityConfig.BROADCAST_MID_INTERVAL_TICKS;
+            case FAR -> MobilityConfig.BROADCAST_FAR_INTERVAL_TICKS;
+            default -> 1;
+        };
+
+        boolean send = interval <= 1 || Math.floorMod(glider.age + observer.getId(), interval) == 0;
+        count(tier, send, bytes);
+        return send;
+    }
+
+    private static Tier tierFor(double distanceSquared) {
+        double near = MobilityConfig.BROADCAST_NEAR_DISTANCE;
+        if (distanceSquared <= near * near) {
+            return Tier.NEAR;
+        }
+        double mid = MobilityConfig.BROADCAST_MID_DISTANCE;
+        return distanceSquared <= mid * mid ? Tier.MID : Tier.FAR;
+    }
+
+    private static void count(Tier tier, boolean sent, int bytes) {
+        if (sent) {
+            tier.sentPackets.increment();
+            tier.sentBytes.add(bytes);
+        } else {
+            tier.skippedPackets.increment();
+            tier.skippedBytes.add(bytes);
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
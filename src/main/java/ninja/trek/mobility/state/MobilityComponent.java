@@ -0,0 +1,340 @@
+package ninja.trek.mobility.state;
+
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.schedule.TimingWheel;
+import ninja.trek.mobility.wall.WallContact;
+import ninja.trek.mobility.zone.ZoneCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mobility state of one living entity.
+ *
+ * <p>Attached lazily to any {@code LivingEntity} the first time {@link MobilityState#of}
+ * asks for it, so entities that never touch a mobility ability carry nothing but an
+ * empty reference. Players get one on their first tick; mobs and armour stands only once
+ * they wear a glide chestplate and join their world's {@code GlideSystem}.</p>
+ *
+ * <p>The fields are deliberately unsynchronised. A component belongs to whoever owns its
+ * entity's world ({@link MobilityWorldContext}), and cross-thread work is handed to that
+ * owner rather than touching the fields directly.</p>
+ *
+ * <p>Cooldowns, the glide hunger flush and the movement envelope are {@link Timer}s in the world's timing wheel
+ * rather than counters, so an idle component costs nothing per tick.</p>
+ */
+public final class MobilityComponent implements MobilityState {
+    private boolean wallJumping = false;
+    private boolean usedDoubleJump = false;
+    private boolean elytraGliding = false;
+    private boolean swoopingGliding = false;
+    private Timer hungerTimer = null;
+    private Timer envelopeTimer = null;
+    // Indexed by ability id, grown as abilities are used
+    private Timer[] cooldowns = new Timer[0];
+    private float glideSpeedScale = 1.0F;
+    private Vec3d preTickVelocity = Vec3d.ZERO;
+    private Vec3d lastGlideVelocity = null;
+    private double glideLift = 0.0D;
+    private int abilityId = 0;
+    private ItemEnchantmentsComponent abilitySource = null;
+    private int lastActivationTick = 0;
+    private boolean hasActivationTick = false;
+    private int statsSlot = -1;
+    private MobilityProfile profile = MobilityProfile.DEFAULT;
+    private ZoneCache zoneCache = null;
+    private WallContact wallContact = null;
+
+    // Glide system bookkeeping for non-player gliders
+    private int systemIndex = -1;
+    private Vec3d batchedInput = null;
+    private double batchedX;
+    private double batchedY;
+    private double batchedZ;
+
+    @Override
+    public boolean mobility$isWallJumping() {
+        return wallJumping;
+    }
+
+    @Override
+    public void mobility$setWallJumping(boolean wallJumping) {
+        this.wallJumping = wallJumping;
+    }
+
+    @Override
+    public boolean mobility$hasUsedDoubleJump() {
+        return usedDoubleJump;
+    }
+
+    @Override
+    public void mobility$setUsedDoubleJump(boolean used) {
+        this.usedDoubleJump = used;
+    }
+
+    @Override
+    public boolean mobility$isElytraGliding() {
+        return elytraGliding;
+    }
+
+    @Override
+    public void mobility$setElytraGliding(boolean gliding) {
+        this.elytraGliding = gliding;
+    }
+
+    @Override
+    public boolean mobility$isSwoopingGliding() {
+        return swoopingGliding;
+    }
+
+    @Override
+    public void mobility$setSwoopingGliding(boolean gliding) {
+        this.swoopingGliding = gliding;
+    }
+
+    @Override
+    public Timer mobility$getHungerTimer() {
+        return hungerTimer;
+    }
+
+    @Override
+    public void mobility$setHungerTimer(Timer timer) {
+        this.hungerTimer = timer;
+    }
+
+    @Override
+    public Timer mobility$getEnvelopeTimer() {
+        return envelopeTimer;
+    }
+
+    @Override
+    public void mobility$setEnvelopeTimer(Timer timer) {
+        this.envelopeTimer = timer;
+    }
+
+    @Override
+    public int mobility$getCooldown(int abilityId) {
+        return abilityId < cooldowns.length && cooldowns[abilityId] != null ? cooldowns[abilityId].remaining() : 0;
+    }
+
+    @Override
+    public Timer mobility$getCooldownTimer(int abilityId) {
+        if (abilityId >= cooldowns.length) {
+            cooldowns = Arrays.copyOf(cooldowns, abilityId + 1);
+        }
+        Timer timer = cooldowns[abilityId];
+        if (timer == null) {
+            timer = new Timer();
+            cooldowns[abilityId] = timer;
+        }
+        return timer;
+    }
+
+    @Override
+    public float mobility$getGlideSpeedScale() {
+        return glideSpeedScale;
+    }
+
+    @Override
+    public void mobility$setGlideSpeedScale(float scale) {
+        this.glideSpeedScale = scale;
+    }
+
+    @Override
+    public Vec3d mobility$getPreTickVelocity() {
+        return preTickVelocity;
+    }
+
+    @Override
+    public void mobility$setPreTickVelocity(Vec3d velocity) {
+        this.preTickVelocity = velocity;
+    }
+
+    @Override
+    public Vec3d mobility$getLastGlideVelocity() {
+        return lastGlideVelocity;
+    }
+
+    @Override
+    public void mobility$setLastGlideVelocity(Vec3d velocity) {
+        this.lastGlideVelocity = velocity;
+    }
+
+    @Override
+    public double mobility$getGlideLift() {
+        return glideLift;
+    }
+
+    @Override
+    public void mobility$setGlideLift(double lift) {
+        this.glideLift = lift;
+    }
+
+    @Override
+    public int mobility$getAbilityId() {
+        return abilityId;
+    }
+
+    @Override
+    public void mobility$setAbilityId(int id) {
+        this.abilityId = id;
+    }
+
+    @Override
+    public ItemEnchantmentsComponent mobility$getAbilitySource() {
+        return abilitySource;
+    }
+
+    @Override
+    public void mobility$setAbilitySource(ItemEnchantmentsComponent source) {
+        this.abilitySource = source;
+    }
+
+    @Override
+    public int mobility$getLastActivationTick() {
+        return lastActivationTick;
+    }
+
+    @Override
+    public boolean mobility$hasActivationTick() {
+        return hasActivationTick;
+    }
+
+    @Override
+    public void mobility$setLastActivationTick(int clientTick) {
+        this.lastActivationTick = clientTick;
+        this.hasActivationTick = true;
+    }
+
+    @Override
+    public int mobility$getStatsSlot() {
+        return statsSlot;
+    }
+
+    @Override
+    public void mobility$setStatsSlot(int slot) {
+        this.statsSlot = slot;
+    }
+
+    @Override
+    public MobilityProfile mobility$getProfile() {
+        return profile;
+    }
+
+    @Override
+    public void mobility$setProfile(MobilityProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public ZoneCache mobility$getZoneCache() {
+        return zoneCache;
+    }
+
+    @Override
+    public void mobility$setZoneCache(ZoneCache cache) {
+        this.zoneCache = cache;
+    }
+
+    @Override
+    public WallContact mobility$getWallContact() {
+        return wallContact;
+    }
+
+    @Override
+    public void mobility$setWallContact(WallContact contact) {
+        this.wallContact = contact;
+    }
+
+    @Override
+    public void mobility$resetStates() {
+        this.wallJumping = false;
+        this.usedDoubleJump = false;
+    }
+
+    /**
+     * Take every running timer out of its wheel, keeping its deadline, for
+     * {@link #relinkTimers} to schedule in another world's wheel. Only the owner of the
+     * world the timers ran in may call this.
+     *
+     * @return the timers that were running
+     */
+    public List<Timer> detachTimers() {
+        List<Timer> detached = new ArrayList<>();
+        for (Timer timer : cooldowns) {
+            detach(timer, detached);
+        }
+        detach(hungerTimer, detached);
+        detach(envelopeTimer, detached);
+        return detached;
+    }
+
+    /**
+     * Schedule timers taken out by {@link #detachTimers} for their old deadlines. Worlds all
+     * advance to the same server tick, so nothing expires early or late. A timer that was
+     * started again in the meantime keeps its new deadline. Only the owner of the
+     * destination's world may call this.
+     */
+    public static void relinkTimers(List<Timer> timers, TimingWheel destination) {
+        for (Timer timer : timers) {
+            if (!timer.isScheduled()) {
+                destination.scheduleAt(timer, timer.deadline());
+            }
+        }
+    }
+
+    private static void detach(Timer timer, List<Timer> detached) {
+        if (timer != null && timer.isScheduled()) {
+            // Cancelling keeps the deadline
+            timer.cancel();
+            detached.add(timer);
+        }
+    }
+
+    /**
+     * @return position of this entity in its world's glide system, or -1 if not a member
+     */
+    public int getSystemIndex() {
+        return systemIndex;
+    }
+
+    public void setSystemIndex(int index) {
+        this.systemIndex = index;
+    }
+
+    /**
+     * Remember the velocity the glide system is computing this tick's glide from, or forget
+     * a pending result with null.
+     */
+    public void setBatchedInput(Vec3d input) {
+        this.batchedInput = input;
+    }
+
+    /**
+     * Store the velocity the glide system computed from the input set this tick. Kept as
+     * components, so only a glide that is actually taken becomes a {@code Vec3d}.
+     */
+    public void setBatchedResult(double x, double y, double z) {
+        this.batchedX = x;
+        this.batchedY = y;
+        this.batchedZ = z;
+    }
+
+    /**
+     * Consume the batched glide result.
+     *
+     * @return the precomputed velocity if it was computed from {@code input}, otherwise null
+     */
+    public Vec3d takeBatchedGlide(Vec3d input) {
+        Vec3d from = batchedInput;
+        this.batchedInput = null;
+        if (from == null || from != input && !from.equals(input)) {
+            return null;
+        }
+        return new Vec3d(batchedX, batchedY, batchedZ);
+    }
+}
@@ -0,0 +1,18 @@
+package ninja.trek.mobility.state;
+
+/**
+ * Implemented via mixin on LivingEntity to carry its {@link MobilityComponent}.
+ * Use {@link MobilityState#of} rather than casting to this directly.
+ */
+public interface MobilityHolder {
+
+    /**
+     * @return the entity's component, attaching a fresh one if it has none yet
+     */
+    MobilityComponent mobility$getComponent();
+
+    /**
+     * @return the entity's component, or null if none has been attached
+     */
+    MobilityComponent mobility$peekComponent();
+}
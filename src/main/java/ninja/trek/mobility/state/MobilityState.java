@@ -1,11 +1,32 @@
 package ninja.trek.mobility.state;
 
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.wall.WallContact;
+import ninja.trek.mobility.zone.ZoneCache;
+
 /**
- * Tracks the mobility state for a player.
- * This interface is implemented via mixin on ServerPlayerEntity.
+ * Tracks the mobility state of a living entity.
+ * Implemented by {@link MobilityComponent}, which any LivingEntity can carry.
+ * Not thread-safe: only the owner of the entity's world may use it, see {@link MobilityWorldContext}.
  */
 public interface MobilityState {
 
+    /**
+     * @return the mobility state of the entity, attached on first use
+     */
+    static MobilityComponent of(LivingEntity entity) {
+        if (MobilityConfig.CHECK_STATE_OWNERSHIP && entity.getEntityWorld() instanceof MobilityWorld world) {
+            world.mobility$getContext().checkAccess(entity);
+        }
+        return ((MobilityHolder) entity).mobility$getComponent();
+    }
+
     /**
      * @return true if the player is gliding due to the elytra enchantment
      */
@@ -27,24 +48,24 @@ public interface MobilityState {
     void mobility$setSwoopingGliding(boolean gliding);
 
     /**
-     * @return the accumulated exhaustion that has not yet been applied while gliding with the elytra enchantment
+     * @return the timer that flushes glide hunger while gliding, or null if never started
      */
-    float mobility$getElytraHungerRemainder();
+    Timer mobility$getHungerTimer();
 
     /**
-     * Store the accumulated exhaustion remainder while gliding with the elytra enchantment
+     * Attach the timer that flushes glide hunger
      */
-    void mobility$setElytraHungerRemainder(float remainder);
+    void mobility$setHungerTimer(Timer timer);
 
     /**
-     * @return the accumulated exhaustion that has not yet been applied while gliding with the swooping enchantment
+     * @return the timer keeping the player's movement envelope open, or null if never opened
      */
-    float mobility$getSwoopingHungerRemainder();
+    Timer mobility$getEnvelopeTimer();
 
     /**
-     * Store the accumulated exhaustion remainder while gliding with the swooping enchantment
+     * Attach the timer keeping the movement envelope open
      */
-    void mobility$setSwoopingHungerRemainder(float remainder);
+    void mobility$setEnvelopeTimer(Timer timer);
 
     /**
      * @return true if the player is in wall jumping mode
@@ -67,17 +88,135 @@ public interface MobilityState {
     void mobility$setUsedDoubleJump(boolean used);
 
     /**
-     * @return the cooldown remaining before another ability can be used
+     * @return ticks remaining before the ability can be used again
+     */
+    int mobility$getCooldown(int abilityId);
+
+    /**
+     * @return the cooldown timer of an ability, created on first use; running while scheduled
+     */
+    Timer mobility$getCooldownTimer(int abilityId);
+
+    /**
+     * @return fraction (0-1] of the normal glide speed cap currently allowed for this player by the glide speed governor
+     */
+    float mobility$getGlideSpeedScale();
+
+    /**
+     * Set the fraction of the normal glide speed cap allowed for this player
+     */
+    void mobility$setGlideSpeedScale(float scale);
+
+    /**
+     * @return velocity at the start of the current tick, captured for the glide physics
+     */
+    Vec3d mobility$getPreTickVelocity();
+
+    /**
+     * Store the velocity at the start of the current tick
+     */
+    void mobility$setPreTickVelocity(Vec3d velocity);
+
+    /**
+     * @return velocity produced by the last glide physics step, or null if not gliding
+     */
+    Vec3d mobility$getLastGlideVelocity();
+
+    /**
+     * Store the velocity produced by the glide physics this tick
+     */
+    void mobility$setLastGlideVelocity(Vec3d velocity);
+
+    /**
+     * @return environmental lift taken off gravity by the last glide physics step, in blocks
+     *         per tick squared; 0 for physics that ignore it
+     */
+    double mobility$getGlideLift();
+
+    /**
+     * Store the environmental lift the glide physics used this tick
+     */
+    void mobility$setGlideLift(double lift);
+
+    /**
+     * @return id of the {@code MobilityAbility} last resolved from the chestplate
+     */
+    int mobility$getAbilityId();
+
+    /**
+     * Cache the id of the ability resolved from the chestplate
+     */
+    void mobility$setAbilityId(int id);
+
+    /**
+     * @return the chestplate enchantments the cached ability id was resolved from
+     */
+    ItemEnchantmentsComponent mobility$getAbilitySource();
+
+    /**
+     * Remember which chestplate enchantments the cached ability id belongs to
+     */
+    void mobility$setAbilitySource(ItemEnchantmentsComponent source);
+
+    /**
+     * @return client tick stamp of the last accepted ability activation request
+     */
+    int mobility$getLastActivationTick();
+
+    /**
+     * @return true once an activation request has been accepted from this player
+     */
+    boolean mobility$hasActivationTick();
+
+    /**
+     * Remember the client tick stamp of an accepted activation request
+     */
+    void mobility$setLastActivationTick(int clientTick);
+
+    /**
+     * @return the player's record slot in {@code FlightStats}, or -1 if stats are not kept
+     */
+    int mobility$getStatsSlot();
+
+    /**
+     * Remember the player's record slot in {@code FlightStats}
+     */
+    void mobility$setStatsSlot(int slot);
+
+    /**
+     * @return the balance profile for the player's world and permissions; the default
+     *         profile until one is resolved, and always for mobs
+     */
+    MobilityProfile mobility$getProfile();
+
+    /**
+     * Cache the player's resolved profile (called on join, respawn and world change)
+     */
+    void mobility$setProfile(MobilityProfile profile);
+
+    /**
+     * @return the player's cached zone lookup, or null if they never stood in a world with zones
+     */
+    ZoneCache mobility$getZoneCache();
+
+    /**
+     * Attach the player's cached zone lookup
+     */
+    void mobility$setZoneCache(ZoneCache cache);
+
+    /**
+     * @return the player's cached wall contact, or null if they never wall jumped or ran
      */
-    int mobility$getCooldown();
+    WallContact mobility$getWallContact();
 
     /**
-     * Set the cooldown ticks
+     * Attach the player's cached wall contact
      */
-    void mobility$setCooldown(int ticks);
+    void mobility$setWallContact(WallContact contact);
 
     /**
-     * Reset all mobility states (called when player lands)
+     * Reset the air jump states (called when player lands). Glide flags are cleared by
+     * their ability's {@code release}, which also ends the glide's hunger and events.
      */
     void mobility$resetStates();
 }
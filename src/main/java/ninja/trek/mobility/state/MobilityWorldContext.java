@@ -0,0 +1,213 @@
+package ninja.trek.mobility.state;
+
+import ninja.trek.mobility.schedule.TimingWheel;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ownership of the mobility state of one world's entities.
+ *
+ * <p>{@link MobilityState} is plain mutable fields with no locking. That is safe because
+ * every entity's state has exactly one owner at a time: the thread ticking the entity's
+ * world, between {@link #enter(long)} and {@link #exit()}, or whichever thread holds the world
+ * while it is idle (the server thread, as long as worlds tick on it). Work arriving from
+ * elsewhere (packet receivers, commands) goes through {@link #execute(Runnable)}, which
+ * runs it straight away if the world is idle and otherwise queues it for the thread that
+ * is ticking it.</p>
+ *
+ * <p>Work that cannot wait for the world's tick, such as a player's own tick, which vanilla
+ * runs from the player's connection rather than from the world, holds the world for its
+ * duration through {@link #acquire()} and {@link #release()}.</p>
+ *
+ * <p>Only the server thread and world tick threads may hand work over. Taking an idle
+ * world from any other thread, such as a network thread, would run mobility code
+ * alongside the server thread's own packet handling and services, so {@link #execute}
+ * rejects such callers once {@link #bindServerThread} has named the server thread.</p>
+ *
+ * <p>With worlds ticked in parallel, this confines each world's mobility processing to its
+ * own tick thread while different worlds proceed concurrently. Nothing here is shared
+ * between worlds.</p>
+ *
+ * <p>The context also carries the world's {@link TimingWheel}, advanced to the server tick
+ * on every {@link #enter(long)}, so timers expire on the same thread that owns the state
+ * they touch.</p>
+ */
+public final class MobilityWorldContext {
+    private static volatile Thread serverThread;
+    // Worlds the current thread holds, from enter() or a task run on an idle world
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Only used for messages; the world's own toString names it
+    private final Object name;
+    private final AtomicReference<Thread> owner = new AtomicReference<>();
+    private final ConcurrentLinkedQueue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    // 256 slots covers every cooldown and flush interval in one rotation
+    private final TimingWheel timers = new TimingWheel(256);
+
+    public MobilityWorldContext(Object name) {
+        this.name = name;
+    }
+
+    /**
+     * Name the server thread, the one thread besides world tick threads allowed to
+     * {@link #execute} work; {@code null} once the server has stopped.
+     */
+    public static void bindServerThread(Thread thread) {
+        serverThread = thread;
+    }
+
+    /**
+     * Take the world for a tick. Waits for a task that holds it briefly, runs what was
+     * queued while it was busy, then expires the timers due by {@code tick}.
+     *
+     * @param tick the server tick about to be processed
+     */
+    public void enter(long tick) {
+        Thread current = Thread.currentThread();
+        while (!owner.compareAndSet(null, current)) {
+            if (owner.get() == current) {
+                throw new IllegalStateException("World " + name + " entered twice by " + current.getName());
+            }
+            Thread.onSpinWait();
+        }
+        HELD.get()[0]++;
+        drain();
+        timers.advance(tick);
+    }
+
+    /**
+     * Release the world at the end of its tick, running anything queued during it first.
+     * A task queued after the final drain waits for the next {@link #enter(long)} or {@link #execute}.
+     */
+    public void exit() {
+        drain();
+        owner.set(null);
+        HELD.get()[0]--;
+    }
+
+    /**
+     * Hold the world for work that must run now on the calling thread, waiting for its tick
+     * thread or a task to let go first. Re-entrant: a thread already holding the world gets
+     * false and must not {@link #release()} it.
+     *
+     * @return true if the world was taken here and must be handed back with {@link #release()}
+     * @throws IllegalStateException if called from neither the server thread nor a thread
+     *         holding a world
+     */
+    public boolean acquire() {
+        Thread current = Thread.currentThread();
+        if (owner.get() == current) {
+            return false;
+        }
+        checkCaller(current);
+        while (!owner.compareAndSet(null, current)) {
+            Thread.onSpinWait();
+        }
+        HELD.get()[0]++;
+        drain();
+        return true;
+    }
+
+    /**
+     * Hand back a world taken by {@link #acquire()}, running anything queued meanwhile first.
+     */
+    public void release() {
+        exit();
+    }
+
+    /**
+     * Run a task on the world's owner: immediately if the world is idle or already held
+     * by this thread, otherwise at the next point its tick thread drains the queue.
+     *
+     * @return true if the task ran before this call returned
+     * @throws IllegalStateException if called from neither the server thread nor a thread
+     *         holding a world
+     */
+    public boolean execute(Runnable task) {
+        Thread current = Thread.currentThread();
+        Thread holder = owner.get();
+        if (holder == current) {
+            task.run();
+            return true;
+        }
+        checkCaller(current);
+
+        if (holder == null && owner.compareAndSet(null, current)) {
+            int[] held = HELD.get();
+            held[0]++;
+            try {
+                drain();
+                task.run();
+            } finally {
+                owner.set(null);
+                held[0]--;
+            }
+            return true;
+        }
+
+        inbox.add(task);
+        return false;
+    }
+
+    /**
+     * @return the world's timers; like the state, only for use by the world's owner
+     */
+    public TimingWheel timers() {
+        return timers;
+    }
+
+    /**
+     * @return true if the calling thread may touch mobility state in this world right now
+     */
+    public boolean isAccessible() {
+        Thread holder = owner.get();
+        return holder == null || holder == Thread.currentThread();
+    }
+
+    /**
+     * @return true if the calling thread holds the world, by ticking it or otherwise
+     */
+    public boolean isHeldByCurrentThread() {
+        return owner.get() == Thread.currentThread();
+    }
+
+    /**
+     * Fail fast on a state access from a thread that does not own the world.
+     *
+     * @param subject what was accessed, for the error message
+     */
+    public void checkAccess(Object subject) {
+        if (!isAccessible()) {
+            throw new IllegalStateException("Mobility state of " + subject + " accessed from "
+                + Thread.currentThread().getName() + " while " + name + " is owned by " + owner.get().getName());
+        }
+    }
+
+    private void checkCaller(Thread current) {
+        Thread server = serverThread;
+        if (server != null && current != server && HELD.get()[0] == 0) {
+            throw new IllegalStateException("Mobility work for " + name + " handed over from " + current.getName()
+                + "; only the server thread and world tick threads may do so");
+        }
+    }
+
+    /**
+     * @return number of tasks waiting for the world's tick thread
+     */
+    public int pending() {
+        return inbox.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(name);
+    }
+
+    private void drain() {
+        Runnable task;
+        while ((task = inbox.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package ninja.trek.mobility.stats;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.WorldSavePath;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifetime mobility statistics per player, kept in a memory-mapped file of fixed-size records.
+ *
+ * <p>Every player who has ever joined owns one record slot, found once when they join and
+ * cached on their {@link MobilityState}; a respawned player's new state picks it up again on
+ * its first tick ({@link #resolveSlot}). From then on an update is a single absolute read and
+ * write on the mapped buffer, with no lookup, boxing or serialisation; the operating system
+ * writes the dirty pages back, and {@link #onEndServerTick} additionally forces them to disk on
+ * a background thread every {@link MobilityConfig#STATS_FLUSH_INTERVAL_TICKS}.</p>
+ *
+ * <p>A record is only written by the owner of its player's world (see
+ * {@code MobilityWorldContext}), so no two threads ever update the same record. New slots are
+ * handed out, and the mapping grown, on the server thread while players join.</p>
+ *
+ * <p>File layout ({@code <world>/mobility-stats/flight-stats.dat}, big-endian):</p>
+ * <pre>
+ * header: int magic, int version, int record size, int records used, 16 bytes reserved
+ * record: long uuid msb, long uuid lsb, double distance glided (blocks), long air ticks,
+ *         long dashes, long double jumps, long wall jumps, double hunger spent (food points)
+ * </pre>
+ */
+public final class FlightStats {
+    public static final String DIRECTORY = "mobility-stats";
+    public static final String FILE_NAME = "flight-stats.dat";
+
+    private static final int MAGIC = 0x4D465354; // "MFST"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 64;
+
+    private static final int COUNT_OFFSET = 12;
+
+    private static final int UUID_MOST = 0;
+    private static final int UUID_LEAST = 8;
+    private static final int GLIDE_DISTANCE = 16;
+    private static final int AIR_TICKS = 24;
+    private static final int DASHES = 32;
+    private static final int DOUBLE_JUMPS = 40;
+    private static final int WALL_JUMPS = 48;
+    private static final int HUNGER_SPENT = 56;
+
+    private static final Map<UUID, Integer> SLOTS = new ConcurrentHashMap<>();
+    private static final ExecutorService FLUSHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Mobility Flight Stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static FileChannel channel;
+    private static Path file;
+    private static int capacity;
+    private static int count;
+    // Replaced when the file grows; read from every world's tick thread
+    private static volatile MappedByteBuffer buffer;
+
+    private FlightStats() {
+    }
+
+    /**
+     * Map the server's stats file, creating it if needed. Called when the server has started.
+     */
+    public static synchronized void open(MinecraftServer server) {
+        if (buffer != null) {
+            return;
+        }
+
+        file = server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY).resolve(FILE_NAME);
+        try {
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean fresh = channel.size() < HEADER_SIZE;
+            int used = 0;
+            if (!fresh) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+                    throw new IOException("Not a version " + VERSION + " flight stats file");
+                }
+                used = header.getInt(COUNT_OFFSET);
+            }
+
+            map(Math.max(used, 1));
+            if (fresh) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putInt(COUNT_OFFSET, 0);
+            }
+            count = used;
+            SLOTS.clear();
+            for (int slot = 0; slot < used; slot++) {
+                int base = offset(slot);
+                SLOTS.put(new UUID(buffer.getLong(base + UUID_MOST), buffer.getLong(base + UUID_LEAST)), slot);
+            }
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Failed to open flight stats {}; stats will not be kept", file, e);
+            closeChannel();
+        }
+    }
+
+    /**
+     * Flush and unmap the stats file. Called on shutdown.
+     */
+    public static synchronized void close() {
+        MappedByteBuffer closing = buffer;
+        if (closing == null) {
+            return;
+        }
+        buffer = null;
+        try {
+            FLUSHER.submit(closing::force).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            MobilityEnchantments.LOGGER.warn("Flight stats were not flushed before shutdown", e);
+        }
+        closeChannel();
+        SLOTS.clear();
+    }
+
+    /**
+     * Give a joining player their record slot, adding one on their first visit.
+     */
+    public static synchronized void onJoin(ServerPlayerEntity player) {
+        if (buffer == null) {
+            return;
+        }
+
+        UUID uuid = player.getUuid();
+        Integer existing = SLOTS.get(uuid);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else {
+            slot = count;
+            try {
+                if (slot >= capacity) {
+                    map(capacity + MobilityConfig.STATS_GROWTH_RECORDS);
+                }
+            } catch (IOException e) {
+                MobilityEnchantments.LOGGER.warn("Failed to grow flight stats {}", file, e);
+                return;
+            }
+            int base = offset(slot);
+            buffer.putLong(base + UUID_MOST, uuid.getMostSignificantBits());
+            buffer.putLong(base + UUID_LEAST, uuid.getLeastSignificantBits());
+            count = slot + 1;
+            buffer.putInt(COUNT_OFFSET, count);
+            SLOTS.put(uuid, slot);
+        }
+        MobilityState.of(player).mobility$setStatsSlot(slot);
+    }
+
+    /**
+     * Give the player's state the slot handed out when they joined, if it has none yet.
+     * Respawning creates a new player entity with fresh state, so this runs every player
+     * tick; once the slot is known it is a single comparison.
+     */
+    public static void resolveSlot(ServerPlayerEntity player, MobilityState state) {
+        if (state.mobility$getStatsSlot() >= 0 || buffer == null) {
+            return;
+        }
+        Integer slot = SLOTS.get(player.getUuid());
+        if (slot != null) {
+            state.mobility$setStatsSlot(slot);
+        }
+    }
+
+    /**
+     * Force the mapped pages to disk in the background every
+     * {@link MobilityConfig#STATS_FLUSH_INTERVAL_TICKS}.
+     */
+    public static void onEndServerTick(MinecraftServer server) {
+        MappedByteBuffer current = buffer;
+        if (current != null && server.getTicks() % MobilityConfig.STATS_FLUSH_INTERVAL_TICKS == 0) {
+            FLUSHER.execute(current::force);
+        }
+    }
+
+    public static void addGlideDistance(MobilityState state, double blocks) {
+        addDouble(state, GLIDE_DISTANCE, blocks);
+    }
+
+    public static void countAirTick(MobilityState state) {
+        addLong(state, AIR_TICKS);
+    }
+
+    public static void countDash(MobilityState state) {
+        addLong(state, DASHES);
+    }
+
+    public static void countDoubleJump(MobilityState state) {
+        addLong(state, DOUBLE_JUMPS);
+    }
+
+    public static void countWallJump(MobilityState state) {
+        addLong(state, WALL_JUMPS);
+    }
+
+    /**
+     * @param foodPoints hunger spent, in food points (half-drumsticks); exhaustion counts a quarter
+     */
+    public static void addHungerSpent(MobilityState state, double foodPoints) {
+        addDouble(state, HUNGER_SPENT, foodPoints);
+    }
+
+    /**
+     * @return a readable summary of the player's stats, or null if none are kept for them
+     */
+    public static String describe(ServerPlayerEntity player) {
+        MappedByteBuffer current = buffer;
+        Integer slot = SLOTS.get(player.getUuid());
+        if (current == null || slot == null) {
+            return null;
+        }
+        int base = offset(slot);
+        long airTicks = current.getLong(base + AIR_TICKS);
+        return String.format("%s: glided %.1f blocks, %d:%02d:%02d in the air, %d dashes, %d double jumps, %d wall jumps, %.1f hunger spent",
+            player.getName().getString(), current.getDouble(base + GLIDE_DISTANCE),
+            airTicks / 72000L, airTicks / 1200L % 60L, airTicks / 20L % 60L,
+            current.getLong(base + DASHES), current.getLong(base + DOUBLE_JUMPS), current.getLong(base + WALL_JUMPS),
+            current.getDouble(base + HUNGER_SPENT));
+    }
+
+    private static void addLong(MobilityState state, int field) {
+        MappedByteBuffer current = buffer;
+        int slot = state.mobility$getStatsSlot();
+        if (current == null || slot < 0) {
+            return;
+        }
+        int at = offset(slot) + field;
+        current.putLong(at, current.getLong(at) + 1L);
+    }
+
+    private static void addDouble(MobilityState state, int field, double amount) {
+        MappedByteBuffer current = buffer;
+        int slot = state.mobility$getStatsSlot();
+        if (current == null || slot < 0) {
+            return;
+        }
+        int at = offset(slot) + field;
+        current.putDouble(at, current.getDouble(at) + amount);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    /**
+     * Map room for at least {@code records} records, rounded up to whole growth steps.
+     * Growing the mapping extends the file.
+     */
+    private static void map(int records) throws IOException {
+        int step = MobilityConfig.STATS_GROWTH_RECORDS;
+        int rounded = (records + step - 1) / step * step;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) rounded * RECORD_SIZE);
+        capacity = rounded;
+    }
+
+    private static void closeChannel() {
+        buffer = null;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Failed to close flight stats {}", file, e);
+        }
+        channel = null;
+    }
+}
@@ -0,0 +1,245 @@
+package ninja.trek.mobility.stats;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.config.MobilityModules;
+import ninja.trek.mobility.server.MobilityWorld;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Where one world's players glide, dash and jump, accumulated per square cell of
+ * {@code 2^HEATMAP_CELL_SHIFT} blocks for capacity planning.
+ *
+ * <p>Cells live in parallel primitive arrays, found through a long-keyed map from the cell's
+ * packed coordinates to its index, so counting a tick is one map lookup and an array
+ * increment, with no allocation once the arrays have grown. The lookup is skipped while a
+ * player stays in the cell counted last. Each world keeps its own heatmap, used by the
+ * world's owner only; exports take a {@link Snapshot} on the owner and write it elsewhere.
+ * Past {@link MobilityConfig#HEATMAP_MAX_CELLS} cells, activity in new cells is not counted.</p>
+ */
+public final class GlideHeatmap {
+    private static final String DIRECTORY = "mobility-heatmap";
+    // Longest side of an exported image (4 MB of pixels at most); larger maps are drawn at several cells per pixel
+    private static final int MAX_IMAGE_SIZE = 1024;
+
+    private final Long2IntOpenHashMap index = new Long2IntOpenHashMap();
+    private long[] keys = new long[256];
+    private int[] glideTicks = new int[256];
+    private int[] dashes = new int[256];
+    private int[] jumps = new int[256];
+    private float[] peakSpeed = new float[256];
+    private int size;
+
+    private long lastKey = Long.MIN_VALUE;
+    private int lastCell = -1;
+
+    public GlideHeatmap() {
+        index.defaultReturnValue(-1);
+    }
+
+    /**
+     * @return the heatmap of a server world
+     */
+    public static GlideHeatmap of(World world) {
+        return ((MobilityWorld) world).mobility$getHeatmap();
+    }
+
+    /**
+     * Count one tick of a player's glide at their position.
+     */
+    public static void countGlideTick(ServerPlayerEntity player, double speed) {
+        if (!MobilityModules.GLIDE_HEATMAP) {
+            return;
+        }
+        GlideHeatmap heatmap = of(player.getEntityWorld());
+        int cell = heatmap.cell(player.getBlockX(), player.getBlockZ());
+        if (cell >= 0) {
+            heatmap.glideTicks[cell]++;
+            if (speed > heatmap.peakSpeed[cell]) {
+                heatmap.peakSpeed[cell] = (float) speed;
+            }
+        }
+    }
+
+    /**
+     * Count a successful air jump: dashes on their own, every other air jump as a jump.
+     */
+    public static void countAirJump(ServerPlayerEntity player, MobilityAbility ability) {
+        if (!MobilityModules.GLIDE_HEATMAP) {
+            return;
+        }
+        GlideHeatmap heatmap = of(player.getEntityWorld());
+        int cell = heatmap.cell(player.getBlockX(), player.getBlockZ());
+        if (cell < 0) {
+            return;
+        }
+        if (ability == MobilityAbilities.DASH) {
+            heatmap.dashes[cell]++;
+        } else {
+            heatmap.jumps[cell]++;
+        }
+    }
+
+    /**
+     * @return number of cells with any activity
+     */
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        index.clear();
+        size = 0;
+        lastKey = Long.MIN_VALUE;
+        lastCell = -1;
+    }
+
+    /**
+     * Copy the counters, for writing out on another thread.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(MobilityConfig.HEATMAP_CELL_SHIFT, Arrays.copyOf(keys, size), Arrays.copyOf(glideTicks, size),
+            Arrays.copyOf(dashes, size), Arrays.copyOf(jumps, size), Arrays.copyOf(peakSpeed, size));
+    }
+
+    /**
+     * @return the index of the cell holding the block column, or -1 if the map is full
+     */
+    private int cell(int blockX, int blockZ) {
+        long key = ChunkPos.toLong(blockX >> MobilityConfig.HEATMAP_CELL_SHIFT, blockZ >> MobilityConfig.HEATMAP_CELL_SHIFT);
+        if (key == lastKey) {
+            return lastCell;
+        }
+
+        int cell = index.get(key);
+        if (cell < 0) {
+            if (size >= MobilityConfig.HEATMAP_MAX_CELLS) {
+                return -1;
+            }
+            if (size == keys.length) {
+                grow();
+            }
+            cell = size++;
+            keys[cell] = key;
+            glideTicks[cell] = 0;
+            dashes[cell] = 0;
+            jumps[cell] = 0;
+            peakSpeed[cell] = 0.0F;
+            index.put(key, cell);
+        }
+        lastKey = key;
+        lastCell = cell;
+        return cell;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        glideTicks = Arrays.copyOf(glideTicks, capacity);
+        dashes = Arrays.copyOf(dashes, capacity);
+        jumps = Arrays.copyOf(jumps, capacity);
+        peakSpeed = Arrays.copyOf(peakSpeed, capacity);
+    }
+
+    /**
+     * @return the file an export of {@code world} in {@code format} is written to
+     */
+    public static Path exportFile(MinecraftServer server, World world, String format) {
+        Identifier dimension = world.getRegistryKey().getValue();
+        String name = dimension.getNamespace() + "_" + dimension.getPath().replace('/', '_')
+            + "-" + System.currentTimeMillis() + "." + format;
+        return server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY).resolve(name);
+    }
+
+    /**
+     * A copy of the counters of every cell with activity.
+     */
+    public record Snapshot(int cellShift, long[] keys, int[] glideTicks, int[] dashes, int[] jumps, float[] peakSpeed) {
+
+        /**
+         * One row per cell: cell and block coordinates of its north-west corner, then the counters.
+         */
+        public void writeCsv(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("cell_x,cell_z,block_x,block_z,glide_ticks,dashes,jumps,peak_speed");
+                writer.newLine();
+                for (int i = 0; i < keys.length; i++) {
+                    int cellX = ChunkPos.getPackedX(keys[i]);
+                    int cellZ = ChunkPos.getPackedZ(keys[i]);
+                    writer.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%.4f", cellX, cellZ,
+                        cellX << cellShift, cellZ << cellShift, glideTicks[i], dashes[i], jumps[i], peakSpeed[i]));
+                    writer.newLine();
+                }
+            }
+        }
+
+        /**
+         * Glide ticks as an image, north up, on a logarithmic blue-to-red scale; cells without
+         * glides are black. The image covers the populated cells only, at most
+         * {@value #MAX_IMAGE_SIZE} pixels a side. Ticks are summed per pixel in a map holding
+         * only the pixels with cells, so memory follows the cell count, not the area.
+         */
+        public void writePng(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            if (keys.length == 0) {
+                ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+                return;
+            }
+
+            int minX = Integer.MAX_VALUE;
+            int minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxZ = Integer.MIN_VALUE;
+            for (long key : keys) {
+                minX = Math.min(minX, ChunkPos.getPackedX(key));
+                minZ = Math.min(minZ, ChunkPos.getPackedZ(key));
+                maxX = Math.max(maxX, ChunkPos.getPackedX(key));
+                maxZ = Math.max(maxZ, ChunkPos.getPackedZ(key));
+            }
+            int cellsPerPixel = Math.max(1, (Math.max(maxX - minX, maxZ - minZ) + MAX_IMAGE_SIZE) / MAX_IMAGE_SIZE);
+            int width = (maxX - minX) / cellsPerPixel + 1;
+            int height = (maxZ - minZ) / cellsPerPixel + 1;
+
+            Int2LongOpenHashMap pixels = new Int2LongOpenHashMap(Math.min(keys.length, width * height));
+            long max = 0L;
+            for (int i = 0; i < keys.length; i++) {
+                if (glideTicks[i] == 0) {
+                    continue;
+                }
+                int pixel = (ChunkPos.getPackedZ(keys[i]) - minZ) / cellsPerPixel * width
+                    + (ChunkPos.getPackedX(keys[i]) - minX) / cellsPerPixel;
+                max = Math.max(max, pixels.addTo(pixel, glideTicks[i]) + glideTicks[i]);
+            }
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            double scale = Math.log1p(max);
+            for (Int2LongMap.Entry entry : pixels.int2LongEntrySet()) {
+                int pixel = entry.getIntKey();
+                float heat = (float) (Math.log1p(entry.getLongValue()) / scale);
+                image.setRGB(pixel % width, pixel / width, Color.HSBtoRGB(0.66F * (1.0F - heat), 1.0F, 0.35F + 0.65F * heat));
+            }
+            ImageIO.write(image, "png", file.toFile());
+        }
+    }
+}
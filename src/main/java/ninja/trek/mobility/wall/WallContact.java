@@ -0,0 +1,216 @@
+package ninja.trek.mobility.wall;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.metrics.MobilityMetrics;
+import ninja.trek.mobility.state.MobilityState;
+
+/**
+ * A player's cached wall contact: which of the four horizontal sides of their hitbox touch a
+ * wall, probed at head and foot height.
+ *
+ * <p>The probes only depend on which blocks they land in, so the result is kept until the
+ * player's hitbox crosses a block boundary (one of the probed block coordinates changes) or
+ * a block changes inside the probed neighbourhood, which {@link WallContacts} reports. In
+ * between, a wall-running player costs a few integer comparisons per tick, no block
+ * lookups. Any block that is not air counts as a wall, unless
+ * {@link MobilityConfig#WALL_REQUIRE_FULL_FACE} limits walls to blocks whose face towards
+ * the player is a full solid square. While airborne the contact is registered with its world's {@link WallContacts};
+ * {@link #release} takes it out again on landing. A world's registry is only touched by
+ * that world's owner, so a player changing world mid-air starts a new contact there.</p>
+ */
+public final class WallContact {
+    // Horizontal probe directions: +X, -X, +Z, -Z
+    private static final int[] PROBE_X = {1, -1, 0, 0};
+    private static final int[] PROBE_Z = {0, 0, 1, -1};
+    // Face of the probed block turned towards the player
+    private static final Direction[] PROBE_FACE = {Direction.WEST, Direction.EAST, Direction.NORTH, Direction.SOUTH};
+
+    // Probed block coordinates the cached result was computed from
+    private int lowX;
+    private int midX;
+    private int highX;
+    private int lowZ;
+    private int midZ;
+    private int highZ;
+    private int bottomY;
+    private int topY;
+    private boolean valid;
+
+    private boolean touching;
+    private double normalX;
+    private double normalZ;
+
+    /** Ticks of the current wall run, reset on landing */
+    public int runTicks;
+
+    // Velocity a held fall was last clamped to and sent, while the hold lasts
+    private boolean holding;
+    private double heldX;
+    private double heldY;
+    private double heldZ;
+
+    // Registration with a world's WallContacts
+    WallContacts registry;
+    int index = -1;
+    long lastUsedTick;
+
+    /**
+     * @return the player's contact, registered with their current world
+     */
+    public static WallContact of(ServerPlayerEntity player, MobilityState state) {
+        World world = player.getEntityWorld();
+        WallContacts contacts = WallContacts.of(world);
+        WallContact contact = state.mobility$getWallContact();
+        if (contact == null || contact.registry != null && contact.registry != contacts) {
+            // One left in another world's registry belongs to that world's thread, which prunes it
+            contact = new WallContact();
+            state.mobility$setWallContact(contact);
+        }
+        contact.lastUsedTick = world.getTime();
+        if (contact.registry == null) {
+            // Block changes while unregistered went unseen
+            contact.valid = false;
+            contacts.add(contact);
+        }
+        return contact;
+    }
+
+    /**
+     * Stop tracking the player's contact until they are airborne again, and end any wall run.
+     */
+    public static void release(ServerPlayerEntity player, MobilityState state) {
+        WallContact contact = state.mobility$getWallContact();
+        if (contact == null) {
+            return;
+        }
+        contact.runTicks = 0;
+        contact.holding = false;
+        if (contact.registry == WallContacts.of(player.getEntityWorld())) {
+            contact.registry.remove(contact);
+        } else if (contact.registry != null) {
+            state.mobility$setWallContact(null);
+        }
+    }
+
+    /**
+     * Bring the contact up to date with the player's position, probing the blocks again only
+     * if the probed blocks moved or one of them changed.
+     *
+     * @return true if the player touches a wall
+     */
+    public boolean update(ServerPlayerEntity player) {
+        double reach = 0.3 + MobilityConfig.WALL_DETECTION_DISTANCE;
+        double x = player.getX();
+        double z = player.getZ();
+        int newLowX = MathHelper.floor(x - reach);
+        int newMidX = MathHelper.floor(x);
+        int newHighX = MathHelper.floor(x + reach);
+        int newLowZ = MathHelper.floor(z - reach);
+        int newMidZ = MathHelper.floor(z);
+        int newHighZ = MathHelper.floor(z + reach);
+        int newBottomY = MathHelper.floor(player.getY() + 0.2);
+        int newTopY = MathHelper.floor(player.getY() + 1.5);
+
+        if (valid && newLowX == lowX && newMidX == midX && newHighX == highX && newLowZ == lowZ
+            && newMidZ == midZ && newHighZ == highZ && newBottomY == bottomY && newTopY == topY) {
+            return touching;
+        }
+
+        lowX = newLowX;
+        midX = newMidX;
+        highX = newHighX;
+        lowZ = newLowZ;
+        midZ = newMidZ;
+        highZ = newHighZ;
+        bottomY = newBottomY;
+        topY = newTopY;
+        probe(player.getEntityWorld());
+        valid = true;
+        MobilityMetrics.countWallContactProbe();
+        return touching;
+    }
+
+    /**
+     * @return x of the averaged direction pointing away from every wall touched; only
+     *         meaningful after {@link #update} returned true
+     */
+    public double normalX() {
+        return normalX;
+    }
+
+    /**
+     * @return z of the averaged direction pointing away from every wall touched
+     */
+    public double normalZ() {
+        return normalZ;
+    }
+
+    /**
+     * Record the velocity a held fall was clamped to this tick.
+     *
+     * @return true if it differs from the one the client was last sent, so it must be sent again
+     */
+    public boolean hold(double x, double y, double z) {
+        boolean changed = !holding || x != heldX || y != heldY || z != heldZ;
+        holding = true;
+        heldX = x;
+        heldY = y;
+        heldZ = z;
+        return changed;
+    }
+
+    /**
+     * End a held fall, so the next clamp is sent whatever its value.
+     */
+    public void stopHolding() {
+        holding = false;
+    }
+
+    /**
+     * Drop the cached result if a changed block is one of those probed.
+     */
+    void onBlockChanged(BlockPos pos) {
+        if (valid && pos.getX() >= lowX && pos.getX() <= highX && pos.getZ() >= lowZ && pos.getZ() <= highZ
+            && pos.getY() >= bottomY && pos.getY() <= topY) {
+            valid = false;
+        }
+    }
+
+    private void probe(World world) {
+        BlockPos.Mutable probe = new BlockPos.Mutable();
+        double sumX = 0.0D;
+        double sumZ = 0.0D;
+        int walls = 0;
+
+        for (int i = 0; i < PROBE_X.length; i++) {
+            int blockX = PROBE_X[i] > 0 ? highX : PROBE_X[i] < 0 ? lowX : midX;
+            int blockZ = PROBE_Z[i] > 0 ? highZ : PROBE_Z[i] < 0 ? lowZ : midZ;
+            Direction face = PROBE_FACE[i];
+            if (isWall(world, probe.set(blockX, topY, blockZ), face) || isWall(world, probe.set(blockX, bottomY, blockZ), face)) {
+                sumX -= PROBE_X[i];
+                sumZ -= PROBE_Z[i];
+                walls++;
+            }
+        }
+
+        double length = Math.sqrt(sumX * sumX + sumZ * sumZ);
+        touching = walls > 0;
+        // Opposite walls cancel out, leaving a zero normal
+        normalX = length > 0.0D ? sumX / length : 0.0D;
+        normalZ = length > 0.0D ? sumZ / length : 0.0D;
+    }
+
+    private static boolean isWall(World world, BlockPos pos, Direction face) {
+        BlockState state = world.getBlockState(pos);
+        if (MobilityConfig.WALL_REQUIRE_FULL_FACE) {
+            return state.isSideSolidFullSquare(world, pos, face);
+        }
+        return !state.isAir();
+    }
+}
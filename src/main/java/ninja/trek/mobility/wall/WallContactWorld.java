@@ -0,0 +1,12 @@
+package ninja.trek.mobility.wall;
+
+/**
+ * Implemented via mixin on World to carry the world's {@link WallContacts}.
+ */
+public interface WallContactWorld {
+
+    /**
+     * @return the wall contacts tracked in this world
+     */
+    WallContacts mobility$getWallContacts();
+}
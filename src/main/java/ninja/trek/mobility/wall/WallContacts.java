@@ -0,0 +1,68 @@
+package ninja.trek.mobility.wall;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link WallContact}s of one world's airborne wall jumpers, told about every block
+ * change so a contact whose probed blocks changed probes again.
+ *
+ * <p>Only players in the air with a Wall Jump chestplate are registered, so a block change
+ * costs one size check while nobody is wall running, and a box test per registered player
+ * otherwise. Used from the world's tick thread only.</p>
+ */
+public final class WallContacts {
+    private final List<WallContact> contacts = new ArrayList<>();
+
+    /**
+     * @return the wall contacts of a world
+     */
+    public static WallContacts of(World world) {
+        return ((WallContactWorld) world).mobility$getWallContacts();
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        for (int i = 0; i < contacts.size(); i++) {
+            contacts.get(i).onBlockChanged(pos);
+        }
+    }
+
+    /**
+     * @return number of contacts registered
+     */
+    public int size() {
+        return contacts.size();
+    }
+
+    void add(WallContact contact) {
+        // Players who left or changed world in mid-air never released theirs; drop any not used for a while
+        long now = contact.lastUsedTick;
+        for (int i = contacts.size() - 1; i >= 0; i--) {
+            WallContact other = contacts.get(i);
+            if (now - other.lastUsedTick > 20L) {
+                remove(other);
+            }
+        }
+
+        contact.registry = this;
+        contact.index = contacts.size();
+        contacts.add(contact);
+    }
+
+    /**
+     * Swap-remove, keeping removal O(1).
+     */
+    void remove(WallContact contact) {
+        int index = contact.index;
+        WallContact last = contacts.remove(contacts.size() - 1);
+        if (last != contact) {
+            contacts.set(index, last);
+            last.index = index;
+        }
+        contact.registry = null;
+        contact.index = -1;
+    }
+}
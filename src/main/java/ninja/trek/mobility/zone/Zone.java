@@ -0,0 +1,101 @@
+package ninja.trek.mobility.zone;
+
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.ability.MobilityAbility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A named box of blocks in which some abilities are forbidden.
+ *
+ * <p>The bounds are inclusive block coordinates. {@code abilities} holds one bit per
+ * forbidden {@link MobilityAbility#id()}; abilities are written to the zone file by name, so a
+ * file stays valid if ids change between versions.</p>
+ */
+public record Zone(String name, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, long abilities) {
+    /** Written in place of the ability list when every ability is forbidden */
+    public static final String ALL = "all";
+
+    public static Zone of(String name, BlockPos from, BlockPos to, long abilities) {
+        return new Zone(name,
+            Math.min(from.getX(), to.getX()), Math.min(from.getY(), to.getY()), Math.min(from.getZ(), to.getZ()),
+            Math.max(from.getX(), to.getX()), Math.max(from.getY(), to.getY()), Math.max(from.getZ(), to.getZ()),
+            abilities);
+    }
+
+    /**
+     * @return true if the point lies in one of the zone's blocks
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x < maxX + 1 && y >= minY && y < maxY + 1 && z >= minZ && z < maxZ + 1;
+    }
+
+    /**
+     * @return number of chunks the zone overlaps
+     */
+    public long chunkCount() {
+        return (long) ((maxX >> 4) - (minX >> 4) + 1) * ((maxZ >> 4) - (minZ >> 4) + 1);
+    }
+
+    /**
+     * Parse a comma- or space-separated list of ability names, or {@value #ALL}.
+     *
+     * @throws IllegalArgumentException on an unknown name or an empty list
+     */
+    public static long parseAbilities(String list) {
+        long mask = 0L;
+        for (String name : list.toLowerCase(Locale.ROOT).split("[,\\s]+")) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals(ALL)) {
+                return -1L;
+            }
+            MobilityAbility ability = byName(name);
+            if (ability == null) {
+                throw new IllegalArgumentException("Unknown ability " + name);
+            }
+            mask |= bit(ability);
+        }
+        if (mask == 0L) {
+            throw new IllegalArgumentException("No abilities given");
+        }
+        return mask;
+    }
+
+    /**
+     * @return the forbidden abilities as a comma-separated list, or {@value #ALL}
+     */
+    public String describeAbilities() {
+        if (abilities == -1L) {
+            return ALL;
+        }
+        List<String> names = new ArrayList<>();
+        for (int id = 1; id < MobilityAbilities.count(); id++) {
+            if ((abilities & bit(MobilityAbilities.byId(id))) != 0L) {
+                names.add(MobilityAbilities.byId(id).name());
+            }
+        }
+        return String.join(",", names);
+    }
+
+    /**
+     * @return the ability's bit in {@link #abilities()}; abilities past the 64th cannot be
+     *         forbidden and get no bit
+     */
+    public static long bit(MobilityAbility ability) {
+        return ability.id() < Long.SIZE ? 1L << ability.id() : 0L;
+    }
+
+    private static MobilityAbility byName(String name) {
+        for (int id = 1; id < MobilityAbilities.count(); id++) {
+            if (MobilityAbilities.byId(id).name().equals(name)) {
+                return MobilityAbilities.byId(id);
+            }
+        }
+        return null;
+    }
+}
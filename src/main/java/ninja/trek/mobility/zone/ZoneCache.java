@@ -0,0 +1,12 @@
+package ninja.trek.mobility.zone;
+
+/**
+ * A player's view of the zone index, kept on their mobility state: the zones of the chunk
+ * they were last seen in, looked up again only when they cross into another chunk, change
+ * world or the zones are edited.
+ */
+public final class ZoneCache {
+    ZoneIndex.Snapshot index;
+    long chunk;
+    Zone[] zones;
+}
@@ -0,0 +1,243 @@
+package ninja.trek.mobility.zone;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import ninja.trek.mobility.MobilityEnchantments;
+import ninja.trek.mobility.ability.MobilityAbility;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.server.MobilityWorld;
+import ninja.trek.mobility.state.MobilityState;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The zones of one world in which abilities are forbidden, indexed by chunk.
+ *
+ * <p>Every zone is listed under each chunk it overlaps, in a primitive long-keyed map, so
+ * finding the zones around a player is one lookup however many zones the world has. A
+ * player's lookup is cached on their state and only repeated when they cross a chunk border
+ * (or the zones change); each tick then only tests the player's position against the few
+ * zones of their chunk, and nothing at all in chunks without zones.</p>
+ *
+ * <p>Zones are edited with {@code /mobility zone} on the server thread and saved straight
+ * away to {@code <world>/mobility-zones/<dimension>.txt}, one zone per line. Each edit
+ * publishes a new immutable {@link Snapshot}, so world tick threads read the index without
+ * locking and see either the old zones or the new ones.</p>
+ */
+public final class ZoneIndex {
+    private static final String DIRECTORY = "mobility-zones";
+    private static final Zone[] NONE = new Zone[0];
+
+    private Path file;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The zones as of one edit.
+     */
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(List.of());
+
+        final List<Zone> zones;
+        final Long2ObjectOpenHashMap<Zone[]> byChunk = new Long2ObjectOpenHashMap<>();
+
+        Snapshot(List<Zone> zones) {
+            this.zones = Collections.unmodifiableList(zones);
+            for (Zone zone : zones) {
+                for (int chunkX = zone.minX() >> 4; chunkX <= zone.maxX() >> 4; chunkX++) {
+                    for (int chunkZ = zone.minZ() >> 4; chunkZ <= zone.maxZ() >> 4; chunkZ++) {
+                        long key = ChunkPos.toLong(chunkX, chunkZ);
+                        Zone[] chunk = byChunk.getOrDefault(key, NONE);
+                        chunk = Arrays.copyOf(chunk, chunk.length + 1);
+                        chunk[chunk.length - 1] = zone;
+                        byChunk.put(key, chunk);
+                    }
+                }
+            }
+            byChunk.trim();
+        }
+    }
+
+    /**
+     * @return the zone index of a server world
+     */
+    public static ZoneIndex of(World world) {
+        return ((MobilityWorld) world).mobility$getZones();
+    }
+
+    public static void onWorldLoad(MinecraftServer server, ServerWorld world) {
+        Identifier dimension = world.getRegistryKey().getValue();
+        Path file = server.getSavePath(WorldSavePath.ROOT).resolve(DIRECTORY)
+            .resolve(dimension.getNamespace() + "_" + dimension.getPath().replace('/', '_') + ".txt");
+        of(world).load(file);
+    }
+
+    /**
+     * The abilities forbidden where the player stands.
+     *
+     * @return one bit per forbidden ability id, see {@link Zone#bit}
+     */
+    public static long forbidden(ServerPlayerEntity player, MobilityState state) {
+        Snapshot current = of(player.getEntityWorld()).snapshot;
+        if (current.zones.isEmpty()) {
+            return 0L;
+        }
+
+        ZoneCache cache = state.mobility$getZoneCache();
+        if (cache == null) {
+            cache = new ZoneCache();
+            state.mobility$setZoneCache(cache);
+        }
+        long chunk = ChunkPos.toLong(player.getBlockX() >> 4, player.getBlockZ() >> 4);
+        if (cache.index != current || cache.chunk != chunk) {
+            cache.index = current;
+            cache.chunk = chunk;
+            cache.zones = current.byChunk.getOrDefault(chunk, NONE);
+        }
+
+        long forbidden = 0L;
+        for (Zone zone : cache.zones) {
+            if (zone.contains(player.getX(), player.getY(), player.getZ())) {
+                forbidden |= zone.abilities();
+            }
+        }
+        return forbidden;
+    }
+
+    /**
+     * @return true if {@code ability} is forbidden where the player stands
+     */
+    public static boolean forbids(ServerPlayerEntity player, MobilityState state, MobilityAbility ability) {
+        return (forbidden(player, state) & Zone.bit(ability)) != 0L;
+    }
+
+    /**
+     * @return the zones of this world, in the order they were added
+     */
+    public List<Zone> zones() {
+        return snapshot.zones;
+    }
+
+    /**
+     * @return the zones overlapping a chunk
+     */
+    public List<Zone> zonesIn(ChunkPos pos) {
+        return List.of(snapshot.byChunk.getOrDefault(pos.toLong(), NONE));
+    }
+
+    /**
+     * Add a zone, replacing any zone with the same name, and save.
+     *
+     * @throws IllegalArgumentException if the zone spans more than
+     *         {@link MobilityConfig#ZONE_MAX_CHUNKS} chunks
+     */
+    public synchronized void put(Zone zone) {
+        if (zone.chunkCount() > MobilityConfig.ZONE_MAX_CHUNKS) {
+            throw new IllegalArgumentException("Zone " + zone.name() + " spans " + zone.chunkCount()
+                + " chunks, more than the " + MobilityConfig.ZONE_MAX_CHUNKS + " allowed");
+        }
+        List<Zone> zones = new ArrayList<>(snapshot.zones);
+        zones.removeIf(existing -> existing.name().equals(zone.name()));
+        zones.add(zone);
+        publish(zones);
+    }
+
+    /**
+     * Remove the zone with this name and save.
+     *
+     * @return false if there was no such zone
+     */
+    public synchronized boolean remove(String name) {
+        List<Zone> zones = new ArrayList<>(snapshot.zones);
+        if (!zones.removeIf(zone -> zone.name().equals(name))) {
+            return false;
+        }
+        publish(zones);
+        return true;
+    }
+
+    private void publish(List<Zone> zones) {
+        snapshot = new Snapshot(zones);
+        save();
+    }
+
+    private synchronized void load(Path file) {
+        this.file = file;
+        if (!Files.isRegularFile(file)) {
+            snapshot = Snapshot.EMPTY;
+            return;
+        }
+
+        List<Zone> zones = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    zones.add(parse(line));
+                } catch (IllegalArgumentException e) {
+                    MobilityEnchantments.LOGGER.warn("Ignoring zone '{}' in {}: {}", line, file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Could not read zones from {}", file, e);
+        }
+        snapshot = new Snapshot(zones);
+        MobilityEnchantments.LOGGER.info("Loaded {} mobility zone(s) from {}", zones.size(), file);
+    }
+
+    private static Zone parse(String line) {
+        String[] fields = line.split("\\s+", 8);
+        if (fields.length != 8) {
+            throw new IllegalArgumentException("expected name, six coordinates and the abilities");
+        }
+        int[] bounds = new int[6];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = Integer.parseInt(fields[i + 1]);
+        }
+        return new Zone(fields[0], bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5],
+            Zone.parseAbilities(fields[7]));
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# name minX minY minZ maxX maxY maxZ abilities");
+                writer.newLine();
+                for (Zone zone : snapshot.zones) {
+                    writer.write(String.join(" ", zone.name(),
+                        Integer.toString(zone.minX()), Integer.toString(zone.minY()), Integer.toString(zone.minZ()),
+                        Integer.toString(zone.maxX()), Integer.toString(zone.maxY()), Integer.toString(zone.maxZ()),
+                        zone.describeAbilities()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            MobilityEnchantments.LOGGER.warn("Could not save zones to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package ninja.trek.mobility.metrics;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.PlayerInput;
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.ability.GlideAbility;
+import ninja.trek.mobility.ability.MobilityAbilities;
+import ninja.trek.mobility.api.MobilityEventHooks;
+import ninja.trek.mobility.config.MobilityProfile;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.GlideKernel;
+import ninja.trek.mobility.physics.GlideKernels;
+import ninja.trek.mobility.recorder.FlightRecorder;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.schedule.TimingWheel;
+import ninja.trek.mobility.server.GlideSystem;
+import ninja.trek.mobility.state.MobilityComponent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Allocation-budget regression check for the per-tick and per-packet code paths.
+ *
+ * <p>Run with {@code ./gradlew allocationBudget}; the task is part of {@code check}. Each
+ * scenario is warmed up so the JIT has compiled it, then called many times while
+ * {@code ThreadMXBean.getThreadAllocatedBytes} measures what the calling thread allocated.
+ * The best of {@value #ROUNDS} rounds, less the cost of an empty call, must stay within the
+ * scenario's budget in bytes per call. Anything over budget is reported and the process exits
+ * with status 1, so the build fails when allocations come back. The vector kernel's figure is
+ * reported but not enforced.</p>
+ *
+ * <p>Only code that runs without a game instance is covered: the batched mob glide tick
+ * (packing through {@link GlideBatch}, then {@link GlideSystem#advance} with its kernel pass,
+ * {@code GLIDE_TICK} dispatch and parking on each {@link MobilityComponent}), the player
+ * glide step ({@link GlideAbility#glideStep} and its {@code GLIDE_TICK} dispatch, as the
+ * player's glide tick runs them), the timing wheel that runs cooldowns and glide hunger,
+ * activation event dispatch, and the player input packet hook
+ * ({@link FlightRecorder#onInput}) with and without a recording running.</p>
+ *
+ * <p>Arguments: {@code [call multiplier]}, scaling every scenario's call count.</p>
+ */
+public final class AllocationBudgets {
+    private static final int ROUNDS = 5;
+    private static final int GLIDERS = 256;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * One measured code path.
+     *
+     * @param budget   most bytes one call may allocate
+     * @param calls    calls per round; the warm-up makes as many again
+     * @param enforced false to report the figure without failing on it
+     */
+    private record Scenario(String name, double budget, int calls, boolean enforced, Runnable call) {
+    }
+
+    private AllocationBudgets() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocation accounting unsupported on this JVM; skipping");
+            return;
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        double multiplier = args.length > 0 ? Double.parseDouble(args[0]) : 1.0D;
+
+        List<Scenario> scenarios = scenarios();
+        Scenario empty = new Scenario("empty", 0.0D, 1_000_000, true, () -> {
+        });
+        measure(empty, multiplier, 0.0D);
+        double overhead = measure(empty, multiplier, 0.0D);
+
+        boolean failed = false;
+        for (Scenario scenario : scenarios) {
+            double perCall = measure(scenario, multiplier, overhead);
+            boolean over = perCall > scenario.budget();
+            failed |= over && scenario.enforced();
+            System.out.printf(Locale.ROOT, "%-40s %10.1f bytes/call (budget %6.0f) %s%n",
+                scenario.name(), perCall, scenario.budget(),
+                !over ? "ok" : scenario.enforced() ? "OVER BUDGET" : "over budget, not enforced");
+        }
+
+        FlightRecorder.shutdown();
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Scenario> scenarios() throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(0xA110CL);
+
+        List<GlideKernel> kernels = new ArrayList<>();
+        kernels.add(GlideKernels.scalar());
+        GlideKernel vector = GlideKernels.vector();
+        if (vector != null) {
+            kernels.add(vector);
+        }
+        for (GlideKernel kernel : kernels) {
+            // Vector code only stops allocating where the JIT intrinsifies every lane operation,
+            // which depends on the JDK and CPU, so its figure is reported but not enforced
+            boolean enforced = kernel == GlideKernels.scalar();
+            MobGliders elytra = new MobGliders(MobilityAbilities.ELYTRA);
+            MobGliders swooping = new MobGliders(MobilityAbilities.SWOOPING);
+            scenarios.add(new Scenario("mob glide tick, elytra (" + kernel.name() + ")", 0.0D, 20_000, enforced,
+                () -> elytra.tick(kernel, random)));
+            scenarios.add(new Scenario("mob glide tick, swooping (" + kernel.name() + ")", 0.0D, 20_000, enforced,
+                () -> swooping.tick(kernel, random)));
+        }
+
+        TimingWheel wheel = new TimingWheel(64);
+        Timer[] cooldowns = new Timer[GLIDERS];
+        for (int i = 0; i < cooldowns.length; i++) {
+            cooldowns[i] = new Timer();
+        }
+        long[] tick = {0L};
+        scenarios.add(new Scenario("timing wheel tick", 0.0D, 200_000, true, () -> {
+            // Every tick a few cooldowns start and the due ones expire
+            tick[0]++;
+            for (int i = 0; i < 4; i++) {
+                wheel.schedule(cooldowns[random.nextInt(cooldowns.length)], 1 + random.nextInt(100));
+            }
+            wheel.advance(tick[0]);
+        }));
+
+        scenarios.add(new Scenario("activation events, no listeners", 0.0D, 1_000_000, true,
+            () -> MobilityEventHooks.preActivation(null, null, null)));
+
+        // The input packet hook, for a player nobody records and for one being recorded
+        PlayerInput[] inputs = {
+            new PlayerInput(true, false, false, false, true, false, true),
+            new PlayerInput(false, false, true, false, false, true, false)
+        };
+        UUID recorded = new UUID(0xA110CL, 1L);
+        UUID unrecorded = new UUID(0xA110CL, 2L);
+        Path directory = Files.createTempDirectory("mobility-allocation-budget");
+        directory.toFile().deleteOnExit();
+        Path recording = directory.resolve("budget" + FlightRecorder.EXTENSION);
+        recording.toFile().deleteOnExit();
+        scenarios.add(new Scenario("player input hook, not recording", 0.0D, 1_000_000, true,
+            () -> FlightRecorder.onInput(unrecorded, inputs[random.nextInt(inputs.length)])));
+        FlightRecorder.start(recorded, recording, 0L);
+        scenarios.add(new Scenario("player input hook, recording", 0.0D, 1_000_000, true,
+            () -> FlightRecorder.onInput(recorded, inputs[random.nextInt(inputs.length)])));
+
+        // What a player's glide tick does between reading the entity and setting its velocity
+        GlideBatch step = new GlideBatch(1);
+        for (GlideAbility glide : List.<GlideAbility>of(MobilityAbilities.ELYTRA, MobilityAbilities.SWOOPING)) {
+            scenarios.add(new Scenario("player glide step, " + glide.name(), 0.0D, 1_000_000, true, () -> {
+                step.clear();
+                int index = glide.glideStep(step, MobilityProfile.DEFAULT, random.nextDouble(-1.0D, 1.0D), -0.2D, 0.8D,
+                    (float) random.nextDouble(-90.0D, 90.0D), (float) random.nextDouble(-180.0D, 180.0D), 0.08D,
+                    glide.baseSpeedLimit());
+                MobilityEventHooks.glideTick(null, glide, step, index);
+            }));
+        }
+        return scenarios;
+    }
+
+    /**
+     * One world's gliders of one physics model, standing in for the entities {@code GlideSystem}
+     * reads its inputs from. Velocities are the entities' own {@code Vec3d}s, which the game
+     * already holds, so they are made once here.
+     */
+    private static final class MobGliders {
+        private final GlideAbility glide;
+        private final GlideBatch batch = new GlideBatch();
+        private final List<LivingEntity> entities = new ArrayList<>();
+        private final List<MobilityComponent> components = new ArrayList<>();
+        private final Vec3d[] velocities = new Vec3d[GLIDERS];
+        private final MobilityComponent[] gliders = new MobilityComponent[GLIDERS];
+
+        MobGliders(GlideAbility glide) {
+            this.glide = glide;
+            SplittableRandom random = new SplittableRandom(GLIDERS);
+            for (int i = 0; i < GLIDERS; i++) {
+                velocities[i] = new Vec3d(random.nextDouble(-1.0D, 1.0D), random.nextDouble(-1.0D, 0.2D),
+                    random.nextDouble(-1.0D, 1.0D));
+                gliders[i] = new MobilityComponent();
+            }
+        }
+
+        /**
+         * What {@code GlideSystem} does at the start of a world tick once it has each
+         * glider's velocity, gravity and rotation: pack the reused batch, then
+         * {@link GlideSystem#advance}.
+         */
+        void tick(GlideKernel kernel, SplittableRandom random) {
+            batch.clear();
+            entities.clear();
+            components.clear();
+            for (int i = 0; i < GLIDERS; i++) {
+                Vec3d velocity = velocities[i];
+                MobilityComponent component = gliders[i];
+                component.setBatchedInput(velocity);
+                int index = glide == MobilityAbilities.ELYTRA
+                    ? batch.addElytra(velocity.x, velocity.y, velocity.z, 0.08D,
+                        (float) random.nextDouble(-90.0D, 90.0D), (float) random.nextDouble(-180.0D, 180.0D))
+                    : batch.addSwooping(velocity.x, velocity.y, velocity.z, 0.08D);
+                batch.speedLimit[index] = 1.0D;
+                entities.add(null);
+                components.add(component);
+            }
+            GlideSystem.advance(kernel, glide, batch, entities, components);
+        }
+    }
+
+    /**
+     * @return the fewest bytes per call over the rounds, less {@code overhead}
+     */
+    private static double measure(Scenario scenario, double multiplier, double overhead) {
+        int calls = Math.max(1, (int) (scenario.calls() * multiplier));
+        Runnable call = scenario.call();
+        long thread = Thread.currentThread().threadId();
+
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < calls; i++) {
+                call.run();
+            }
+            long after = THREADS.getThreadAllocatedBytes(thread);
+            best = Math.min(best, (double) (after - before) / calls);
+        }
+        return Math.max(0.0D, best - overhead);
+    }
+}
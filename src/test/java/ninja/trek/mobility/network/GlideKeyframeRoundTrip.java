@@ -0,0 +1,113 @@
+package ninja.trek.mobility.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Round-trip check of the {@link GlideKeyframePayload} encoding.
+ *
+ * <p>Run with {@code ./gradlew keyframeRoundTrip}; the task is part of {@code check}. The
+ * server only skips velocity syncs because the client predicts from exactly the velocity
+ * the server compares against, so every velocity must come back bit for bit: random ones,
+ * and the awkward ones (signed zeros, subnormals, extremes, values vanilla's quantised
+ * update would round). The encoded size must also match what
+ * {@link GlideKeyframePayload#FIXED_BYTES} and the entity id's varint account for, since the
+ * broadcast counters are built on it. Any mismatch is reported and the process exits with
+ * status 1.</p>
+ *
+ * <p>Arguments: {@code [cases] [seed]}.</p>
+ */
+public final class GlideKeyframeRoundTrip {
+    private static final int DEFAULT_CASES = 100_000;
+    private static final long DEFAULT_SEED = 0x6EF4A3EL;
+    // Payload id string, its length prefix and the packet id, on top of what the codec writes
+    private static final int FRAMING_BYTES = GlideKeyframePayload.ID.id().toString().length() + 2;
+
+    private GlideKeyframeRoundTrip() {
+    }
+
+    public static void main(String[] args) {
+        int cases = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CASES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        List<GlideKeyframePayload> payloads = new ArrayList<>();
+        double[] edges = {0.0D, -0.0D, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE,
+            -Double.MAX_VALUE, 1.0D / 8000.0D, 0.1D, -0.08D * 0.98D, 3.9D, 1.0E-300D};
+        int[] ids = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1};
+        for (double x : edges) {
+            for (double y : edges) {
+                payloads.add(new GlideKeyframePayload(ids[payloads.size() % ids.length], new Vec3d(x, y, -x)));
+            }
+        }
+        for (int i = 0; i < cases; i++) {
+            Vec3d velocity = new Vec3d(random.nextDouble(-4.0D, 4.0D), random.nextDouble(-4.0D, 4.0D),
+                random.nextDouble(-4.0D, 4.0D));
+            payloads.add(new GlideKeyframePayload(random.nextInt(), velocity));
+        }
+
+        int failures = 0;
+        for (GlideKeyframePayload payload : payloads) {
+            String failure = roundTrip(payload);
+            if (failure != null) {
+                if (failures == 0) {
+                    System.out.println("FAIL " + failure);
+                }
+                failures++;
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%d keyframes round-tripped, %d failed%n", payloads.size(), failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return what went wrong, or null if the payload came back unchanged and at the expected size
+     */
+    private static String roundTrip(GlideKeyframePayload payload) {
+        RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+        try {
+            GlideKeyframePayload.CODEC.encode(buf, payload);
+            int written = buf.readableBytes();
+            GlideKeyframePayload decoded = GlideKeyframePayload.CODEC.decode(buf);
+
+            if (buf.readableBytes() != 0) {
+                return payload + ": " + buf.readableBytes() + " bytes left unread";
+            }
+            if (decoded.entityId() != payload.entityId() || !sameBits(decoded.velocity(), payload.velocity())) {
+                return payload + " decoded as " + decoded;
+            }
+            int expected = GlideKeyframePayload.FIXED_BYTES - FRAMING_BYTES + varIntSize(payload.entityId());
+            if (written != expected) {
+                return payload + ": encoded " + written + " bytes, FIXED_BYTES accounts for " + expected;
+            }
+            return null;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static boolean sameBits(Vec3d a, Vec3d b) {
+        return Double.doubleToRawLongBits(a.x) == Double.doubleToRawLongBits(b.x)
+            && Double.doubleToRawLongBits(a.y) == Double.doubleToRawLongBits(b.y)
+            && Double.doubleToRawLongBits(a.z) == Double.doubleToRawLongBits(b.z);
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
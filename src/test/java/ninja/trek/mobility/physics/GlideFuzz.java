@@ -0,0 +1,356 @@
+package ninja.trek.mobility.physics;
+
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Differential fuzz test of every available {@link GlideKernel} against the {@code Vec3d}
+ * reference implementations in {@link ElytraPhysics} and {@link SwoopingPhysics}.
+ *
+ * <p>Run with {@code ./gradlew glideFuzz}; the task is part of {@code check}. Random cases
+ * are mixed with generated edge cases (zero and near-zero speed, vertical and
+ * near-vertical velocity, both sides of the Swooping dead-zone boundary, speeds at the cap,
+ * straight up/down pitch, unusual gravity). A kernel result passes when every component
+ * is within {@code ABSOLUTE_TOLERANCE + RELATIVE_TOLERANCE * |reference|}; the kernels are
+ * meant to be bit-identical, so inexact-but-passing results are counted separately.</p>
+ *
+ * <p>The first failure per kernel is shrunk towards a simpler input that still fails
+ * before it is reported, and the process exits with status 1 so the build fails.</p>
+ *
+ * <p>Arguments: {@code [cases] [seed]}, defaulting to {@value #DEFAULT_CASES} cases per
+ * physics model and a fixed seed.</p>
+ */
+public final class GlideFuzz {
+    static final double ABSOLUTE_TOLERANCE = 1.0E-12;
+    static final double RELATIVE_TOLERANCE = 1.0E-9;
+
+    private static final int DEFAULT_CASES = 2_000_000;
+    private static final long DEFAULT_SEED = 0x6C1DE5L;
+    private static final int BATCH_SIZE = 1_024;
+    // A shrinking candidate is evaluated as a full batch of copies so vector lanes are used
+    private static final int SHRINK_COPIES = 64;
+    private static final int MAX_SHRINK_ROUNDS = 200;
+    private static final double[] ROUNDING_STEPS = {1.0D, 0.1D, 0.01D, 1.0E-3D, 1.0E-4D, 1.0E-6D};
+
+    /**
+     * One glide input. Pitch and yaw are in degrees, like on the entity.
+     */
+    record Case(boolean elytra, double vx, double vy, double vz, float pitch, float yaw, double gravity, double speedLimit) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s velocity=(%s, %s, %s) pitch=%s yaw=%s gravity=%s speedLimit=%s",
+                elytra ? "elytra" : "swooping", vx, vy, vz, pitch, yaw, gravity, speedLimit);
+        }
+    }
+
+    private GlideFuzz() {
+    }
+
+    public static void main(String[] args) {
+        int cases = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CASES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+
+        List<GlideKernel> kernels = new ArrayList<>();
+        kernels.add(GlideKernels.scalar());
+        GlideKernel vector = GlideKernels.vector();
+        if (vector != null) {
+            kernels.add(vector);
+        } else {
+            System.out.println("Vector API unavailable; fuzzing the scalar kernel only");
+        }
+
+        System.out.printf(Locale.ROOT, "Fuzzing %d cases per physics model, seed %d, tolerance %.0e abs + %.0e rel%n",
+            cases, seed, ABSOLUTE_TOLERANCE, RELATIVE_TOLERANCE);
+
+        boolean failed = false;
+        for (boolean elytra : new boolean[]{false, true}) {
+            for (GlideKernel kernel : kernels) {
+                failed |= !fuzz(kernel, elytra, cases, seed);
+            }
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return true if every case passed
+     */
+    private static boolean fuzz(GlideKernel kernel, boolean elytra, int cases, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GlideBatch batch = new GlideBatch(BATCH_SIZE);
+        Case[] pending = new Case[BATCH_SIZE];
+        double[] expected = new double[3];
+
+        long start = System.nanoTime();
+        long inexact = 0;
+        double maxError = 0.0D;
+        Case failure = null;
+
+        for (int done = 0; done < cases && failure == null; ) {
+            int n = Math.min(BATCH_SIZE, cases - done);
+            batch.clear();
+            for (int i = 0; i < n; i++) {
+                pending[i] = generate(random, elytra);
+                add(batch, pending[i]);
+            }
+            run(kernel, batch, elytra);
+
+            for (int i = 0; i < n; i++) {
+                reference(pending[i], expected);
+                double error = error(expected, batch.velX[i], batch.velY[i], batch.velZ[i]);
+                if (error < 0.0D) {
+                    failure = pending[i];
+                    break;
+                }
+                if (error > 0.0D || !bitEqual(expected, batch.velX[i], batch.velY[i], batch.velZ[i])) {
+                    inexact++;
+                    maxError = Math.max(maxError, error);
+                }
+            }
+            done += n;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1.0E9D;
+        String physics = elytra ? "elytra" : "swooping";
+        if (failure == null) {
+            System.out.printf(Locale.ROOT, "%-9s %-16s ok    %d inexact, max error %.3e, %.2fs%n",
+                physics, kernel.name(), inexact, maxError, seconds);
+            return true;
+        }
+
+        Case shrunk = shrink(kernel, failure);
+        double[] actual = evaluate(kernel, shrunk);
+        reference(shrunk, expected);
+        System.out.printf(Locale.ROOT, "%-9s %-16s FAIL%n  original: %s%n  shrunk:   %s%n  expected: (%s, %s, %s)%n  actual:   (%s, %s, %s)%n",
+            physics, kernel.name(), failure, shrunk,
+            expected[0], expected[1], expected[2], actual[0], actual[1], actual[2]);
+        return false;
+    }
+
+    // ========== GENERATION ==========
+
+    private static Case generate(SplittableRandom random, boolean elytra) {
+        double vx = random.nextDouble(-3.0D, 3.0D);
+        double vy = random.nextDouble(-3.0D, 3.0D);
+        double vz = random.nextDouble(-3.0D, 3.0D);
+        float pitch = (float) random.nextDouble(-90.0D, 90.0D);
+        float yaw = (float) random.nextDouble(-360.0D, 360.0D);
+        double gravity = 0.08D;
+        double speedLimit = elytra ? 0.0D : MobilityConfig.SWOOPING_SPEED_LIMIT;
+
+        switch (random.nextInt(12)) {
+            case 0 -> { // at rest
+                vx = 0.0D;
+                vy = 0.0D;
+                vz = 0.0D;
+            }
+            case 1 -> { // around the "no speed" epsilon
+                double scale = Math.pow(10.0D, random.nextDouble(-9.0D, -4.0D));
+                vx *= scale;
+                vy *= scale;
+                vz *= scale;
+            }
+            case 2 -> { // straight up or down
+                vx = 0.0D;
+                vz = 0.0D;
+            }
+            case 3 -> { // almost vertical
+                vx *= 1.0E-9D;
+                vz *= 1.0E-9D;
+            }
+            case 4 -> { // either side of the Swooping dead-zone boundary
+                double boundary = Math.acos(GlideMath.SWOOPING_DEAD_ZONE_COS);
+                double angle = boundary + random.nextDouble(-1.0E-6D, 1.0E-6D) * (random.nextBoolean() ? 1.0D : 1.0E-6D);
+                double azimuth = random.nextDouble(0.0D, Math.PI * 2.0D);
+                double speed = random.nextDouble(0.01D, 3.0D);
+                vx = Math.sin(angle) * Math.cos(azimuth) * speed;
+                vy = Math.cos(angle) * speed;
+                vz = Math.sin(angle) * Math.sin(azimuth) * speed;
+            }
+            case 5 -> { // speed at or just around the cap
+                speedLimit = random.nextDouble(0.1D, 4.0D);
+                double length = Math.sqrt(vx * vx + vy * vy + vz * vz);
+                double target = speedLimit * (1.0D + random.nextDouble(-1.0E-12D, 1.0E-12D));
+                vx = vx / length * target;
+                vy = vy / length * target;
+                vz = vz / length * target;
+            }
+            case 6 -> { // looking straight up, down or level
+                float[] pitches = {-90.0F, 90.0F, 0.0F, -0.0F};
+                pitch = pitches[random.nextInt(pitches.length)];
+            }
+            case 7 -> { // unusual gravity, including none and reversed
+                double[] gravities = {0.0D, -0.08D, 0.01D, 0.5D};
+                gravity = gravities[random.nextInt(gravities.length)];
+            }
+            case 8 -> // governed cap
+                speedLimit = random.nextDouble(0.0D, 4.0D) * MobilityConfig.GOVERNOR_MIN_SPEED_SCALE;
+            default -> {
+            }
+        }
+        return new Case(elytra, vx, vy, vz, pitch, yaw, gravity, speedLimit);
+    }
+
+    // ========== EVALUATION ==========
+
+    private static void add(GlideBatch batch, Case c) {
+        int index;
+        if (c.elytra()) {
+            Vec3d look = GlideMath.rotationVector(c.pitch(), c.yaw());
+            index = batch.addElytra(c.vx(), c.vy(), c.vz(), c.gravity(), look.x, look.y, look.z, radians(c.pitch()));
+        } else {
+            index = batch.addSwooping(c.vx(), c.vy(), c.vz(), c.gravity());
+        }
+        batch.speedLimit[index] = c.speedLimit();
+    }
+
+    private static void run(GlideKernel kernel, GlideBatch batch, boolean elytra) {
+        if (elytra) {
+            kernel.elytra(batch);
+        } else {
+            kernel.swooping(batch);
+        }
+    }
+
+    private static void reference(Case c, double[] out) {
+        Vec3d old = new Vec3d(c.vx(), c.vy(), c.vz());
+        Vec3d result;
+        if (c.elytra()) {
+            Vec3d look = GlideMath.rotationVector(c.pitch(), c.yaw());
+            result = SwoopingPhysics.clampSpeed(ElytraPhysics.computeGlideVelocity(look, radians(c.pitch()), old, c.gravity()), c.speedLimit());
+        } else {
+            result = SwoopingPhysics.computeGlideVelocity(old, c.gravity(), c.speedLimit());
+        }
+        out[0] = result.x;
+        out[1] = result.y;
+        out[2] = result.z;
+    }
+
+    private static double[] evaluate(GlideKernel kernel, Case c) {
+        GlideBatch batch = new GlideBatch(SHRINK_COPIES);
+        for (int i = 0; i < SHRINK_COPIES; i++) {
+            add(batch, c);
+        }
+        run(kernel, batch, c.elytra());
+
+        // Report the worst lane; every lane got the same input
+        double[] expected = new double[3];
+        reference(c, expected);
+        int worst = 0;
+        for (int i = 0; i < SHRINK_COPIES; i++) {
+            if (error(expected, batch.velX[i], batch.velY[i], batch.velZ[i]) < 0.0D) {
+                worst = i;
+                break;
+            }
+        }
+        return new double[]{batch.velX[worst], batch.velY[worst], batch.velZ[worst]};
+    }
+
+    private static boolean fails(GlideKernel kernel, Case c) {
+        double[] expected = new double[3];
+        reference(c, expected);
+        double[] actual = evaluate(kernel, c);
+        return error(expected, actual[0], actual[1], actual[2]) < 0.0D;
+    }
+
+    /**
+     * @return the largest component error, or {@code -1} if any component is out of tolerance
+     */
+    private static double error(double[] expected, double x, double y, double z) {
+        double ex = componentError(expected[0], x);
+        double ey = componentError(expected[1], y);
+        double ez = componentError(expected[2], z);
+        if (ex < 0.0D || ey < 0.0D || ez < 0.0D) {
+            return -1.0D;
+        }
+        return Math.max(ex, Math.max(ey, ez));
+    }
+
+    private static double componentError(double expected, double actual) {
+        if (Double.isNaN(expected) || Double.isNaN(actual)) {
+            return Double.isNaN(expected) && Double.isNaN(actual) ? 0.0D : -1.0D;
+        }
+        double error = Math.abs(expected - actual);
+        return error <= ABSOLUTE_TOLERANCE + RELATIVE_TOLERANCE * Math.abs(expected) ? error : -1.0D;
+    }
+
+    private static boolean bitEqual(double[] expected, double x, double y, double z) {
+        return Double.doubleToLongBits(expected[0]) == Double.doubleToLongBits(x)
+            && Double.doubleToLongBits(expected[1]) == Double.doubleToLongBits(y)
+            && Double.doubleToLongBits(expected[2]) == Double.doubleToLongBits(z);
+    }
+
+    private static float radians(float degrees) {
+        return degrees * (float) (Math.PI / 180.0);
+    }
+
+    // ========== SHRINKING ==========
+
+    /**
+     * Greedily simplify a failing case one field at a time (zero, round, halve) for as
+     * long as the simpler case still fails.
+     */
+    private static Case shrink(GlideKernel kernel, Case failing) {
+        Case current = failing;
+        for (int round = 0; round < MAX_SHRINK_ROUNDS; round++) {
+            Case next = null;
+            for (Case candidate : candidates(current)) {
+                if (!candidate.equals(current) && fails(kernel, candidate)) {
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next == null) {
+                return current;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static List<Case> candidates(Case c) {
+        List<Case> out = new ArrayList<>();
+        for (int field = 0; field < 7; field++) {
+            double value = field(c, field);
+            if (value == 0.0D) {
+                continue;
+            }
+            out.add(with(c, field, 0.0D));
+            for (double step : ROUNDING_STEPS) {
+                out.add(with(c, field, Math.round(value / step) * step));
+            }
+            out.add(with(c, field, value / 2.0D));
+        }
+        return out;
+    }
+
+    private static double field(Case c, int field) {
+        return switch (field) {
+            case 0 -> c.vx();
+            case 1 -> c.vy();
+            case 2 -> c.vz();
+            case 3 -> c.pitch();
+            case 4 -> c.yaw();
+            case 5 -> c.gravity();
+            default -> c.speedLimit();
+        };
+    }
+
+    private static Case with(Case c, int field, double value) {
+        return new Case(c.elytra(),
+            field == 0 ? value : c.vx(),
+            field == 1 ? value : c.vy(),
+            field == 2 ? value : c.vz(),
+            field == 3 ? (float) value : c.pitch(),
+            field == 4 ? (float) value : c.yaw(),
+            field == 5 ? value : c.gravity(),
+            field == 6 ? value : c.speedLimit());
+    }
+}
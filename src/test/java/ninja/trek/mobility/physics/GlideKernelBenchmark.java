@@ -0,0 +1,123 @@
+package ninja.trek.mobility.physics;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Throughput comparison of the scalar and vector glide kernels.
+ *
+ * <p>Run with {@code ./gradlew glideBenchmark}; the task adds the Vector API module so
+ * both kernels are measured. Each measurement restores the batch from a fixed random
+ * snapshot before every pass, so both kernels integrate identical inputs and the copy
+ * cost is the same on both sides.</p>
+ */
+public final class GlideKernelBenchmark {
+    private static final int[] GLIDER_COUNTS = {64, 512, 4_096};
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private static double sink;
+
+    private GlideKernelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        GlideKernel scalar = GlideKernels.scalar();
+        GlideKernel vector = GlideKernels.vector();
+        if (vector == null) {
+            System.out.println("Vector API unavailable (start the JVM with --add-modules " + GlideKernels.VECTOR_MODULE
+                + "); measuring the scalar kernel only");
+        }
+
+        System.out.printf(Locale.ROOT, "%-9s %8s %-16s %14s %12s%n", "physics", "gliders", "kernel", "ns/glider", "speedup");
+        for (boolean elytra : new boolean[]{false, true}) {
+            for (int count : GLIDER_COUNTS) {
+                GlideBatch source = randomBatch(count, elytra, 0x5EEDL + count);
+                double scalarNanos = measure(scalar, source, elytra);
+                print(elytra, count, scalar, scalarNanos, 1.0D);
+
+                if (vector != null) {
+                    double vectorNanos = measure(vector, source, elytra);
+                    print(elytra, count, vector, vectorNanos, scalarNanos / vectorNanos);
+                }
+            }
+        }
+
+        // Keeps the results observable so the JIT cannot drop the kernel calls
+        if (sink == 42.0D) {
+            System.out.println();
+        }
+    }
+
+    private static void print(boolean elytra, int count, GlideKernel kernel, double nanosPerGlider, double speedup) {
+        System.out.printf(Locale.ROOT, "%-9s %8d %-16s %14.2f %11.2fx%n",
+            elytra ? "elytra" : "swooping", count, kernel.name(), nanosPerGlider, speedup);
+    }
+
+    /**
+     * @return average nanoseconds per glider per tick
+     */
+    private static double measure(GlideKernel kernel, GlideBatch source, boolean elytra) {
+        GlideBatch work = new GlideBatch(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            work.addElytra(0, 0, 0, 0, 0, 0, 0, 0.0F);
+        }
+
+        run(kernel, source, work, elytra, WARMUP_NANOS);
+        long start = System.nanoTime();
+        long passes = run(kernel, source, work, elytra, MEASURE_NANOS);
+        long elapsed = System.nanoTime() - start;
+        return (double) elapsed / ((double) passes * source.size());
+    }
+
+    private static long run(GlideKernel kernel, GlideBatch source, GlideBatch work, boolean elytra, long budgetNanos) {
+        int n = source.size();
+        long passes = 0;
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            for (int repeat = 0; repeat < 64; repeat++) {
+                System.arraycopy(source.velX, 0, work.velX, 0, n);
+                System.arraycopy(source.velY, 0, work.velY, 0, n);
+                System.arraycopy(source.velZ, 0, work.velZ, 0, n);
+                System.arraycopy(source.gravity, 0, work.gravity, 0, n);
+                System.arraycopy(source.speedLimit, 0, work.speedLimit, 0, n);
+                System.arraycopy(source.lookX, 0, work.lookX, 0, n);
+                System.arraycopy(source.lookY, 0, work.lookY, 0, n);
+                System.arraycopy(source.lookZ, 0, work.lookZ, 0, n);
+                System.arraycopy(source.pitchCosSquared, 0, work.pitchCosSquared, 0, n);
+                System.arraycopy(source.pitchSin, 0, work.pitchSin, 0, n);
+
+                if (elytra) {
+                    kernel.elytra(work);
+                } else {
+                    kernel.swooping(work);
+                }
+                sink += work.velY[passes % n == 0 ? 0 : n - 1];
+                passes++;
+            }
+        } while (System.nanoTime() < deadline);
+        return passes;
+    }
+
+    private static GlideBatch randomBatch(int count, boolean elytra, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GlideBatch batch = new GlideBatch(count);
+        for (int i = 0; i < count; i++) {
+            double vx = random.nextDouble(-1.5D, 1.5D);
+            double vy = random.nextDouble(-1.5D, 1.0D);
+            double vz = random.nextDouble(-1.5D, 1.5D);
+            if (!elytra) {
+                batch.addSwooping(vx, vy, vz, 0.08D);
+                continue;
+            }
+
+            float pitch = (float) random.nextDouble(-90.0D, 90.0D) * (float) (Math.PI / 180.0);
+            float yaw = (float) random.nextDouble(-180.0D, 180.0D) * (float) (Math.PI / 180.0);
+            double lookX = -Math.sin(yaw) * Math.cos(pitch);
+            double lookY = -Math.sin(pitch);
+            double lookZ = Math.cos(yaw) * Math.cos(pitch);
+            batch.addElytra(vx, vy, vz, 0.08D, lookX, lookY, lookZ, pitch);
+        }
+        return batch;
+    }
+}
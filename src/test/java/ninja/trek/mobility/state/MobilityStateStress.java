@@ -0,0 +1,624 @@
+package ninja.trek.mobility.state;
+
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mobility.config.MobilityConfig;
+import ninja.trek.mobility.physics.GlideBatch;
+import ninja.trek.mobility.physics.GlideKernel;
+import ninja.trek.mobility.physics.GlideKernels;
+import ninja.trek.mobility.schedule.Timer;
+import ninja.trek.mobility.schedule.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stress test of the {@link MobilityWorldContext} ownership model under parallel world ticking.
+ *
+ * <p>Run with {@code ./gradlew mobilityStress}; the task is part of {@code check}. Several
+ * simulated worlds are ticked concurrently, one thread each, the way parallel-dimension
+ * servers tick them. Each world owns a population of Elytra and Swooping gliders whose
+ * {@link MobilityComponent}s are advanced through {@link GlideBatch}es every tick, and whose
+ * hunger flushes run as {@link Timer}s in the world's {@link TimingWheel}.</p>
+ *
+ * <p>Activations take the path packets take in game. "Network" threads only queue them for
+ * the server thread, as vanilla's {@code forceMainThread} does; the server thread, which
+ * keeps handling them while the worlds tick, hands each one to its world through
+ * {@link MobilityWorldContext#execute}. An activation then starts the ability's cooldown
+ * timer, like the dispatcher. Between ticks the server thread also adjusts per-glider
+ * speed scales the way the speed governor does.</p>
+ *
+ * <p>Each world also holds travellers with running cooldown and hunger timers, some of
+ * which change world in the middle of their world's tick. Like {@code MobilityWorld.moveTimers},
+ * the origin's tick thread takes their timers out of its own wheel and the destination's
+ * owner schedules them in its wheel.</p>
+ *
+ * <p>The server thread also ticks each world's travellers the way connections tick players,
+ * outside the world's tick, holding the world through {@link MobilityWorldContext#acquire()}
+ * like {@code ServerPlayerEntityMixin}. One world per round is ticked this way while its tick
+ * thread still has it, so the acquire has to wait for the world's tick to end.</p>
+ *
+ * <p>The run fails (exit status 1) unless:
+ * <ul>
+ *     <li>no component or timer was touched by a thread that did not own its world, and
+ *     every player tick held its world exactly once;</li>
+ *     <li>every activation ran exactly once, in the order it was sent, and never interleaved
+ *     with another access to the same component;</li>
+ *     <li>every timer expired on its deadline tick, on the owner of the world it was in,
+ *     and every world's wheel holds exactly the timers that are scheduled in it;</li>
+ *     <li>no traveller was lost or duplicated on the way between worlds;</li>
+ *     <li>every world's final velocities are bit-identical to a single-threaded replay of
+ *     the same inputs, so concurrent worlds did not disturb each other's physics.</li>
+ * </ul>
+ * Activations and timers never feed into the physics, which keeps the replay deterministic
+ * however the threads interleave. {@code AbilityDispatcher} and {@code MobilityState.of}
+ * need a running game; {@code MobilityOwnershipGameTest} drives them with real players.</p>
+ *
+ * <p>Arguments: {@code [worlds] [gliders per world] [ticks] [seed]}.</p>
+ */
+public final class MobilityStateStress {
+    private static final int DEFAULT_WORLDS = 4;
+    private static final int DEFAULT_GLIDERS = 2_000;
+    private static final int DEFAULT_TICKS = 400;
+    private static final long DEFAULT_SEED = 0x57E55L;
+    private static final int NETWORK_THREADS = 3;
+    private static final int SCALE_INTERVAL_TICKS = 10;
+    private static final int COOLDOWN_ABILITY = 0;
+    private static final int COOLDOWN_TICKS = 7;
+    private static final int HUNGER_INTERVAL_TICKS = 13;
+    private static final int TRAVELLERS_PER_WORLD = 64;
+    // Out of 1024, per traveller and tick
+    private static final int TRAVEL_CHANCE = 40;
+
+    private final AtomicLong violations = new AtomicLong();
+    private final AtomicLong orderErrors = new AtomicLong();
+    private final AtomicLong tornReads = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong timerErrors = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong travels = new AtomicLong();
+    // Only counted on the server thread
+    private long playerTicks;
+    // Activations received from the network, waiting for the server thread
+    private final ConcurrentLinkedQueue<Packet> serverInbox = new ConcurrentLinkedQueue<>();
+    // Written before each round of ticks is submitted, which publishes it to the tick threads
+    private long currentTick;
+
+    private MobilityStateStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int worlds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORLDS;
+        int gliders = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GLIDERS;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TICKS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        // This thread plays the server thread
+        MobilityWorldContext.bindServerThread(Thread.currentThread());
+        boolean passed = checkDetection();
+        passed &= new MobilityStateStress().run(worlds, gliders, ticks, seed);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Make sure the ownership checks themselves work before trusting a clean run.
+     */
+    private static boolean checkDetection() throws InterruptedException {
+        MobilityWorldContext context = new MobilityWorldContext("detection");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ranOnOwner = new AtomicBoolean();
+        Thread owner = new Thread(() -> {
+            context.enter(0L);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            context.exit();
+        }, "Detection Owner");
+        owner.start();
+        entered.await();
+
+        boolean detected = false;
+        try {
+            context.checkAccess("probe");
+        } catch (IllegalStateException e) {
+            detected = true;
+        }
+        boolean queued = !context.execute(() -> ranOnOwner.set(Thread.currentThread() == owner));
+        release.countDown();
+        owner.join();
+
+        // A network thread must go through the server thread, even to an idle world
+        AtomicReference<Throwable> networkResult = new AtomicReference<>();
+        Thread network = new Thread(() -> {
+            try {
+                context.execute(() -> { });
+            } catch (Throwable t) {
+                networkResult.set(t);
+            }
+        }, "Detection Network");
+        network.start();
+        network.join();
+        boolean rejected = networkResult.get() instanceof IllegalStateException;
+
+        if (!detected || !queued || !ranOnOwner.get() || !context.isAccessible() || !rejected) {
+            System.out.println("FAIL ownership check: detected=" + detected + " queued=" + queued
+                + " ranOnOwner=" + ranOnOwner.get() + " networkRejected=" + rejected);
+            return false;
+        }
+        System.out.println("Ownership check rejects foreign access and network callers, and hands server work to the owner");
+        return true;
+    }
+
+    private boolean run(int worldCount, int glidersPerWorld, int ticks, long seed) throws Exception {
+        GlideKernel kernel = GlideKernels.get();
+        System.out.printf("%d worlds x %d gliders, %d ticks, %d network threads, kernel %s%n",
+            worldCount, glidersPerWorld, ticks, NETWORK_THREADS, kernel.name());
+
+        SimWorld[] worlds = new SimWorld[worldCount];
+        SimWorld[] replay = new SimWorld[worldCount];
+        for (int w = 0; w < worldCount; w++) {
+            worlds[w] = new SimWorld(w, glidersPerWorld, seed + w);
+            replay[w] = new SimWorld(w, glidersPerWorld, seed + w);
+            for (int t = 0; t < TRAVELLERS_PER_WORLD; t++) {
+                worlds[w].travellers.add(new Traveller(worlds[w]));
+            }
+        }
+
+        ExecutorService tickThreads = Executors.newFixedThreadPool(worldCount, runnable -> {
+            Thread thread = new Thread(runnable, "World Tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicBoolean sending = new AtomicBoolean(true);
+        List<Thread> network = new ArrayList<>();
+        long[][] sent = new long[worldCount][glidersPerWorld];
+        for (int n = 0; n < NETWORK_THREADS; n++) {
+            int partition = n;
+            Thread thread = new Thread(() -> send(worlds, sent, partition, sending, seed ^ (partition + 1)), "Network " + n);
+            thread.setDaemon(true);
+            network.add(thread);
+            thread.start();
+        }
+
+        long start = System.nanoTime();
+        List<Callable<Void>> tickTasks = new ArrayList<>();
+        for (SimWorld world : worlds) {
+            tickTasks.add(() -> {
+                world.context.enter(currentTick);
+                try {
+                    tick(world, kernel, true);
+                    travel(world, worlds);
+                } finally {
+                    world.context.exit();
+                }
+                return null;
+            });
+        }
+        List<Future<Void>> running = new ArrayList<>();
+        for (int tick = 0; tick < ticks; tick++) {
+            currentTick = tick;
+            running.clear();
+            for (Callable<Void> task : tickTasks) {
+                running.add(tickThreads.submit(task));
+            }
+            // A connection ticked while its world is still ticking waits for the world
+            tickPlayers(worlds[tick % worldCount]);
+            // The server thread keeps handling packets while the worlds tick
+            while (!allDone(running)) {
+                if (!handlePackets()) {
+                    Thread.onSpinWait();
+                }
+            }
+            for (Future<Void> future : running) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    violations.incrementAndGet();
+                    e.getCause().printStackTrace(System.out);
+                }
+            }
+            handlePackets();
+            for (SimWorld world : worlds) {
+                tickPlayers(world);
+            }
+            if (tick % SCALE_INTERVAL_TICKS == 0) {
+                for (SimWorld world : worlds) {
+                    int scaleTick = tick;
+                    world.context.execute(() -> applyScales(world, scaleTick));
+                }
+            }
+        }
+
+        sending.set(false);
+        for (Thread thread : network) {
+            thread.join();
+        }
+        handlePackets();
+        // Run whatever was queued after each world's last tick
+        for (SimWorld world : worlds) {
+            world.context.enter(ticks);
+            world.context.exit();
+        }
+        tickThreads.shutdown();
+        double seconds = (System.nanoTime() - start) / 1.0E9D;
+
+        // Single-threaded replay of the physics with the same scale schedule
+        for (int tick = 0; tick < ticks; tick++) {
+            for (SimWorld world : replay) {
+                tick(world, kernel, false);
+            }
+            if (tick % SCALE_INTERVAL_TICKS == 0) {
+                for (SimWorld world : replay) {
+                    applyScales(world, tick);
+                }
+            }
+        }
+
+        long totalSent = 0L;
+        long lost = 0L;
+        long mismatched = 0L;
+        long pending = 0L;
+        long wheelErrors = 0L;
+        long travellers = 0L;
+        for (int w = 0; w < worldCount; w++) {
+            pending += worlds[w].context.pending();
+            int scheduled = 0;
+            travellers += worlds[w].travellers.size();
+            for (Traveller traveller : worlds[w].travellers) {
+                scheduled += traveller.component.mobility$getCooldownTimer(COOLDOWN_ABILITY).isScheduled() ? 1 : 0;
+                scheduled += traveller.component.mobility$getHungerTimer().isScheduled() ? 1 : 0;
+                if (traveller.world != worlds[w]) {
+                    wheelErrors++;
+                }
+            }
+            for (int g = 0; g < glidersPerWorld; g++) {
+                MobilityComponent component = worlds[w].components[g];
+                totalSent += sent[w][g];
+                long received = component.mobility$hasActivationTick() ? component.mobility$getLastActivationTick() : 0L;
+                if (received != sent[w][g]) {
+                    lost++;
+                }
+                if (!component.mobility$getLastGlideVelocity().equals(replay[w].components[g].mobility$getLastGlideVelocity())) {
+                    mismatched++;
+                }
+                scheduled += component.mobility$getCooldownTimer(COOLDOWN_ABILITY).isScheduled() ? 1 : 0;
+                scheduled += component.mobility$getHungerTimer() != null && component.mobility$getHungerTimer().isScheduled() ? 1 : 0;
+            }
+            if (scheduled != worlds[w].context.timers().size()) {
+                wheelErrors++;
+            }
+        }
+
+        long lostTravellers = (long) worldCount * TRAVELLERS_PER_WORLD - travellers;
+
+        System.out.printf("%.2fs, %d activations sent, %d executed, %d timers expired, %d world changes, %d player ticks%n",
+            seconds, totalSent, executed.get(), expired.get(), travels.get(), playerTicks);
+        System.out.printf("violations=%d orderErrors=%d tornReads=%d lostOrDuplicated=%d pending=%d timerErrors=%d wheelErrors=%d lostTravellers=%d physicsMismatches=%d%n",
+            violations.get(), orderErrors.get(), tornReads.get(), lost, pending, timerErrors.get(), wheelErrors, lostTravellers, mismatched);
+
+        boolean passed = violations.get() == 0L && orderErrors.get() == 0L && tornReads.get() == 0L
+            && lost == 0L && pending == 0L && timerErrors.get() == 0L && wheelErrors == 0L && lostTravellers == 0L
+            && mismatched == 0L && executed.get() == totalSent && expired.get() > 0L && playerTicks > 0L && (worldCount < 2 || travels.get() > 0L);
+        System.out.println(passed ? "PASS" : "FAIL");
+        return passed;
+    }
+
+    private static boolean allDone(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hand every packet received so far to its world, on the server thread.
+     *
+     * @return true if there was any
+     */
+    private boolean handlePackets() {
+        Packet packet = serverInbox.poll();
+        if (packet == null) {
+            return false;
+        }
+        do {
+            Packet handled = packet;
+            handled.world().context.execute(() -> activate(handled.world(), handled.glider(), handled.sequence()));
+        } while ((packet = serverInbox.poll()) != null);
+        return true;
+    }
+
+    /**
+     * One world tick on the world's owner: check every glider's activation bookkeeping is
+     * whole, keep its hunger timer running, then advance all of them through the batches.
+     */
+    private void tick(SimWorld world, GlideKernel kernel, boolean timers) {
+        world.elytra.clear();
+        world.swooping.clear();
+        for (int g = 0; g < world.components.length; g++) {
+            MobilityComponent component = access(world, g);
+            if (component.mobility$hasActivationTick()
+                && component.mobility$getAbilityId() != (component.mobility$getLastActivationTick() & 0xFFFF)) {
+                tornReads.incrementAndGet();
+            }
+            if (timers) {
+                Timer hunger = component.mobility$getHungerTimer();
+                if (hunger == null) {
+                    hunger = new HungerTimer(world);
+                    component.mobility$setHungerTimer(hunger);
+                }
+                if (!hunger.isScheduled()) {
+                    world.context.timers().schedule(hunger, HUNGER_INTERVAL_TICKS + g % HUNGER_INTERVAL_TICKS);
+                }
+            }
+
+            Vec3d velocity = component.mobility$getLastGlideVelocity();
+            double scale = component.mobility$getGlideSpeedScale();
+            if (world.isElytra[g]) {
+                int index = world.elytra.addElytra(velocity.x, velocity.y, velocity.z, world.gravity[g],
+                    world.pitch[g], world.yaw[g]);
+                world.elytra.speedLimit[index] = MobilityConfig.GOVERNOR_ELYTRA_SPEED_LIMIT * scale;
+            } else {
+                int index = world.swooping.addSwooping(velocity.x, velocity.y, velocity.z, world.gravity[g]);
+                world.swooping.speedLimit[index] = MobilityConfig.SWOOPING_SPEED_LIMIT * scale;
+            }
+        }
+
+        kernel.elytra(world.elytra);
+        kernel.swooping(world.swooping);
+
+        int elytraIndex = 0;
+        int swoopingIndex = 0;
+        for (int g = 0; g < world.components.length; g++) {
+            GlideBatch batch = world.isElytra[g] ? world.elytra : world.swooping;
+            int i = world.isElytra[g] ? elytraIndex++ : swoopingIndex++;
+            access(world, g).mobility$setLastGlideVelocity(new Vec3d(batch.velX[i], batch.velY[i], batch.velZ[i]));
+        }
+    }
+
+    /**
+     * On the world's owner, mid-tick: keep every traveller's timers running, and send some
+     * of them to another world the way a portal does.
+     */
+    private void travel(SimWorld world, SimWorld[] worlds) {
+        if (!world.context.isAccessible()) {
+            violations.incrementAndGet();
+        }
+        List<Traveller> travellers = world.travellers;
+        for (int t = travellers.size() - 1; t >= 0; t--) {
+            Traveller traveller = travellers.get(t);
+            Timer cooldown = traveller.component.mobility$getCooldownTimer(COOLDOWN_ABILITY);
+            if (!cooldown.isScheduled()) {
+                world.context.timers().schedule(cooldown, COOLDOWN_TICKS + t % COOLDOWN_TICKS);
+            }
+            if (!traveller.component.mobility$getHungerTimer().isScheduled()) {
+                world.context.timers().schedule(traveller.component.mobility$getHungerTimer(), HUNGER_INTERVAL_TICKS);
+            }
+
+            if (worlds.length < 2 || world.random.nextInt(1024) >= TRAVEL_CHANCE) {
+                continue;
+            }
+            SimWorld destination = worlds[(world.index + 1 + world.random.nextInt(worlds.length - 1)) % worlds.length];
+            travellers.set(t, travellers.get(travellers.size() - 1));
+            travellers.remove(travellers.size() - 1);
+            travels.incrementAndGet();
+
+            // What MobilityWorld.moveTimers does: out of this wheel here, into the other on its owner
+            List<Timer> timers = traveller.component.detachTimers();
+            destination.context.execute(() -> {
+                if (!destination.context.isAccessible()) {
+                    violations.incrementAndGet();
+                }
+                traveller.world = destination;
+                MobilityComponent.relinkTimers(timers, destination.context.timers());
+                destination.travellers.add(traveller);
+            });
+        }
+    }
+
+    /**
+     * A player's own tick on the server thread, outside its world's tick: hold the world for
+     * the whole of it, as {@code ServerPlayerEntityMixin} does around {@code playerTick}, and
+     * keep every traveller's timers running.
+     */
+    private void tickPlayers(SimWorld world) {
+        MobilityWorldContext context = world.context;
+        if (!context.acquire()) {
+            // Nothing holds a world on the server thread between player ticks
+            violations.incrementAndGet();
+            return;
+        }
+        try {
+            // Re-entrant: a nested acquire must not take the world a second time
+            if (context.acquire() || !context.isHeldByCurrentThread()) {
+                violations.incrementAndGet();
+            }
+            for (Traveller traveller : world.travellers) {
+                if (traveller.world != world) {
+                    violations.incrementAndGet();
+                }
+                Timer hunger = traveller.component.mobility$getHungerTimer();
+                if (!hunger.isScheduled()) {
+                    context.timers().schedule(hunger, HUNGER_INTERVAL_TICKS);
+                }
+                playerTicks++;
+            }
+        } finally {
+            context.release();
+        }
+    }
+
+    private void applyScales(SimWorld world, int tick) {
+        for (int g = 0; g < world.components.length; g++) {
+            // Deterministic per glider and sample so the replay sees the same schedule
+            float scale = 0.25F + 0.75F * (((g * 31 + tick) % 17) / 16.0F);
+            access(world, g).mobility$setGlideSpeedScale(scale);
+        }
+    }
+
+    /**
+     * Keep receiving activations for this thread's share of the gliders until told to stop,
+     * queueing them for the server thread. Each glider has a single sender, so its
+     * activations carry consecutive sequence numbers.
+     */
+    private void send(SimWorld[] worlds, long[][] sent, int partition, AtomicBoolean sending, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        while (sending.get()) {
+            SimWorld world = worlds[random.nextInt(worlds.length)];
+            int glider = random.nextInt(world.components.length);
+            glider -= glider % NETWORK_THREADS;
+            glider += partition;
+            if (glider >= world.components.length) {
+                continue;
+            }
+
+            int sequence = (int) ++sent[world.index][glider];
+            serverInbox.add(new Packet(world, glider, sequence));
+            if ((sequence & 63) == 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * An activation writes two fields that must always agree; a tick seeing them disagree
+     * means the two ran at the same time. Like the dispatcher, it (re)starts the ability's
+     * cooldown in the world's wheel.
+     */
+    private void activate(SimWorld world, int glider, int sequence) {
+        MobilityComponent component = access(world, glider);
+        int expected = component.mobility$hasActivationTick() ? component.mobility$getLastActivationTick() + 1 : 1;
+        if (sequence != expected) {
+            orderErrors.incrementAndGet();
+        }
+        component.mobility$setLastActivationTick(sequence);
+        Thread.onSpinWait();
+        component.mobility$setAbilityId(sequence & 0xFFFF);
+        world.context.timers().schedule(component.mobility$getCooldownTimer(COOLDOWN_ABILITY), COOLDOWN_TICKS);
+        executed.incrementAndGet();
+    }
+
+    /**
+     * What {@link MobilityState#of} does with {@link MobilityConfig#CHECK_STATE_OWNERSHIP} on,
+     * counting rather than throwing so the run can report every violation.
+     */
+    private MobilityComponent access(SimWorld world, int glider) {
+        if (!world.context.isAccessible()) {
+            violations.incrementAndGet();
+        }
+        return world.components[glider];
+    }
+
+    private record Packet(SimWorld world, int glider, int sequence) {
+    }
+
+    /**
+     * Timers that move between worlds with their owner; the world it is in is only
+     * written by that world's owner.
+     */
+    private final class Traveller {
+        private final MobilityComponent component = new MobilityComponent();
+        private SimWorld world;
+
+        private Traveller(SimWorld world) {
+            this.world = world;
+            component.mobility$setHungerTimer(new TravelTimer(this));
+        }
+    }
+
+    /**
+     * A traveller's periodic timer: checks it runs on its deadline, on the owner of the
+     * world the traveller is in now.
+     */
+    private final class TravelTimer extends Timer {
+        private final Traveller traveller;
+
+        private TravelTimer(Traveller traveller) {
+            this.traveller = traveller;
+        }
+
+        @Override
+        protected void expire(long tick) {
+            if (tick != deadline() || !traveller.world.context.isAccessible()) {
+                timerErrors.incrementAndGet();
+            }
+            expired.incrementAndGet();
+        }
+    }
+
+    /**
+     * A periodic flush like the glide hunger timer: checks it runs on its deadline, on the
+     * world's owner, then schedules itself again.
+     */
+    private final class HungerTimer extends Timer {
+        private final SimWorld world;
+
+        private HungerTimer(SimWorld world) {
+            this.world = world;
+        }
+
+        @Override
+        protected void expire(long tick) {
+            if (tick != deadline() || !world.context.isAccessible()) {
+                timerErrors.incrementAndGet();
+            }
+            expired.incrementAndGet();
+            world.context.timers().schedule(this, HUNGER_INTERVAL_TICKS);
+        }
+    }
+
+    private static final class SimWorld {
+        private final int index;
+        private final MobilityWorldContext context;
+        private final MobilityComponent[] components;
+        private final boolean[] isElytra;
+        private final float[] pitch;
+        private final float[] yaw;
+        private final double[] gravity;
+        private final GlideBatch elytra = new GlideBatch();
+        private final GlideBatch swooping = new GlideBatch();
+        // Only used by the world's owner
+        private final List<Traveller> travellers = new ArrayList<>();
+        private final SplittableRandom random;
+
+        private SimWorld(int index, int gliders, long seed) {
+            this.index = index;
+            this.context = new MobilityWorldContext("world " + index);
+            this.components = new MobilityComponent[gliders];
+            this.isElytra = new boolean[gliders];
+            this.pitch = new float[gliders];
+            this.yaw = new float[gliders];
+            this.gravity = new double[gliders];
+
+            this.random = new SplittableRandom(~seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int g = 0; g < gliders; g++) {
+                MobilityComponent component = new MobilityComponent();
+                component.mobility$setLastGlideVelocity(new Vec3d(
+                    random.nextDouble(-2.0D, 2.0D), random.nextDouble(-2.0D, 1.0D), random.nextDouble(-2.0D, 2.0D)));
+                components[g] = component;
+                isElytra[g] = random.nextBoolean();
+                pitch[g] = (float) random.nextDouble(-90.0D, 90.0D);
+                yaw[g] = (float) random.nextDouble(-180.0D, 180.0D);
+                gravity[g] = random.nextInt(8) == 0 ? 0.01D : 0.08D;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ninja.trek.mobility.physics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import ninja.trek.mobility.config.MobilityConfig;
+
+/**
+ * Glide kernel built on the incubating {@code jdk.incubator.vector} API.
+ *
+ * <p>Every branch of the scalar kernel is evaluated for all lanes and the results are
+ * merged with masks, so one pass handles {@link #SPECIES}{@code .length()} gliders at a
+ * time. All lane operations are the same IEEE operations in the same order as
+ * {@link ScalarGlideKernel}, which keeps the output bit-identical. Lanes that do not fit
+ * a full vector fall through to the scalar per-glider step.</p>
+ *
+ * <p>Never reference this class directly: it fails to link when the module is not
+ * resolved. {@link GlideKernels} loads it reflectively after checking for the module.</p>
+ */
+final class VectorGlideKernel implements GlideKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+
+    @Override
+    public void swooping(GlideBatch batch) {
+        int n = batch.size();
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, batch.velX, i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, batch.velY, i);
+            DoubleVector vz = DoubleVector.fromArray(SPECIES, batch.velZ, i);
+            DoubleVector speed = lengthSquared(vx, vy, vz).sqrt();
+
+            DoubleVector ax = vx;
+            DoubleVector ay = vy.sub(DoubleVector.fromArray(SPECIES, batch.gravity, i));
+            DoubleVector az = vz;
+
+            VectorMask<Double> stalled = speed.lt(ScalarGlideKernel.EPSILON);
+            VectorMask<Double> tinySpeed = speed.lt(ScalarGlideKernel.NORMALIZE_EPSILON);
+            DoubleVector dx = vx.div(speed).blend(0.0D, tinySpeed);
+            DoubleVector dy = vy.div(speed).blend(0.0D, tinySpeed);
+            DoubleVector dz = vz.div(speed).blend(0.0D, tinySpeed);
+
+            // Lift direction: world-up projected onto the plane orthogonal to the velocity
+            DoubleVector px = dx.neg().mul(dy);
+            DoubleVector py = DoubleVector.broadcast(SPECIES, 1.0D).sub(dy.mul(dy));
+            DoubleVector pz = dz.neg().mul(dy);
+            VectorMask<Double> vertical = lengthSquared(px, py, pz).lt(ScalarGlideKernel.EPSILON);
+            if (vertical.anyTrue()) {
+                // velocity x (1, 0, 0), then velocity x (0, 0, 1) if that degenerates too
+                VectorMask<Double> stillVertical = vertical.and(dz.mul(dz).add(dy.mul(dy)).lt(ScalarGlideKernel.EPSILON));
+                px = px.blend(0.0D, vertical).blend(dy, stillVertical);
+                py = py.blend(dz, vertical).blend(dx.neg(), stillVertical);
+                pz = pz.blend(dy.neg(), vertical).blend(0.0D, stillVertical);
+            }
+
+            DoubleVector pLength = lengthSquared(px, py, pz).sqrt();
+            VectorMask<Double> tinyLift = pLength.lt(ScalarGlideKernel.NORMALIZE_EPSILON);
+            DoubleVector nx = px.div(pLength).blend(0.0D, tinyLift);
+            DoubleVector ny = py.div(pLength).blend(0.0D, tinyLift);
+            DoubleVector nz = pz.div(pLength).blend(0.0D, tinyLift);
+            VectorMask<Double> downward = ny.lt(0.0D);
+            nx = nx.blend(nx.neg(), downward);
+            ny = ny.blend(ny.neg(), downward);
+            nz = nz.blend(nz.neg(), downward);
+
+            if (MobilityConfig.SWOOPING_LIFT_UPWARD_BIAS_DEGREES > 0.0D) {
+                double keep = 1.0D - ScalarGlideKernel.SWOOPING_BIAS_T;
+                DoubleVector bx = nx.mul(keep);
+                DoubleVector by = ny.mul(keep).add(ScalarGlideKernel.SWOOPING_BIAS_T);
+                DoubleVector bz = nz.mul(keep);
+                DoubleVector bLengthSquared = lengthSquared(bx, by, bz);
+                VectorMask<Double> usable = bLengthSquared.compare(VectorOperators.GE, ScalarGlideKernel.EPSILON);
+                DoubleVector bLength = bLengthSquared.sqrt();
+                VectorMask<Double> tinyBias = bLength.lt(ScalarGlideKernel.NORMALIZE_EPSILON);
+                nx = nx.blend(bx.div(bLength).blend(0.0D, tinyBias), usable);
+                ny = ny.blend(by.div(bLength).blend(0.0D, tinyBias), usable);
+                nz = nz.blend(bz.div(bLength).blend(0.0D, tinyBias), usable);
+            }
+
+            DoubleVector liftMagnitude = speed.mul(speed).mul(MobilityConfig.SWOOPING_LIFT_COEFFICIENT);
+            DoubleVector ox = ax.add(nx.mul(liftMagnitude)).mul(MobilityConfig.SWOOPING_DRAG_XZ);
+            DoubleVector oy = ay.add(ny.mul(liftMagnitude)).mul(MobilityConfig.SWOOPING_DRAG_Y);
+            DoubleVector oz = az.add(nz.mul(liftMagnitude)).mul(MobilityConfig.SWOOPING_DRAG_XZ);
+
+            // Within the dead zone only gravity and the clamp apply
+            if (MobilityConfig.SWOOPING_DEAD_ZONE_DEGREES > 0.0D) {
+                VectorMask<Double> deadZone = dy.compare(VectorOperators.GT, 0.0D)
+                    .and(dy.compare(VectorOperators.GE, ScalarGlideKernel.SWOOPING_DEAD_ZONE_COS));
+                ox = ox.blend(ax, deadZone);
+                oy = oy.blend(ay, deadZone);
+                oz = oz.blend(az, deadZone);
+            }
+
+            DoubleVector scale = clampScale(batch, i, ox, oy, oz);
+            ox = ox.mul(scale);
+            oy = oy.mul(scale);
+            oz = oz.mul(scale);
+
+            // Stalled gliders only get gravity and drag, without the clamp
+            ox = ox.blend(ax.mul(MobilityConfig.SWOOPING_DRAG_XZ), stalled);
+            oy = oy.blend(ay.mul(MobilityConfig.SWOOPING_DRAG_Y), stalled);
+            oz = oz.blend(az.mul(MobilityConfig.SWOOPING_DRAG_XZ), stalled);
+
+            ox.intoArray(batch.velX, i);
+            oy.intoArray(batch.velY, i);
+            oz.intoArray(batch.velZ, i);
+        }
+
+        for (; i < n; i++) {
+            ScalarGlideKernel.swoopingAt(batch, i);
+        }
+    }
+
+    @Override
+    public void elytra(GlideBatch batch) {
+        int n = batch.size();
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector rx = DoubleVector.fromArray(SPECIES, batch.lookX, i);
+            DoubleVector rz = DoubleVector.fromArray(SPECIES, batch.lookZ, i);
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, batch.velX, i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, batch.velY, i);
+            DoubleVector vz = DoubleVector.fromArray(SPECIES, batch.velZ, i);
+            DoubleVector cosSquared = DoubleVector.fromArray(SPECIES, batch.pitchCosSquared, i);
+            DoubleVector pitchSin = DoubleVector.fromArray(SPECIES, batch.pitchSin, i);
+            DoubleVector gravity = DoubleVector.fromArray(SPECIES, batch.gravity, i);
+
+            DoubleVector horizontalRotation = rx.mul(rx).add(rz.mul(rz)).sqrt();
+            DoubleVector horizontalSpeed = vx.mul(vx).add(vz.mul(vz)).sqrt();
+            VectorMask<Double> facing = horizontalRotation.compare(VectorOperators.GT, 0.0D);
+
+            // cosSquared * 0.75 * lift is evaluated left to right in the scalar code
+            vy = vy.add(gravity.mul(cosSquared.mul(0.75).mul(MobilityConfig.ELYTRA_LIFT_MULTIPLIER).add(-1.0)));
+
+            VectorMask<Double> diving = facing.and(vy.lt(0.0D));
+            DoubleVector diveAdjust = vy.mul(-0.1).mul(cosSquared);
+            vx = vx.blend(vx.add(rx.mul(diveAdjust).div(horizontalRotation)), diving);
+            vy = vy.blend(vy.add(diveAdjust), diving);
+            vz = vz.blend(vz.add(rz.mul(diveAdjust).div(horizontalRotation)), diving);
+
+            VectorMask<Double> climbing = facing.and(pitchSin.lt(0.0D));
+            DoubleVector climbAdjust = horizontalSpeed.mul(pitchSin.neg()).mul(0.04);
+            vx = vx.blend(vx.add(rx.neg().mul(climbAdjust).div(horizontalRotation)), climbing);
+            vy = vy.blend(vy.add(climbAdjust.mul(3.2)), climbing);
+            vz = vz.blend(vz.add(rz.neg().mul(climbAdjust).div(horizontalRotation)), climbing);
+
+            vx = vx.blend(vx.add(rx.div(horizontalRotation).mul(horizontalSpeed).sub(vx).mul(0.1)), facing);
+            vz = vz.blend(vz.add(rz.div(horizontalRotation).mul(horizontalSpeed).sub(vz).mul(0.1)), facing);
+
+            vx = vx.mul(MobilityConfig.ELYTRA_DRAG_XZ);
+            vy = vy.mul(MobilityConfig.ELYTRA_DRAG_Y);
+            vz = vz.mul(MobilityConfig.ELYTRA_DRAG_XZ);
+
+            DoubleVector scale = clampScale(batch, i, vx, vy, vz);
+            vx.mul(scale).intoArray(batch.velX, i);
+            vy.mul(scale).intoArray(batch.velY, i);
+            vz.mul(scale).intoArray(batch.velZ, i);
+        }
+
+        for (; i < n; i++) {
+            ScalarGlideKernel.elytraAt(batch, i);
+        }
+    }
+
+    private static DoubleVector lengthSquared(DoubleVector x, DoubleVector y, DoubleVector z) {
+        return x.mul(x).add(y.mul(y)).add(z.mul(z));
+    }
+
+    /**
+     * Per-lane factor that brings the speed down to the glider's limit, or 1 where it is
+     * already below or uncapped.
+     */
+    private static DoubleVector clampScale(GlideBatch batch, int i, DoubleVector x, DoubleVector y, DoubleVector z) {
+        DoubleVector limit = DoubleVector.fromArray(SPECIES, batch.speedLimit, i);
+        DoubleVector speedSquared = lengthSquared(x, y, z);
+        VectorMask<Double> tooFast = limit.compare(VectorOperators.GT, 0.0D)
+            .and(speedSquared.compare(VectorOperators.GT, limit.mul(limit)));
+        return DoubleVector.broadcast(SPECIES, 1.0D).blend(limit.div(speedSquared.sqrt()), tooFast);
+    }
+}